@@ -0,0 +1,127 @@
+package com.fiap.user.health.bff.config;
+
+import com.fiap.user.health.bff.security.CachingJwtDecoder;
+import com.fiap.user.health.bff.security.jwt.JwtAlgorithm;
+import com.fiap.user.health.bff.security.jwt.JwtSigningKey;
+import com.fiap.user.health.bff.security.jwt.PemKeys;
+import com.fiap.user.health.bff.security.jwt.TokenIssuer;
+import com.fiap.user.health.bff.security.revocation.RevocationCheckingJwtDecoder;
+import com.fiap.user.health.bff.security.revocation.TokenRevocationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+@Slf4j
+@Configuration
+public class JwtConfig {
+
+    @Value("${jwt.algorithm:RS256}")
+    private String algorithm;
+    @Value("${jwt.public.key}")
+    private RSAPublicKey key;
+    @Value("${jwt.private.key}")
+    private RSAPrivateKey priv;
+    @Value("${jwt.ec.public-key:}")
+    private String ecPublicKey;
+    @Value("${jwt.ec.private-key:}")
+    private String ecPrivateKey;
+    @Value("${jwt.ed25519.public-key:}")
+    private String ed25519PublicKey;
+    @Value("${jwt.ed25519.private-key:}")
+    private String ed25519PrivateKey;
+    @Value("${jwt.issuer:user-health-bff}")
+    private String issuer;
+    @Value("${jwt.hmac.secret:}")
+    private String hmacSecret;
+    @Value("${jwt.retired-public-keys:}")
+    private String[] retiredPublicKeys;
+    @Value("${jwt.cache.maximum-size:10000}")
+    private long jwtCacheMaximumSize;
+    @Value("${jwt.cache.max-ttl:5m}")
+    private Duration jwtCacheMaxTtl;
+
+    private final ResourceLoader resourceLoader;
+
+    public JwtConfig(ResourceLoader resourceLoader) {
+        this.resourceLoader = resourceLoader;
+    }
+
+    @Bean
+    JwtSigningKey jwtSigningKey() {
+        JwtAlgorithm selected = JwtAlgorithm.from(algorithm);
+
+        JwtSigningKey signingKey = switch (selected) {
+            case RS256 -> JwtSigningKey.rsa(this.key, this.priv);
+            case ES256 -> JwtSigningKey.ec(
+                    (ECPublicKey) PemKeys.readPublicKey(resourceLoader.getResource(required("jwt.ec.public-key", ecPublicKey)), "EC"),
+                    (ECPrivateKey) PemKeys.readPrivateKey(resourceLoader.getResource(required("jwt.ec.private-key", ecPrivateKey)), "EC"));
+            case EDDSA -> JwtSigningKey.ed25519(
+                    PemKeys.readPublicKey(resourceLoader.getResource(required("jwt.ed25519.public-key", ed25519PublicKey)), "Ed25519"),
+                    PemKeys.readPrivateKey(resourceLoader.getResource(required("jwt.ed25519.private-key", ed25519PrivateKey)), "Ed25519"));
+            case HS256 -> JwtSigningKey.hmac(
+                    new SecretKeySpec(Base64.getDecoder().decode(required("jwt.hmac.secret", hmacSecret)), "HmacSHA256"));
+        };
+
+        // Chaves anteriores seguem válidas na verificação e no JWKS até os tokens assinados por elas expirarem
+        List<PublicKey> retired = Arrays.stream(retiredPublicKeys)
+                .filter(location -> !location.isBlank())
+                .map(location -> PemKeys.readPublicKey(resourceLoader.getResource(location.strip()), keyAlgorithm(selected)))
+                .toList();
+        signingKey = signingKey.withRetiredPublicKeys(retired);
+
+        log.info("Signing tokens with {} (kid {}), {} retired keys", selected.getName(), signingKey.keyId(), retired.size());
+        return signingKey;
+    }
+
+    @Bean
+    JwtEncoder jwtEncoder(JwtSigningKey jwtSigningKey) {
+        return jwtSigningKey.encoder();
+    }
+
+    @Bean
+    TokenIssuer tokenIssuer(JwtSigningKey jwtSigningKey) {
+        return new TokenIssuer(jwtSigningKey, issuer);
+    }
+
+    @Bean
+    JwtDecoder jwtDecoder(JwtSigningKey jwtSigningKey, MeterRegistry meterRegistry,
+                          TokenRevocationService tokenRevocationService) {
+        // Token já verificado fica em cache até o exp: evita verificar a assinatura a cada requisição.
+        // A revogação é consultada por fora do cache, a cada requisição.
+        return new RevocationCheckingJwtDecoder(
+                new CachingJwtDecoder(jwtSigningKey.decoder(), jwtCacheMaximumSize, jwtCacheMaxTtl, meterRegistry),
+                tokenRevocationService);
+    }
+
+    private static String keyAlgorithm(JwtAlgorithm algorithm) {
+        return switch (algorithm) {
+            case RS256 -> "RSA";
+            case ES256 -> "EC";
+            case EDDSA -> "Ed25519";
+            case HS256 -> throw new IllegalStateException("Property jwt.retired-public-keys is not supported for HS256");
+        };
+    }
+
+    private String required(String property, String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException("Property " + property + " is required for jwt.algorithm=" + algorithm);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,80 @@
+package com.fiap.user.health.bff.config;
+
+import com.fiap.user.health.bff.service.password.AdaptiveArgon2PasswordEncoder;
+import com.fiap.user.health.bff.service.password.AdaptiveBCryptPasswordEncoder;
+import com.fiap.user.health.bff.service.password.PasswordHashCalibrator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Encoder de senhas com prefixo de algoritmo ({bcrypt}, {argon2}, {pbkdf2}). Novos hashes usam o algoritmo
+ * configurado; hashes de outro algoritmo ou de outro custo continuam válidos e são refeitos no próximo login (com
+ * custo calibrado, só os de custo menor).
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    static final String BCRYPT = "bcrypt";
+    static final String ARGON2 = "argon2";
+    static final String PBKDF2 = "pbkdf2";
+
+    private static final int BCRYPT_MIN_STRENGTH = 10;
+    private static final int BCRYPT_MAX_STRENGTH = 16;
+    private static final int ARGON2_MIN_ITERATIONS = 2;
+    private static final int ARGON2_MAX_ITERATIONS = 20;
+
+    @Bean
+    PasswordEncoder passwordEncoder(@Value("${password.hashing.algorithm:bcrypt}") String algorithm,
+                                    @Value("${password.hashing.target-duration:250ms}") Duration targetDuration,
+                                    @Value("${password.hashing.bcrypt.strength:0}") int bcryptStrength,
+                                    @Value("${password.hashing.argon2.memory-kib:19456}") int argon2MemoryKib,
+                                    @Value("${password.hashing.argon2.iterations:0}") int argon2Iterations,
+                                    @Value("${password.hashing.argon2.parallelism:1}") int argon2Parallelism,
+                                    @Value("${password.hashing.pbkdf2.iterations:310000}") int pbkdf2Iterations) {
+
+        if (!Set.of(BCRYPT, ARGON2, PBKDF2).contains(algorithm)) {
+            throw new IllegalStateException("Unsupported password hashing algorithm: " + algorithm);
+        }
+
+        // Custo 0 = calibrar na inicialização; só o algoritmo ativo é calibrado, os demais servem apenas para matches
+        boolean bcryptCalibrated = bcryptStrength <= 0;
+        boolean argon2Calibrated = argon2Iterations <= 0;
+        if (bcryptCalibrated) {
+            bcryptStrength = BCRYPT.equals(algorithm)
+                    ? PasswordHashCalibrator.calibrate(BCRYPT, AdaptiveBCryptPasswordEncoder::new,
+                            BCRYPT_MIN_STRENGTH, BCRYPT_MAX_STRENGTH, targetDuration)
+                    : BCRYPT_MIN_STRENGTH;
+        }
+        if (argon2Calibrated) {
+            argon2Iterations = ARGON2.equals(algorithm)
+                    ? PasswordHashCalibrator.calibrate(ARGON2,
+                            iterations -> new AdaptiveArgon2PasswordEncoder(argon2MemoryKib, iterations, argon2Parallelism),
+                            ARGON2_MIN_ITERATIONS, ARGON2_MAX_ITERATIONS, targetDuration)
+                    : ARGON2_MIN_ITERATIONS;
+        }
+
+        AdaptiveBCryptPasswordEncoder bcrypt = new AdaptiveBCryptPasswordEncoder(bcryptStrength, bcryptCalibrated);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(ARGON2, new AdaptiveArgon2PasswordEncoder(argon2MemoryKib, argon2Iterations, argon2Parallelism,
+                argon2Calibrated));
+        // PBKDF2 não grava as iterações no hash: o valor é fixo e não pode ser calibrado sem invalidar as senhas
+        encoders.put(PBKDF2, new Pbkdf2PasswordEncoder("", 16, pbkdf2Iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        // Hashes gravados antes dos prefixos são BCrypt puro ($2a$10$...)
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+}
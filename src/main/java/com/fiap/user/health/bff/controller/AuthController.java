@@ -1,6 +1,7 @@
 package com.fiap.user.health.bff.controller;
 
 import com.fiap.user.health.bff.controller.docs.AuthControllerDocs;
+import com.fiap.user.health.bff.dto.request.RefreshTokenRequestDto;
 import com.fiap.user.health.bff.dto.request.UserAuthRequestDto;
 import com.fiap.user.health.bff.dto.request.UserCredentialsRequestDto;
 import com.fiap.user.health.bff.service.auth.AuthServiceInterface;
@@ -8,8 +9,12 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -20,17 +25,33 @@ public class AuthController implements AuthControllerDocs {
 
     @Override
     @PostMapping("/login")
-    public ResponseEntity<UserAuthRequestDto> login(@Valid @RequestBody UserCredentialsRequestDto loginRequest) {
+    public CompletableFuture<ResponseEntity<UserAuthRequestDto>> login(@Valid @RequestBody UserCredentialsRequestDto loginRequest) {
         log.info("Login request received for email: {}", loginRequest.email());
-        UserAuthRequestDto authResponse = authService.login(loginRequest);
-        return ResponseEntity.ok(authResponse);
+        return authService.login(loginRequest)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @Override
+    @PostMapping("/refresh")
+    public ResponseEntity<UserAuthRequestDto> refresh(@Valid @RequestBody RefreshTokenRequestDto request) {
+        log.info("Token refresh request received");
+        return ResponseEntity.ok(authService.refresh(request));
     }
 
     @Override
     @PatchMapping("/password")
-    public ResponseEntity<Void> updatePassword(@Valid @RequestBody UserCredentialsRequestDto request) {
+    public CompletableFuture<ResponseEntity<Void>> updatePassword(@Valid @RequestBody UserCredentialsRequestDto request) {
         log.info("Password update request received for email: {}", request.email());
-        authService.updatePassword(request.email(), request.password());
+        return authService.updatePassword(request.email(), request.password())
+                .thenApply(ignored -> ResponseEntity.noContent().build());
+    }
+
+    @Override
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal Jwt accessToken,
+                                       @Valid @RequestBody RefreshTokenRequestDto request) {
+        log.info("Logout request received");
+        authService.logout(accessToken, request);
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,38 @@
+package com.fiap.user.health.bff.controller;
+
+import com.fiap.user.health.bff.controller.docs.JwksControllerDocs;
+import com.fiap.user.health.bff.security.Digests;
+import com.fiap.user.health.bff.security.jwt.JwtSigningKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+@RestController
+public class JwksController implements JwksControllerDocs {
+
+    private final String jwkSet;
+    private final String eTag;
+    private final CacheControl cacheControl;
+
+    // O documento só muda com um novo deploy de chaves: serializado e com ETag calculado uma única vez
+    public JwksController(JwtSigningKey jwtSigningKey, @Value("${jwt.jwks.max-age:1h}") Duration maxAge) {
+        this.jwkSet = jwtSigningKey.publicJwkSet().toString(true);
+        this.eTag = "\"" + Digests.sha256(jwkSet) + "\"";
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    // Com If-None-Match igual ao ETag, o Spring responde 304 sem corpo
+    @Override
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jwks() {
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .body(jwkSet);
+    }
+}
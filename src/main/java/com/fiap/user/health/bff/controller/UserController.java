@@ -1,21 +1,35 @@
 package com.fiap.user.health.bff.controller;
 
 import com.fiap.user.health.bff.controller.docs.UserControllerDocs;
+import com.fiap.user.health.bff.dto.request.UserBatchRequestDto;
+import com.fiap.user.health.bff.dto.request.UserBulkDeleteRequestDto;
+import com.fiap.user.health.bff.dto.request.UserPatchRequestDto;
 import com.fiap.user.health.bff.dto.request.UserRequestDto;
 import com.fiap.user.health.bff.dto.request.UserUpdateRequestDto;
+import com.fiap.user.health.bff.dto.response.UserBatchResponseDto;
+import com.fiap.user.health.bff.dto.response.UserBulkDeleteResponseDto;
+import com.fiap.user.health.bff.dto.response.UserMultiGetResponseDto;
+import com.fiap.user.health.bff.dto.response.UserPageResponseDto;
 import com.fiap.user.health.bff.dto.response.UserResponseDto;
+import com.fiap.user.health.bff.exception.TooManyIdsException;
 import com.fiap.user.health.bff.exception.UserNotFoundException;
 import com.fiap.user.health.bff.mapper.UserMapper;
 import com.fiap.user.health.bff.model.User;
+import com.fiap.user.health.bff.service.user.UserExportService;
 import com.fiap.user.health.bff.service.user.UserServiceInterface;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/users")
@@ -24,37 +38,82 @@ public class UserController implements UserControllerDocs {
 
     private final UserServiceInterface userService;
     private final UserMapper userMapper;
+    private final UserExportService userExportService;
+
+    @Value("${users.pagination.default-limit:50}")
+    private int defaultLimit;
+    @Value("${users.pagination.max-limit:500}")
+    private int maxLimit;
+    @Value("${users.multi-get.max-ids:100}")
+    private int maxIds;
 
     @Override
     @PostMapping
-    public ResponseEntity<UserResponseDto> createUser(@Valid @RequestBody UserRequestDto userRequestDto) {
+    public CompletableFuture<ResponseEntity<UserResponseDto>> createUser(@Valid @RequestBody UserRequestDto userRequestDto) {
         User user = userMapper.toModel(userRequestDto);
-        User createdUser = userService.createUser(user);
-        UserResponseDto response = userMapper.toResponseDto(createdUser);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return userService.createUser(user)
+                .thenApply(createdUser -> {
+                    UserResponseDto response = userMapper.toResponseDto(createdUser);
+                    return ResponseEntity.status(HttpStatus.CREATED).body(response);
+                });
+    }
+
+    @Override
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<UserBatchResponseDto>> createUsers(
+            @Valid @RequestBody UserBatchRequestDto batchRequestDto) {
+        List<User> users = batchRequestDto.users().stream()
+                .map(userMapper::toModel)
+                .toList();
+        return userService.createUsers(users)
+                .thenApply(ResponseEntity::ok);
     }
 
     @Override
     @GetMapping
-    public ResponseEntity<List<UserResponseDto>> getAllUsers() {
-        List<UserResponseDto> users = userService.getAllUsers().stream()
-                .map(userMapper::toResponseDto)
-                .collect(Collectors.toList());
+    public ResponseEntity<UserPageResponseDto> getUsers(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit,
+                                                        @RequestParam(required = false) Integer page) {
+        int size = Math.clamp(limit != null ? limit : defaultLimit, 1, maxLimit);
+        // Offset só quando pedido explicitamente e sem cursor; o cursor devolvido permite seguir por keyset
+        UserPageResponseDto users = page != null && cursor == null
+                ? userService.getUsersByOffset(Math.max(page, 0), size)
+                : userService.getUsers(cursor, size);
         return ResponseEntity.ok(users);
     }
 
+    // Leitura múltipla para telas de lista: uma requisição e um único IN em vez de um GET /{id} por linha.
+    // Ids repetidos aparecem uma vez, na posição da primeira ocorrência
+    @Override
+    @GetMapping(params = "ids")
+    public ResponseEntity<UserMultiGetResponseDto> getUsersByIds(@RequestParam List<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > maxIds) {
+            throw new TooManyIdsException(distinctIds.size(), maxIds);
+        }
+        return ResponseEntity.ok(userService.getUsersByIds(distinctIds));
+    }
+
+    // Mesmo recurso com Accept: application/x-ndjson - todos os usuários, em streaming
+    @Override
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(userExportService::writeNdjson);
+    }
+
     @Override
     @GetMapping("/{id}")
     public ResponseEntity<UserResponseDto> getUserById(@PathVariable Long id) {
-        User user = userService.getUserById(id)
+        UserResponseDto response = userService.getUserById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
-        UserResponseDto response = userMapper.toResponseDto(user);
         return ResponseEntity.ok(response);
     }
 
     @Override
     @PutMapping("/{id}")
-    public ResponseEntity<UserResponseDto> updateUser(
+    public CompletableFuture<ResponseEntity<UserResponseDto>> updateUser(
             @PathVariable Long id,
             @Valid @RequestBody UserUpdateRequestDto updateRequestDto) {
 
@@ -64,11 +123,42 @@ public class UserController implements UserControllerDocs {
                 .senha(updateRequestDto.senha())
                 .build();
 
-        User updatedUser = userService.updateUser(id, user)
-                .orElseThrow(() -> new UserNotFoundException(id));
+        return userService.updateUser(id, user)
+                .thenApply(updatedUser -> {
+                    UserResponseDto response = userMapper.toResponseDto(updatedUser
+                            .orElseThrow(() -> new UserNotFoundException(id)));
+                    return ResponseEntity.ok(response);
+                });
+    }
 
-        UserResponseDto response = userMapper.toResponseDto(updatedUser);
-        return ResponseEntity.ok(response);
+    @Override
+    @PatchMapping("/{id}")
+    public CompletableFuture<ResponseEntity<UserResponseDto>> patchUser(
+            @PathVariable Long id,
+            @Valid @RequestBody UserPatchRequestDto patchRequestDto) {
+
+        User changes = User.builder()
+                .nome(patchRequestDto.nome())
+                .email(patchRequestDto.email())
+                .login(patchRequestDto.login())
+                .senha(patchRequestDto.senha())
+                .build();
+
+        return userService.patchUser(id, changes)
+                .thenApply(patchedUser -> {
+                    UserResponseDto response = userMapper.toResponseDto(patchedUser
+                            .orElseThrow(() -> new UserNotFoundException(id)));
+                    return ResponseEntity.ok(response);
+                });
+    }
+
+    // Um único DELETE ... WHERE id IN (...); ids repetidos contam uma vez e ids inexistentes são ignorados
+    @Override
+    @DeleteMapping
+    public ResponseEntity<UserBulkDeleteResponseDto> deleteUsers(@Valid UserBulkDeleteRequestDto bulkDeleteRequestDto) {
+        Set<Long> distinctIds = new LinkedHashSet<>(bulkDeleteRequestDto.ids());
+        int deleted = userService.deleteUsers(distinctIds);
+        return ResponseEntity.ok(new UserBulkDeleteResponseDto(distinctIds.size(), deleted));
     }
 
     @Override
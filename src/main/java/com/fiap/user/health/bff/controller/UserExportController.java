@@ -0,0 +1,118 @@
+package com.fiap.user.health.bff.controller;
+
+import com.fiap.user.health.bff.controller.docs.UserExportControllerDocs;
+import com.fiap.user.health.bff.dto.response.UserExportResponseDto;
+import com.fiap.user.health.bff.exception.ExportJobNotFoundException;
+import com.fiap.user.health.bff.persistence.entity.UserExportJobEntity;
+import com.fiap.user.health.bff.service.user.UserExportJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/users/exports")
+@RequiredArgsConstructor
+public class UserExportController implements UserExportControllerDocs {
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    // Atributos do Tomcat: com sendfile o conector copia o arquivo direto para o socket, sem passar pela JVM
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final UserExportJobService userExportJobService;
+
+    @Override
+    @PostMapping
+    public ResponseEntity<UserExportResponseDto> startExport(
+            @RequestParam(defaultValue = "NDJSON") UserExportJobEntity.Format format) throws IOException {
+        UserExportResponseDto job = userExportJobService.start(format);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{id}")
+                .buildAndExpand(job.id())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @Override
+    @GetMapping("/{id}")
+    public ResponseEntity<UserExportResponseDto> getExport(@PathVariable UUID id) {
+        UserExportResponseDto job = userExportJobService.getJob(id)
+                .orElseThrow(() -> new ExportJobNotFoundException(id));
+        return ResponseEntity.ok(job);
+    }
+
+    @Override
+    @GetMapping("/{id}/file")
+    public ResponseEntity<Resource> downloadExport(@PathVariable UUID id,
+                                                   @RequestHeader HttpHeaders requestHeaders,
+                                                   HttpServletRequest request) throws IOException {
+        Path file = userExportJobService.getFile(id);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(GZIP);
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(file.getFileName().toString())
+                .build());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            ResponseEntity<Resource> sendfile = sendfile(file, requestHeaders, headers, request);
+            if (sendfile != null) {
+                return sendfile;
+            }
+        }
+        // Sem sendfile (ou com vários intervalos): o Spring aplica o Range sobre o Resource
+        return ResponseEntity.ok().headers(headers).body(new FileSystemResource(file));
+    }
+
+    private static ResponseEntity<Resource> sendfile(Path file, HttpHeaders requestHeaders, HttpHeaders headers,
+                                                     HttpServletRequest request) throws IOException {
+        long length = Files.size(file);
+        long start = 0;
+        long end = length - 1;
+        HttpStatus status = HttpStatus.OK;
+        try {
+            List<HttpRange> ranges = requestHeaders.getRange();
+            if (ranges.size() > 1) {
+                return null;
+            }
+            if (ranges.size() == 1) {
+                start = ranges.getFirst().getRangeStart(length);
+                end = ranges.getFirst().getRangeEnd(length);
+                if (start > end) {
+                    // Início depois do fim do arquivo: o HttpRange não rejeita, o caminho padrão responde 416
+                    return null;
+                }
+                status = HttpStatus.PARTIAL_CONTENT;
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        } catch (IllegalArgumentException ex) {
+            // Range inválido ou fora do arquivo: o caminho padrão responde 416
+            return null;
+        }
+
+        request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START, start);
+        request.setAttribute(SENDFILE_END, end + 1);
+        headers.setContentLength(end - start + 1);
+        return ResponseEntity.status(status).headers(headers).build();
+    }
+}
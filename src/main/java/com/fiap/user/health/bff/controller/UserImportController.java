@@ -0,0 +1,43 @@
+package com.fiap.user.health.bff.controller;
+
+import com.fiap.user.health.bff.controller.docs.UserImportControllerDocs;
+import com.fiap.user.health.bff.dto.response.UserImportResponseDto;
+import com.fiap.user.health.bff.exception.ImportJobNotFoundException;
+import com.fiap.user.health.bff.service.user.UserImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/users/imports")
+@RequiredArgsConstructor
+public class UserImportController implements UserImportControllerDocs {
+
+    private final UserImportService userImportService;
+
+    @Override
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<UserImportResponseDto> importUsers(@RequestParam("file") MultipartFile file) throws IOException {
+        UserImportResponseDto job = userImportService.start(file);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(job.id())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @Override
+    @GetMapping("/{id}")
+    public ResponseEntity<UserImportResponseDto> getImport(@PathVariable UUID id) {
+        UserImportResponseDto job = userImportService.getJob(id)
+                .orElseThrow(() -> new ImportJobNotFoundException(id));
+        return ResponseEntity.ok(job);
+    }
+}
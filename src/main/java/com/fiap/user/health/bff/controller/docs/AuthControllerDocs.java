@@ -1,9 +1,11 @@
 package com.fiap.user.health.bff.controller.docs;
 
+import com.fiap.user.health.bff.dto.request.RefreshTokenRequestDto;
 import com.fiap.user.health.bff.dto.request.UserAuthRequestDto;
 import com.fiap.user.health.bff.dto.request.UserCredentialsRequestDto;
 import com.fiap.user.health.bff.exception.ApiErrorMessage;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,8 +13,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.concurrent.CompletableFuture;
+
 @Tag(name = "Authentication", description = "API endpoints for user authentication")
 public interface AuthControllerDocs {
 
@@ -25,9 +30,24 @@ public interface AuthControllerDocs {
             @ApiResponse(responseCode = "401", description = "Invalid email or password", 
                     content = @Content(schema = @Schema(implementation = ApiErrorMessage.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", 
+                    content = @Content(schema = @Schema(implementation = ApiErrorMessage.class))),
+            @ApiResponse(responseCode = "503", description = "Credential processing saturated, retry after the Retry-After header",
+                    content = @Content(schema = @Schema(implementation = ApiErrorMessage.class)))
+    })
+    CompletableFuture<ResponseEntity<UserAuthRequestDto>> login(@Valid @RequestBody UserCredentialsRequestDto loginRequest);
+
+    @Operation(summary = "Refresh token", description = "Exchanges a refresh token for a new access token and a new refresh token. Each refresh token can be used only once; reusing one revokes every token issued from the same login")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens renewed successfully",
+                    content = @Content(schema = @Schema(implementation = UserAuthRequestDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request data",
+                    content = @Content(schema = @Schema(implementation = ApiErrorMessage.class))),
+            @ApiResponse(responseCode = "401", description = "Invalid, expired or reused refresh token",
+                    content = @Content(schema = @Schema(implementation = ApiErrorMessage.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(schema = @Schema(implementation = ApiErrorMessage.class)))
     })
-    ResponseEntity<UserAuthRequestDto> login(@Valid @RequestBody UserCredentialsRequestDto loginRequest);
+    ResponseEntity<UserAuthRequestDto> refresh(@Valid @RequestBody RefreshTokenRequestDto request);
 
     @Operation(summary = "Change password", description = "Allows a user to change an already registered password")
     @ApiResponses(value = {
@@ -37,8 +57,23 @@ public interface AuthControllerDocs {
             @ApiResponse(responseCode = "403", description = "Access denied", 
                     content = @Content(schema = @Schema(implementation = ApiErrorMessage.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", 
+                    content = @Content(schema = @Schema(implementation = ApiErrorMessage.class))),
+            @ApiResponse(responseCode = "503", description = "Credential processing saturated, retry after the Retry-After header",
+                    content = @Content(schema = @Schema(implementation = ApiErrorMessage.class)))
+    })
+    CompletableFuture<ResponseEntity<Void>> updatePassword(@RequestBody UserCredentialsRequestDto request);
+
+    @Operation(summary = "Logout", description = "Ends the current session: the access token in the Authorization header is revoked on every instance and the refresh token, with every token renewed from the same login, is discarded")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Session ended"),
+            @ApiResponse(responseCode = "400", description = "Invalid request data",
+                    content = @Content(schema = @Schema(implementation = ApiErrorMessage.class))),
+            @ApiResponse(responseCode = "401", description = "Missing, invalid or revoked access token",
+                    content = @Content(schema = @Schema(implementation = ApiErrorMessage.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content(schema = @Schema(implementation = ApiErrorMessage.class)))
     })
-    ResponseEntity<Void> updatePassword(@RequestBody UserCredentialsRequestDto request);
+    ResponseEntity<Void> logout(@Parameter(hidden = true) Jwt accessToken,
+                                @Valid @RequestBody RefreshTokenRequestDto request);
 }
 
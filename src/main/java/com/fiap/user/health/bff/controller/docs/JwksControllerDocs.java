@@ -0,0 +1,18 @@
+package com.fiap.user.health.bff.controller.docs;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+
+@Tag(name = "JWKS", description = "Public keys for local verification of issued tokens")
+public interface JwksControllerDocs {
+
+    @Operation(summary = "JSON Web Key Set", description = "Returns the public keys that verify issued tokens, matched by the kid header. Includes retired keys while tokens signed by them may still be valid")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Key set returned successfully"),
+            @ApiResponse(responseCode = "304", description = "Key set unchanged since the ETag sent in If-None-Match")
+    })
+    ResponseEntity<String> jwks();
+}
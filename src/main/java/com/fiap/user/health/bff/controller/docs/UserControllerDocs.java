@@ -1,18 +1,29 @@
 package com.fiap.user.health.bff.controller.docs;
 
+import com.fiap.user.health.bff.dto.request.UserBatchRequestDto;
+import com.fiap.user.health.bff.dto.request.UserBulkDeleteRequestDto;
+import com.fiap.user.health.bff.dto.request.UserPatchRequestDto;
 import com.fiap.user.health.bff.dto.request.UserRequestDto;
 import com.fiap.user.health.bff.dto.request.UserUpdateRequestDto;
+import com.fiap.user.health.bff.dto.response.UserBatchResponseDto;
+import com.fiap.user.health.bff.dto.response.UserBulkDeleteResponseDto;
+import com.fiap.user.health.bff.dto.response.UserMultiGetResponseDto;
+import com.fiap.user.health.bff.dto.response.UserPageResponseDto;
 import com.fiap.user.health.bff.dto.response.UserResponseDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Tag(name = "Users", description = "API for user management")
 public interface UserControllerDocs {
@@ -20,15 +31,42 @@ public interface UserControllerDocs {
     @Operation(summary = "Create new user", description = "Creates a new user in the system")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "User created successfully"),
-        @ApiResponse(responseCode = "409", description = "Email already registered")
+        @ApiResponse(responseCode = "409", description = "Email already registered"),
+        @ApiResponse(responseCode = "503", description = "Credential processing saturated, retry after the Retry-After header")
     })
-    ResponseEntity<UserResponseDto> createUser(@RequestBody UserRequestDto userRequestDto);
+    CompletableFuture<ResponseEntity<UserResponseDto>> createUser(@RequestBody UserRequestDto userRequestDto);
 
-    @Operation(summary = "List all users", description = "Returns list of all users")
+    @Operation(summary = "Create users in batch", description = "Creates up to 1000 users at once and reports, per item, whether it was created or its email was already registered")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "List returned successfully")
+        @ApiResponse(responseCode = "200", description = "Batch processed, see the status of each item"),
+        @ApiResponse(responseCode = "400", description = "Invalid data in any item"),
+        @ApiResponse(responseCode = "503", description = "Credential processing saturated, retry after the Retry-After header")
     })
-    ResponseEntity<List<UserResponseDto>> getAllUsers();
+    CompletableFuture<ResponseEntity<UserBatchResponseDto>> createUsers(@RequestBody UserBatchRequestDto batchRequestDto);
+
+    @Operation(summary = "List users", description = "Returns a page of users ordered by ID. Follow the next cursor until it is absent")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page returned successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    ResponseEntity<UserPageResponseDto> getUsers(
+            @Parameter(description = "Opaque cursor returned as next by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped by users.pagination.max-limit") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Zero-based page number (offset fallback, ignored when cursor is present)") @RequestParam(required = false) Integer page);
+
+    @Operation(summary = "Export all users", description = "Streams every user as NDJSON (one object per line) when requested with Accept: application/x-ndjson")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream started")
+    })
+    ResponseEntity<StreamingResponseBody> exportUsers();
+
+    @Operation(summary = "Get users by IDs", description = "Returns the requested users in the given order with a single query and lists the IDs that do not exist")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Users found, missing IDs listed"),
+        @ApiResponse(responseCode = "400", description = "Too many IDs or an invalid ID")
+    })
+    ResponseEntity<UserMultiGetResponseDto> getUsersByIds(
+            @Parameter(description = "Comma-separated user IDs, capped by users.multi-get.max-ids") @RequestParam List<Long> ids);
 
     @Operation(summary = "Get user by ID", description = "Returns specific user by ID")
     @ApiResponses(value = {
@@ -41,10 +79,31 @@ public interface UserControllerDocs {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "User updated successfully"),
         @ApiResponse(responseCode = "404", description = "User not found"),
-        @ApiResponse(responseCode = "400", description = "Invalid data")
+        @ApiResponse(responseCode = "400", description = "Invalid data"),
+        @ApiResponse(responseCode = "503", description = "Credential processing saturated, retry after the Retry-After header")
+    })
+    CompletableFuture<ResponseEntity<UserResponseDto>> updateUser(@Parameter(description = "User ID") @PathVariable Long id,
+                                                                 @RequestBody UserUpdateRequestDto updateRequestDto);
+
+    @Operation(summary = "Partially update user",
+            description = "Updates only the informed fields; the password is re-hashed only when a new one is sent")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "User updated successfully"),
+        @ApiResponse(responseCode = "404", description = "User not found"),
+        @ApiResponse(responseCode = "400", description = "Invalid data or no field informed"),
+        @ApiResponse(responseCode = "409", description = "Email already registered"),
+        @ApiResponse(responseCode = "503", description = "Credential processing saturated, retry after the Retry-After header")
+    })
+    CompletableFuture<ResponseEntity<UserResponseDto>> patchUser(@Parameter(description = "User ID") @PathVariable Long id,
+                                                                 @RequestBody UserPatchRequestDto patchRequestDto);
+
+    @Operation(summary = "Remove users in bulk", description = "Removes up to 1000 users with a single statement; unknown IDs are ignored")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Users removed, see how many existed"),
+        @ApiResponse(responseCode = "400", description = "No IDs, more than 1000 IDs or an invalid ID")
     })
-    ResponseEntity<UserResponseDto> updateUser(@Parameter(description = "User ID") @PathVariable Long id,
-                                              @RequestBody UserUpdateRequestDto updateRequestDto);
+    ResponseEntity<UserBulkDeleteResponseDto> deleteUsers(
+            @ParameterObject UserBulkDeleteRequestDto bulkDeleteRequestDto);
 
     @Operation(summary = "Remove user", description = "Removes a user from the system")
     @ApiResponses(value = {
@@ -0,0 +1,51 @@
+package com.fiap.user.health.bff.controller.docs;
+
+import com.fiap.user.health.bff.dto.response.UserExportResponseDto;
+import com.fiap.user.health.bff.persistence.entity.UserExportJobEntity;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+import java.util.UUID;
+
+@Tag(name = "User exports", description = "Background export of all users to a compressed file")
+public interface UserExportControllerDocs {
+
+    @Operation(summary = "Start a user export",
+            description = "Exports all users to a gzip-compressed NDJSON or CSV file in the background")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Export job accepted, follow the Location header for progress"),
+        @ApiResponse(responseCode = "503", description = "Too many exports in progress, retry after the Retry-After header")
+    })
+    ResponseEntity<UserExportResponseDto> startExport(
+            @Parameter(description = "File format: NDJSON or CSV") @RequestParam UserExportJobEntity.Format format)
+            throws IOException;
+
+    @Operation(summary = "Get export progress", description = "Returns the status of an export job")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export job found"),
+        @ApiResponse(responseCode = "404", description = "Export job not found")
+    })
+    ResponseEntity<UserExportResponseDto> getExport(@Parameter(description = "Export job ID") @PathVariable UUID id);
+
+    @Operation(summary = "Download an export",
+            description = "Downloads the gzip file of a completed export; supports Range requests to resume downloads")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Whole file"),
+        @ApiResponse(responseCode = "206", description = "Requested byte range"),
+        @ApiResponse(responseCode = "404", description = "Export job not found"),
+        @ApiResponse(responseCode = "409", description = "Export job not completed, or its file is stored on another instance")
+    })
+    ResponseEntity<Resource> downloadExport(@Parameter(description = "Export job ID") @PathVariable UUID id,
+                                            @Parameter(hidden = true) HttpHeaders requestHeaders,
+                                            @Parameter(hidden = true) HttpServletRequest request) throws IOException;
+}
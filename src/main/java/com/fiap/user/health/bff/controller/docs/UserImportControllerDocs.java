@@ -0,0 +1,34 @@
+package com.fiap.user.health.bff.controller.docs;
+
+import com.fiap.user.health.bff.dto.response.UserImportResponseDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.UUID;
+
+@Tag(name = "User imports", description = "Background import of users from CSV files")
+public interface UserImportControllerDocs {
+
+    @Operation(summary = "Start a user import",
+            description = "Uploads a CSV file with the header nome,email,login,senha and imports it in the background")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Import job accepted, follow the Location header for progress"),
+        @ApiResponse(responseCode = "400", description = "Empty file or missing columns in the header")
+    })
+    ResponseEntity<UserImportResponseDto> importUsers(
+            @Parameter(description = "CSV file (UTF-8)") MultipartFile file) throws IOException;
+
+    @Operation(summary = "Get import progress", description = "Returns the status and row counters of an import job")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import job found"),
+        @ApiResponse(responseCode = "404", description = "Import job not found")
+    })
+    ResponseEntity<UserImportResponseDto> getImport(@Parameter(description = "Import job ID") @PathVariable UUID id);
+}
@@ -0,0 +1,7 @@
+package com.fiap.user.health.bff.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public record RefreshTokenRequestDto(@NotNull @NotBlank String refreshToken) {
+}
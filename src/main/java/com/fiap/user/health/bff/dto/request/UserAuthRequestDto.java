@@ -1,4 +1,4 @@
 package com.fiap.user.health.bff.dto.request;
 
-public record UserAuthRequestDto(String accessToken, Long expiresIn) {
+public record UserAuthRequestDto(String accessToken, Long expiresIn, String refreshToken) {
 }
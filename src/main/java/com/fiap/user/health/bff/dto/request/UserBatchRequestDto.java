@@ -0,0 +1,15 @@
+package com.fiap.user.health.bff.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record UserBatchRequestDto(
+        @NotNull
+        @Size(min = 1, max = UserBatchRequestDto.MAX_SIZE)
+        List<@NotNull @Valid UserRequestDto> users
+) {
+    public static final int MAX_SIZE = 1000;
+}
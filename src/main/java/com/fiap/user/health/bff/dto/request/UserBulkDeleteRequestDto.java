@@ -0,0 +1,14 @@
+package com.fiap.user.health.bff.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record UserBulkDeleteRequestDto(
+        @NotNull
+        @Size(min = 1, max = UserBulkDeleteRequestDto.MAX_SIZE)
+        List<@NotNull Long> ids
+) {
+    public static final int MAX_SIZE = 1000;
+}
@@ -0,0 +1,31 @@
+package com.fiap.user.health.bff.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+// Campos ausentes (null) ficam como estão; as regras de cada campo são as mesmas do cadastro
+public record UserPatchRequestDto(
+        @Size(min = 2, max = 50)
+        @Pattern(regexp = "^[A-Za-zÀ-ÖØ-öø-ÿ ]+$", message = "The name must contain only letters")
+        String nome,
+
+        @Email
+        @Size(min = 3, max = 254)
+        String email,
+
+        @Size(min = 5, max = 20)
+        @Pattern(regexp = ".*\\S.*", message = "The login must not be blank")
+        String login,
+
+        @Size(min = 8, max = 100)
+        String senha) {
+
+    @JsonIgnore
+    @AssertTrue(message = "At least one field must be informed")
+    public boolean isAnyFieldPresent() {
+        return nome != null || email != null || login != null || senha != null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.fiap.user.health.bff.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserBatchItemResponseDto(
+    int index,
+    String email,
+    Status status,
+    Long id
+) {
+    public enum Status { CREATED, CONFLICT }
+
+    public static UserBatchItemResponseDto created(int index, String email, Long id) {
+        return new UserBatchItemResponseDto(index, email, Status.CREATED, id);
+    }
+
+    public static UserBatchItemResponseDto conflict(int index, String email) {
+        return new UserBatchItemResponseDto(index, email, Status.CONFLICT, null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.fiap.user.health.bff.dto.response;
+
+import java.util.List;
+
+public record UserBatchResponseDto(
+    int created,
+    int conflicts,
+    List<UserBatchItemResponseDto> items
+) {
+    public static UserBatchResponseDto of(List<UserBatchItemResponseDto> items) {
+        int created = (int) items.stream()
+                .filter(item -> item.status() == UserBatchItemResponseDto.Status.CREATED)
+                .count();
+        return new UserBatchResponseDto(created, items.size() - created, items);
+    }
+}
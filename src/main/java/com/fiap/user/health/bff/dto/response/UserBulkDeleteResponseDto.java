@@ -0,0 +1,7 @@
+package com.fiap.user.health.bff.dto.response;
+
+public record UserBulkDeleteResponseDto(
+    int requested,
+    int deleted
+) {
+}
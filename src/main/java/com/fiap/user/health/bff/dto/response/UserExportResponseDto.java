@@ -0,0 +1,19 @@
+package com.fiap.user.health.bff.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserExportResponseDto(
+    UUID id,
+    String status,
+    String format,
+    String node,
+    Long rows,
+    Long sizeBytes,
+    String error,
+    Instant createdAt,
+    Instant completedAt
+) {}
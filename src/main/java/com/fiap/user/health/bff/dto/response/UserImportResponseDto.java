@@ -0,0 +1,19 @@
+package com.fiap.user.health.bff.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserImportResponseDto(
+    UUID id,
+    String status,
+    long processedRows,
+    long importedRows,
+    long conflictRows,
+    long invalidRows,
+    String error,
+    Instant createdAt,
+    Instant updatedAt
+) {}
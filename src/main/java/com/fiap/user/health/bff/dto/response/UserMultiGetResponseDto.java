@@ -0,0 +1,9 @@
+package com.fiap.user.health.bff.dto.response;
+
+import java.util.List;
+
+public record UserMultiGetResponseDto(
+    List<UserResponseDto> users,
+    List<Long> missing
+) {
+}
@@ -0,0 +1,11 @@
+package com.fiap.user.health.bff.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserPageResponseDto(
+    List<UserResponseDto> items,
+    String next
+) {}
@@ -0,0 +1,16 @@
+package com.fiap.user.health.bff.exception;
+
+import lombok.Getter;
+
+import java.util.concurrent.RejectedExecutionException;
+
+@Getter
+public class BlockingIoUnavailableException extends RejectedExecutionException {
+
+    private final long retryAfterSeconds;
+
+    public BlockingIoUnavailableException(long retryAfterSeconds) {
+        super("Server is busy. Please retry later.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
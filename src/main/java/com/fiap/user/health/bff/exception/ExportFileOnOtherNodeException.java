@@ -0,0 +1,9 @@
+package com.fiap.user.health.bff.exception;
+
+import java.util.UUID;
+
+public class ExportFileOnOtherNodeException extends RuntimeException {
+    public ExportFileOnOtherNodeException(UUID id, String nodeId) {
+        super("Export job " + id + " file is stored on instance " + nodeId + ", download it through that instance");
+    }
+}
@@ -0,0 +1,9 @@
+package com.fiap.user.health.bff.exception;
+
+import java.util.UUID;
+
+public class ExportJobNotFoundException extends RuntimeException {
+    public ExportJobNotFoundException(UUID id) {
+        super("Export job not found with id: " + id);
+    }
+}
@@ -0,0 +1,14 @@
+package com.fiap.user.health.bff.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ExportJobsSaturatedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ExportJobsSaturatedException(long retryAfterSeconds) {
+        super("Too many export jobs in progress. Please retry later.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,9 @@
+package com.fiap.user.health.bff.exception;
+
+import java.util.UUID;
+
+public class ExportNotReadyException extends RuntimeException {
+    public ExportNotReadyException(UUID id, String status) {
+        super("Export job " + id + " has no file to download, status: " + status);
+    }
+}
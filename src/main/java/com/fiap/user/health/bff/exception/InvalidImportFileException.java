@@ -0,0 +1,7 @@
+package com.fiap.user.health.bff.exception;
+
+public class InvalidImportFileException extends RuntimeException {
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.fiap.user.health.bff.exception;
+
+import lombok.Getter;
+
+@Getter
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingUnavailableException(long retryAfterSeconds) {
+        super("Server is busy processing credentials. Please retry later.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
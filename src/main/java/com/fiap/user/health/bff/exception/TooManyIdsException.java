@@ -0,0 +1,7 @@
+package com.fiap.user.health.bff.exception;
+
+public class TooManyIdsException extends RuntimeException {
+    public TooManyIdsException(int requested, int max) {
+        super("Too many ids: " + requested + " (maximum " + max + ")");
+    }
+}
@@ -0,0 +1,48 @@
+package com.fiap.user.health.bff.persistence.cache;
+
+import com.fiap.user.health.bff.persistence.entity.UserEntity;
+import com.fiap.user.health.bff.security.revocation.UsersRevokedEvent;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Descarta do cache de segundo nível deste nó os usuários revogados em qualquer instância (troca de credencial ou
+ * exclusão): a entidade guardada aqui teria senha ou email antigos até o TTL da região.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserSecondLevelCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Só as entradas desses ids; a resolução email -> id antiga que sobrar na região de natural id é recusada
+    // pela conferência do email em UserNaturalIdRepositoryImpl
+    @EventListener
+    public void onUsersRevoked(UsersRevokedEvent event) {
+        Cache cache = entityManagerFactory.getCache();
+        event.userIds().forEach(id -> cache.evict(UserEntity.class, id));
+    }
+
+    // Exclusão por SQL nativo: o Hibernate não sabe quais linhas saíram, então a entidade e a resolução email -> id
+    // de cada usuário removido são descartadas aqui, sem tocar nas demais entradas das regiões
+    public void evictRemoved(EntityManager entityManager, Collection<Long> ids, Collection<String> emails) {
+        Cache cache = entityManagerFactory.getCache();
+        ids.forEach(id -> cache.evict(UserEntity.class, id));
+
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(UserEntity.class);
+        NaturalIdDataAccess naturalIds = persister.getNaturalIdCacheAccessStrategy();
+        if (naturalIds != null) {
+            emails.forEach(email -> naturalIds.evict(naturalIds.generateCacheKey(email, persister, session)));
+        }
+    }
+}
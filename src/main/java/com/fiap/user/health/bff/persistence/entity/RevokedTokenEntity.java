@@ -0,0 +1,42 @@
+package com.fiap.user.health.bff.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_revoked_tokens_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedTokenEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // "jti:<id do token>" ou "sub:<id do usuário>"
+    @Column(name = "revocation_key", nullable = false, length = 64)
+    private String revocationKey;
+
+    // Só para "sub:": tokens do usuário emitidos antes deste instante estão revogados
+    @Column(name = "issued_before")
+    private Instant issuedBefore;
+
+    // Depois disso nenhum token afetado continua válido e a entrada pode ser descartada
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // Preenchido pelo banco no insert (current_timestamp); é o cursor da sincronização entre instâncias
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    private Instant createdAt;
+
+}
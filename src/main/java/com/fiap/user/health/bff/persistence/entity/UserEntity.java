@@ -5,25 +5,46 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
-@Table(name = "usuarios")
+@DynamicUpdate
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
+@Table(name = "usuarios",
+        uniqueConstraints = @UniqueConstraint(name = UserEntity.EMAIL_CONSTRAINT, columnNames = "email"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class UserEntity {
 
+    public static final String EMAIL_CONSTRAINT = "uk_usuarios_email";
+
+    // Sequence com pooled-lo (hibernate.id.optimizer.pooled.preferred): um nextval a cada 50 ids e inserts em lote,
+    // que o IDENTITY desabilita. allocationSize precisa ser igual ao "increment by" da sequence (migração V3)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuarios_seq")
+    @SequenceGenerator(name = "usuarios_seq", sequenceName = "usuarios_seq", allocationSize = 50)
     private Long id;
 
+    @Column(nullable = false, length = 50)
     private String nome;
 
+    // Natural id mutável (PUT/PATCH trocam o email): a busca do login resolve email -> id pelo cache de natural id
+    @NaturalId(mutable = true)
+    @Column(nullable = false, length = 254)
     private String email;
 
+    @Column(nullable = false, length = 20)
     private String login;
 
+    // Hash com prefixo do algoritmo ({bcrypt}, {argon2}, {pbkdf2})
+    @Column(nullable = false)
     private String senha;
 
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.fiap.user.health.bff.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "user_export_jobs", indexes = {
+        @Index(name = "idx_user_export_jobs_created_at", columnList = "created_at"),
+        @Index(name = "idx_user_export_jobs_status", columnList = "status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserExportJobEntity {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    public enum Format { NDJSON, CSV }
+
+    @Id
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Format format;
+
+    // Arquivo .gz final; só existe com o job COMPLETED (durante a escrita o nome termina em .part)
+    @Column(name = "file_path", nullable = false, length = 1024)
+    private String filePath;
+
+    // Instância que gerou o arquivo; o download só pode ser servido por ela
+    @Column(name = "node_id")
+    private String nodeId;
+
+    @Column(name = "row_count")
+    private Long rowCount;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    // Heartbeat: renovado pela instância dona enquanto o job está QUEUED ou RUNNING
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+}
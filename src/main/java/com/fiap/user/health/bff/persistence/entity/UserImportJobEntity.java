@@ -0,0 +1,61 @@
+package com.fiap.user.health.bff.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "user_import_jobs", indexes = {
+        @Index(name = "idx_user_import_jobs_status", columnList = "status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserImportJobEntity {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    @Id
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    // Cópia do upload, mantida até o fim do job para permitir a retomada
+    @Column(name = "file_path", nullable = false, length = 1024)
+    private String filePath;
+
+    // Linhas de dados já consumidas em lotes gravados (válidas ou não)
+    @Column(name = "processed_rows", nullable = false)
+    private long processedRows;
+
+    @Column(name = "imported_rows", nullable = false)
+    private long importedRows;
+
+    @Column(name = "conflict_rows", nullable = false)
+    private long conflictRows;
+
+    @Column(name = "invalid_rows", nullable = false)
+    private long invalidRows;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    // Incrementado a cada reserva e a cada lote: quem reserva com um valor antigo perde a disputa
+    @Column(nullable = false)
+    private long heartbeat;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+}
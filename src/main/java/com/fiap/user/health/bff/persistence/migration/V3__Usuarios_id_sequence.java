@@ -0,0 +1,33 @@
+package com.fiap.user.health.bff.persistence.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Troca a coluna identity de {@code usuarios.id} por uma sequence com incremento 50 (otimizador pooled-lo do
+ * Hibernate), que permite inserts em lote. A sequence começa depois do maior id existente; em Java porque o valor
+ * inicial depende dos dados e o {@code setval} do PostgreSQL não existe no H2 dos testes.
+ */
+@SuppressWarnings("unused")
+public class V3__Usuarios_id_sequence extends BaseJavaMigration {
+
+    static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            long start;
+            try (ResultSet rs = statement.executeQuery("select coalesce(max(id), 0) + 1 from usuarios")) {
+                rs.next();
+                start = rs.getLong(1);
+            }
+            statement.execute("create sequence usuarios_seq start with " + start + " increment by " + ALLOCATION_SIZE);
+            statement.execute("alter table usuarios alter column id drop identity");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.fiap.user.health.bff.persistence.repository;
+
+import com.fiap.user.health.bff.persistence.entity.RefreshTokenEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshTokenEntity, Long> {
+
+    Optional<RefreshTokenEntity> findByTokenHash(String tokenHash);
+
+    // Só a primeira apresentação do token altera a linha; as seguintes retornam 0 (reuso)
+    @Modifying
+    @Transactional
+    @Query("update RefreshTokenEntity r set r.used = true where r.id = :id and r.used = false")
+    int markUsed(@Param("id") Long id);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RefreshTokenEntity r where r.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") UUID familyId);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RefreshTokenEntity r where r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Query("select r.id from RefreshTokenEntity r where r.expiresAt < :now order by r.id")
+    List<Long> findExpiredIds(@Param("now") Instant now, Pageable pageable);
+
+}
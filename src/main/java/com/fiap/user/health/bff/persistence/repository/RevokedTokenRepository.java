@@ -0,0 +1,24 @@
+package com.fiap.user.health.bff.persistence.repository;
+
+import com.fiap.user.health.bff.persistence.entity.RevokedTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedTokenEntity, Long> {
+
+    List<RevokedTokenEntity> findByCreatedAtGreaterThanEqualOrderByCreatedAtAsc(Instant createdAt);
+
+    @Modifying
+    @Transactional
+    @Query("delete from RevokedTokenEntity r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+
+}
@@ -0,0 +1,22 @@
+package com.fiap.user.health.bff.persistence.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Escritas que mexem só nas entradas afetadas do cache de segundo nível, enquanto um UPDATE/DELETE em massa (JPQL)
+// descartaria as regiões "users" e "users-by-email" inteiras
+public interface UserEntityWriteRepository {
+
+    // Só troca o hash se a senha não foi alterada entre a leitura e a gravação; retorna as linhas alteradas
+    int updateSenhaIfUnchanged(Long id, String senhaAtual, String novaSenha);
+
+    // Troca o hash lendo a linha travada, e não uma cópia lida antes do hash; retorna 0 se o usuário não existe mais
+    int updateSenha(Long id, String novaSenha);
+
+    // Remove o usuário e devolve o email que ele tinha (chave do cache de credenciais)
+    Optional<String> removeById(Long id);
+
+    // Ids inexistentes são ignorados; devolve os emails dos usuários removidos
+    List<String> removeAllById(Collection<Long> ids);
+}
@@ -0,0 +1,82 @@
+package com.fiap.user.health.bff.persistence.repository;
+
+import com.fiap.user.health.bff.persistence.cache.UserSecondLevelCacheEvictor;
+import com.fiap.user.health.bff.persistence.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Leituras com PESSIMISTIC_WRITE vão ao banco, nunca ao cache: comparação e escrita acontecem com a linha travada
+@RequiredArgsConstructor
+class UserEntityWriteRepositoryImpl implements UserEntityWriteRepository {
+
+    // O H2 dos testes não tem DELETE ... RETURNING; a tabela OLD TABLE devolve as mesmas linhas removidas
+    private static final String DELETE_BY_ID = "delete from usuarios where id = ?1 returning email";
+    private static final String DELETE_BY_IDS = "delete from usuarios where id = any(?1) returning email";
+    private static final String H2_DELETE_BY_ID = "select email from old table (delete from usuarios where id = ?1)";
+    private static final String H2_DELETE_BY_IDS = "select email from old table (delete from usuarios where id = any(?1))";
+
+    private final EntityManager entityManager;
+    private final UserSecondLevelCacheEvictor cacheEvictor;
+
+    @Override
+    @Transactional
+    public int updateSenhaIfUnchanged(Long id, String senhaAtual, String novaSenha) {
+        UserEntity user = entityManager.find(UserEntity.class, id, LockModeType.PESSIMISTIC_WRITE);
+        if (user == null || !user.getSenha().equals(senhaAtual)) {
+            return 0;
+        }
+        // @DynamicUpdate: o UPDATE leva só a coluna senha
+        user.setSenha(novaSenha);
+        return 1;
+    }
+
+    @Override
+    @Transactional
+    public int updateSenha(Long id, String novaSenha) {
+        UserEntity user = entityManager.find(UserEntity.class, id, LockModeType.PESSIMISTIC_WRITE);
+        if (user == null) {
+            return 0;
+        }
+        user.setSenha(novaSenha);
+        return 1;
+    }
+
+    // Um único DELETE: a trava da linha e o email removido vêm do mesmo comando
+    @Override
+    @Transactional
+    public Optional<String> removeById(Long id) {
+        List<String> emails = delete(h2() ? H2_DELETE_BY_ID : DELETE_BY_ID, id);
+        cacheEvictor.evictRemoved(entityManager, List.of(id), emails);
+        return emails.stream().findFirst();
+    }
+
+    @Override
+    @Transactional
+    public List<String> removeAllById(Collection<Long> ids) {
+        List<String> emails = delete(h2() ? H2_DELETE_BY_IDS : DELETE_BY_IDS, ids.toArray(Long[]::new));
+        cacheEvictor.evictRemoved(entityManager, ids, emails);
+        return emails;
+    }
+
+    // Executado como consulta (getResultList), e não como executeUpdate: o Hibernate não descarta as regiões
+    // "users" e "users-by-email" inteiras, só as entradas removidas saem pelo cacheEvictor
+    @SuppressWarnings("unchecked")
+    private List<String> delete(String sql, Object parameter) {
+        return entityManager.createNativeQuery(sql, String.class)
+                .setParameter(1, parameter)
+                .getResultList();
+    }
+
+    private boolean h2() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof H2Dialect;
+    }
+}
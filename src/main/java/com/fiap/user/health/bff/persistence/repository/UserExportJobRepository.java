@@ -0,0 +1,43 @@
+package com.fiap.user.health.bff.persistence.repository;
+
+import com.fiap.user.health.bff.persistence.entity.UserExportJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserExportJobRepository extends JpaRepository<UserExportJobEntity, UUID> {
+
+    List<UserExportJobEntity> findByCreatedAtBefore(Instant before);
+
+    // Heartbeat dos jobs na fila ou em execução nesta instância
+    @Modifying
+    @Transactional
+    @Query("""
+            update UserExportJobEntity j set j.updatedAt = :now
+            where j.id in :ids
+              and j.status in (com.fiap.user.health.bff.persistence.entity.UserExportJobEntity.Status.QUEUED,
+                               com.fiap.user.health.bff.persistence.entity.UserExportJobEntity.Status.RUNNING)""")
+    int touch(@Param("ids") Collection<UUID> ids, @Param("now") Instant now);
+
+    // Jobs pendentes sem heartbeat: a instância dona caiu e o arquivo nunca vai ficar pronto
+    @Modifying
+    @Transactional
+    @Query("""
+            update UserExportJobEntity j
+            set j.status = com.fiap.user.health.bff.persistence.entity.UserExportJobEntity.Status.FAILED,
+                j.errorMessage = :error, j.completedAt = :now, j.updatedAt = :now
+            where j.status in (com.fiap.user.health.bff.persistence.entity.UserExportJobEntity.Status.QUEUED,
+                               com.fiap.user.health.bff.persistence.entity.UserExportJobEntity.Status.RUNNING)
+              and j.updatedAt < :before""")
+    int failStale(@Param("before") Instant before, @Param("error") String error, @Param("now") Instant now);
+
+}
@@ -0,0 +1,60 @@
+package com.fiap.user.health.bff.persistence.repository;
+
+import com.fiap.user.health.bff.persistence.entity.UserImportJobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserImportJobRepository extends JpaRepository<UserImportJobEntity, UUID> {
+
+    // Jobs pendentes sem progresso recente: instância reiniciada ou que caiu no meio da importação
+    @Query("""
+            select j from UserImportJobEntity j
+            where j.status in (com.fiap.user.health.bff.persistence.entity.UserImportJobEntity.Status.QUEUED,
+                               com.fiap.user.health.bff.persistence.entity.UserImportJobEntity.Status.RUNNING)
+              and j.updatedAt < :before
+            order by j.createdAt""")
+    List<UserImportJobEntity> findStale(@Param("before") Instant before);
+
+    // Reserva pelo heartbeat lido: se outra instância já reservou ou gravou um lote, o valor mudou e retorna 0
+    @Modifying
+    @Transactional
+    @Query("""
+            update UserImportJobEntity j
+            set j.status = com.fiap.user.health.bff.persistence.entity.UserImportJobEntity.Status.RUNNING,
+                j.heartbeat = j.heartbeat + 1, j.updatedAt = :now
+            where j.id = :id and j.heartbeat = :heartbeat
+              and j.status in (com.fiap.user.health.bff.persistence.entity.UserImportJobEntity.Status.QUEUED,
+                               com.fiap.user.health.bff.persistence.entity.UserImportJobEntity.Status.RUNNING)""")
+    int claim(@Param("id") UUID id, @Param("heartbeat") long heartbeat, @Param("now") Instant now);
+
+    // Roda na transação do lote: o progresso só avança junto com os inserts, e só para quem ainda detém o job
+    @Modifying
+    @Query("""
+            update UserImportJobEntity j
+            set j.processedRows = :processed, j.importedRows = j.importedRows + :imported,
+                j.conflictRows = j.conflictRows + :conflicts, j.invalidRows = j.invalidRows + :invalid,
+                j.heartbeat = j.heartbeat + 1, j.updatedAt = :now
+            where j.id = :id and j.heartbeat = :heartbeat""")
+    int recordBatch(@Param("id") UUID id, @Param("heartbeat") long heartbeat, @Param("processed") long processed,
+                    @Param("imported") long imported, @Param("conflicts") long conflicts,
+                    @Param("invalid") long invalid, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            update UserImportJobEntity j set j.status = :status, j.errorMessage = :error, j.updatedAt = :now
+            where j.id = :id and j.heartbeat = :heartbeat""")
+    int finish(@Param("id") UUID id, @Param("heartbeat") long heartbeat,
+               @Param("status") UserImportJobEntity.Status status, @Param("error") String error,
+               @Param("now") Instant now);
+
+}
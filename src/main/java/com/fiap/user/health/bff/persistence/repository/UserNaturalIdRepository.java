@@ -0,0 +1,11 @@
+package com.fiap.user.health.bff.persistence.repository;
+
+import com.fiap.user.health.bff.persistence.entity.UserEntity;
+
+import java.util.Optional;
+
+// Busca pelo natural id (email): ao contrário de uma consulta JPQL derivada, passa pelos caches do Hibernate
+public interface UserNaturalIdRepository {
+
+    Optional<UserEntity> findByEmail(String email);
+}
@@ -0,0 +1,27 @@
+package com.fiap.user.health.bff.persistence.repository;
+
+import com.fiap.user.health.bff.persistence.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    // Com o cache de segundo nível ligado, email -> id vem da região de natural id e a entidade da região "users";
+    // só uma falta nas duas chega ao banco. Uma resolução antiga (email trocado em outra instância) leva a uma
+    // entidade com outro email e é recusada
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UserEntity> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(UserEntity.class)
+                .loadOptional(email)
+                .filter(user -> email.equals(user.getEmail()));
+    }
+}
@@ -1,15 +1,56 @@
 package com.fiap.user.health.bff.persistence.repository;
 
+import com.fiap.user.health.bff.dto.response.UserResponseDto;
 import com.fiap.user.health.bff.persistence.entity.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, Long> {
+public interface UserRepository extends JpaRepository<UserEntity, Long>, UserNaturalIdRepository,
+        UserEntityWriteRepository {
 
-    Optional<UserEntity> findByEmail(String email);
+    // Cadastro em lote: os emails já usados em uma única consulta
+    @Query("select u.email from UserEntity u where u.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Leitura no banco, sem o cache de segundo nível: para quem vai gravar a entidade inteira de volta
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    @Query("select u from UserEntity u where u.email = :email")
+    Optional<UserEntity> findByEmailUncached(@Param("email") String email);
+
+    // Projeções de leitura: só as colunas expostas pela API, sem a senha e sem entidade no contexto de persistência
+
+    @Query("select new com.fiap.user.health.bff.dto.response.UserResponseDto(u.id, u.nome, u.email, u.login) "
+            + "from UserEntity u where u.id = :id")
+    Optional<UserResponseDto> findSummaryById(@Param("id") Long id);
+
+    // Leitura múltipla: todos os ids em um único IN; ids inexistentes simplesmente não voltam
+    @Query("select new com.fiap.user.health.bff.dto.response.UserResponseDto(u.id, u.nome, u.email, u.login) "
+            + "from UserEntity u where u.id in :ids")
+    List<UserResponseDto> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    // Paginação por keyset: usa o índice da PK, custo constante em qualquer profundidade
+    @Query("select new com.fiap.user.health.bff.dto.response.UserResponseDto(u.id, u.nome, u.email, u.login) "
+            + "from UserEntity u where u.id > :afterId order by u.id")
+    List<UserResponseDto> findSummariesAfterId(@Param("afterId") Long afterId, Limit limit);
+
+    // Paginação por offset (fallback): Slice evita o count(*) do Page
+    @Query("select new com.fiap.user.health.bff.dto.response.UserResponseDto(u.id, u.nome, u.email, u.login) "
+            + "from UserEntity u order by u.id")
+    Slice<UserResponseDto> findSummaries(Pageable pageable);
 
 }
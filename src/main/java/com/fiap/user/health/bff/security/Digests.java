@@ -0,0 +1,30 @@
+package com.fiap.user.health.bff.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Resumos usados como chave de cache e de lookup no lugar do valor original (tokens, documentos publicados).
+ */
+public final class Digests {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private Digests() {
+    }
+
+    /**
+     * SHA-256 do texto em UTF-8, em base64url sem padding. Para tokens (só ASCII) o resultado é o mesmo já gravado
+     * em {@code refresh_tokens.token_hash}.
+     */
+    public static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return BASE64_URL.encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
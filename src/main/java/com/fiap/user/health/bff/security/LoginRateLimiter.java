@@ -0,0 +1,196 @@
+package com.fiap.user.health.bff.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de tentativas de login por email e por IP, consultado antes de qualquer acesso ao banco ou ao BCrypt.
+ * Cada chave tem um token bucket lock-free (GCRA sobre um único AtomicLong); buckets ociosos são removidos
+ * periodicamente, uma faixa (stripe) por vez.
+ */
+@Slf4j
+@Component
+public class LoginRateLimiter {
+
+    private static final int STRIPES = 16;
+
+    private final boolean enabled;
+    private final BucketPolicy emailPolicy;
+    private final BucketPolicy ipPolicy;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentHashMap<String, TokenBucket>[] emailStripes = newStripes();
+    private final ConcurrentHashMap<String, TokenBucket>[] ipStripes = newStripes();
+    private int nextStripeToSweep;
+
+    private final Counter emailRejections;
+    private final Counter ipRejections;
+
+    @Autowired
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${auth.throttle.enabled:true}") boolean enabled,
+                            @Value("${auth.throttle.email.capacity:5}") int emailCapacity,
+                            @Value("${auth.throttle.email.refill-period:1m}") Duration emailRefillPeriod,
+                            @Value("${auth.throttle.ip.capacity:20}") int ipCapacity,
+                            @Value("${auth.throttle.ip.refill-period:1m}") Duration ipRefillPeriod) {
+        this(meterRegistry, enabled,
+                new BucketPolicy(emailCapacity, emailRefillPeriod),
+                new BucketPolicy(ipCapacity, ipRefillPeriod),
+                System::nanoTime);
+    }
+
+    LoginRateLimiter(MeterRegistry meterRegistry, boolean enabled,
+                     BucketPolicy emailPolicy, BucketPolicy ipPolicy, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.emailPolicy = emailPolicy;
+        this.ipPolicy = ipPolicy;
+        this.nanoClock = nanoClock;
+
+        this.emailRejections = Counter.builder("auth.throttle.rejected")
+                .description("Tentativas de autenticação rejeitadas pelo limitador")
+                .tag("key", "email")
+                .register(meterRegistry);
+        this.ipRejections = Counter.builder("auth.throttle.rejected")
+                .description("Tentativas de autenticação rejeitadas pelo limitador")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        Gauge.builder("auth.throttle.tracked.keys", this, LoginRateLimiter::trackedKeys)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consome uma tentativa do IP e, se houver, do email. Retorna 0 quando permitido ou o tempo de espera
+     * (em segundos, arredondado para cima) até a próxima tentativa ser aceita.
+     */
+    public long tryAcquire(String clientIp, String email) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = nanoClock.getAsLong();
+
+        long ipWait = bucket(ipStripes, clientIp, ipPolicy).tryConsume(now, ipPolicy);
+        if (ipWait > 0) {
+            ipRejections.increment();
+            log.warn("Login throttled for client ip: {}", clientIp);
+            return toRetryAfterSeconds(ipWait);
+        }
+
+        if (email != null && !email.isBlank()) {
+            String key = email.trim().toLowerCase(Locale.ROOT);
+            long emailWait = bucket(emailStripes, key, emailPolicy).tryConsume(now, emailPolicy);
+            if (emailWait > 0) {
+                emailRejections.increment();
+                log.warn("Login throttled for email: {}", key);
+                return toRetryAfterSeconds(emailWait);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Devolve a tentativa consumida do email depois de um login bem-sucedido: só falhas esgotam o bucket do email,
+     * e o dono da conta não fica bloqueado por logins legítimos repetidos. O bucket do IP não é devolvido.
+     */
+    public void refund(String email) {
+        if (!enabled || email == null || email.isBlank()) {
+            return;
+        }
+        String key = email.trim().toLowerCase(Locale.ROOT);
+        TokenBucket bucket = emailStripes[(key.hashCode() & 0x7fffffff) % STRIPES].get(key);
+        if (bucket != null) {
+            bucket.refund(emailPolicy);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.throttle.sweep-interval:10s}")
+    public void evictIdleBuckets() {
+        int stripe = nextStripeToSweep;
+        nextStripeToSweep = (stripe + 1) % STRIPES;
+
+        long now = nanoClock.getAsLong();
+        emailStripes[stripe].values().removeIf(bucket -> bucket.isFull(now));
+        ipStripes[stripe].values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    int trackedKeys() {
+        int total = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            total += emailStripes[i].size() + ipStripes[i].size();
+        }
+        return total;
+    }
+
+    private static TokenBucket bucket(ConcurrentHashMap<String, TokenBucket>[] stripes, String key, BucketPolicy policy) {
+        ConcurrentHashMap<String, TokenBucket> stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        TokenBucket bucket = stripe.get(key);
+        return bucket != null ? bucket : stripe.computeIfAbsent(key, k -> new TokenBucket());
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentHashMap<String, TokenBucket>[] newStripes() {
+        ConcurrentHashMap<String, TokenBucket>[] stripes = new ConcurrentHashMap[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        return stripes;
+    }
+
+    record BucketPolicy(long emissionIntervalNanos, long burstToleranceNanos) {
+
+        BucketPolicy(int capacity, Duration refillPeriod) {
+            this(refillPeriod.toNanos() / capacity, refillPeriod.toNanos() / capacity * (capacity - 1));
+        }
+    }
+
+    /**
+     * Token bucket no formato GCRA: guarda apenas o "theoretical arrival time" (TAT).
+     * O bucket está cheio quando o TAT ficou no passado.
+     */
+    static final class TokenBucket {
+
+        private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+        long tryConsume(long now, BucketPolicy policy) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                long tat = current == Long.MIN_VALUE || current < now ? now : current;
+                long wait = tat - now - policy.burstToleranceNanos();
+                if (wait > 0) {
+                    return wait;
+                }
+                if (theoreticalArrival.compareAndSet(current, tat + policy.emissionIntervalNanos())) {
+                    return 0;
+                }
+            }
+        }
+
+        // Com o TAT no passado o bucket já está cheio: recuar mais não dá capacidade extra, o consumo parte de now
+        void refund(BucketPolicy policy) {
+            theoreticalArrival.getAndUpdate(current -> current == Long.MIN_VALUE
+                    ? current
+                    : current - policy.emissionIntervalNanos());
+        }
+
+        boolean isFull(long now) {
+            long current = theoreticalArrival.get();
+            return current == Long.MIN_VALUE || current <= now;
+        }
+    }
+}
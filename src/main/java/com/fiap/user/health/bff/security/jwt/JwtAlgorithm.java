@@ -0,0 +1,34 @@
+package com.fiap.user.health.bff.security.jwt;
+
+import org.springframework.security.oauth2.jose.jws.JwsAlgorithm;
+
+import java.util.Arrays;
+
+/**
+ * Algoritmos de assinatura de token suportados, selecionados por {@code jwt.algorithm}.
+ */
+public enum JwtAlgorithm implements JwsAlgorithm {
+
+    RS256("RS256"),
+    ES256("ES256"),
+    EDDSA("EdDSA"),
+    HS256("HS256");
+
+    private final String name;
+
+    JwtAlgorithm(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public static JwtAlgorithm from(String name) {
+        return Arrays.stream(values())
+                .filter(algorithm -> algorithm.name.equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unsupported JWT algorithm: " + name));
+    }
+}
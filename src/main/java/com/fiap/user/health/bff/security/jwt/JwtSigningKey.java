@@ -0,0 +1,202 @@
+package com.fiap.user.health.bff.security.jwt;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
+import com.nimbusds.jose.jca.JCAContext;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.OctetSequenceKey;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerifierFactory;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Chave de assinatura de tokens e o par encoder/decoder correspondente ao algoritmo.
+ * Para HS256 a mesma chave secreta assina e verifica; nos demais a privada assina e a pública verifica.
+ * <p>
+ * O {@code kid} de cada chave é o thumbprint JWK (RFC 7638). Chaves públicas aposentadas continuam aceitas na
+ * verificação e publicadas no JWKS enquanto houver tokens assinados por elas.
+ */
+public record JwtSigningKey(JwtAlgorithm algorithm, PublicKey publicKey, PrivateKey privateKey, SecretKey secretKey,
+                            List<PublicKey> retiredPublicKeys) {
+
+    public static JwtSigningKey rsa(RSAPublicKey publicKey, RSAPrivateKey privateKey) {
+        return new JwtSigningKey(JwtAlgorithm.RS256, publicKey, privateKey, null, List.of());
+    }
+
+    public static JwtSigningKey ec(ECPublicKey publicKey, ECPrivateKey privateKey) {
+        return new JwtSigningKey(JwtAlgorithm.ES256, publicKey, privateKey, null, List.of());
+    }
+
+    public static JwtSigningKey ed25519(PublicKey publicKey, PrivateKey privateKey) {
+        return new JwtSigningKey(JwtAlgorithm.EDDSA, publicKey, privateKey, null, List.of());
+    }
+
+    public static JwtSigningKey hmac(SecretKey secretKey) {
+        if (secretKey.getEncoded().length < 32) {
+            throw new IllegalStateException("HS256 secret must have at least 256 bits");
+        }
+        return new JwtSigningKey(JwtAlgorithm.HS256, null, null, secretKey, List.of());
+    }
+
+    public JwtSigningKey withRetiredPublicKeys(List<PublicKey> keys) {
+        if (algorithm == JwtAlgorithm.HS256 && !keys.isEmpty()) {
+            throw new IllegalStateException("Retired public keys are not supported for HS256");
+        }
+        return new JwtSigningKey(algorithm, publicKey, privateKey, secretKey, List.copyOf(keys));
+    }
+
+    public String keyId() {
+        if (algorithm != JwtAlgorithm.HS256) {
+            return publicJwk(publicKey).getKeyID();
+        }
+        try {
+            return new OctetSequenceKey.Builder(secretKey).keyIDFromThumbprint().build().getKeyID();
+        } catch (JOSEException ex) {
+            throw new IllegalStateException("Unable to compute JWK thumbprint", ex);
+        }
+    }
+
+    // Chave ativa primeiro; vazio para HS256, cujo segredo não pode ser publicado
+    public JWKSet publicJwkSet() {
+        if (algorithm == JwtAlgorithm.HS256) {
+            return new JWKSet();
+        }
+        List<JWK> keys = new ArrayList<>();
+        keys.add(publicJwk(publicKey));
+        retiredPublicKeys.forEach(key -> keys.add(publicJwk(key)));
+        return new JWKSet(keys);
+    }
+
+    public JwtEncoder encoder() {
+        String keyId = keyId();
+        JwtEncoder encoder = switch (algorithm) {
+            case RS256 -> new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(
+                    new RSAKey.Builder((RSAPublicKey) publicKey).privateKey((RSAPrivateKey) privateKey).keyID(keyId).build())));
+            case ES256 -> new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(
+                    new ECKey.Builder(Curve.P_256, (ECPublicKey) publicKey).privateKey((ECPrivateKey) privateKey).keyID(keyId).build())));
+            case EDDSA -> new SignerJwtEncoder(JWSAlgorithm.EdDSA, keyId, new Ed25519JwsSigner(privateKey));
+            case HS256 -> new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(
+                    new OctetSequenceKey.Builder(secretKey).keyID(keyId).build())));
+        };
+        // Sem header explícito o NimbusJwtEncoder assume RS256: completa com o algoritmo configurado
+        return parameters -> encoder.encode(parameters.getJwsHeader() != null
+                ? parameters
+                : JwtEncoderParameters.from(JwsHeader.with(algorithm).build(), parameters.getClaims()));
+    }
+
+    // A chave é escolhida pelo kid do header; tokens sem kid são testados contra todas as chaves do conjunto
+    public JwtDecoder decoder() {
+        return switch (algorithm) {
+            case RS256 -> NimbusJwtDecoder.withJwkSource(new ImmutableJWKSet<>(publicJwkSet()))
+                    .jwsAlgorithm(SignatureAlgorithm.RS256)
+                    .build();
+            case ES256 -> NimbusJwtDecoder.withJwkSource(new ImmutableJWKSet<>(publicJwkSet()))
+                    .jwsAlgorithm(SignatureAlgorithm.ES256)
+                    .build();
+            case EDDSA -> ed25519Decoder();
+            case HS256 -> NimbusJwtDecoder.withSecretKey(secretKey).macAlgorithm(MacAlgorithm.HS256).build();
+        };
+    }
+
+    private JwtDecoder ed25519Decoder() {
+        Map<String, PublicKey> keysById = new LinkedHashMap<>();
+        keysById.put(publicJwk(publicKey).getKeyID(), publicKey);
+        retiredPublicKeys.forEach(key -> keysById.put(publicJwk(key).getKeyID(), key));
+
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector((header, context) -> {
+            if (!JWSAlgorithm.EdDSA.equals(header.getAlgorithm())) {
+                return List.of();
+            }
+            if (header.getKeyID() == null) {
+                return List.copyOf(keysById.values());
+            }
+            PublicKey key = keysById.get(header.getKeyID());
+            return key != null ? List.of(key) : List.of();
+        });
+        processor.setJWSVerifierFactory(new Ed25519VerifierFactory());
+        // Claims (exp, nbf) são validadas pelo NimbusJwtDecoder do Spring, como nos demais algoritmos
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        return new NimbusJwtDecoder(processor);
+    }
+
+    private JWK publicJwk(PublicKey key) {
+        try {
+            return switch (algorithm) {
+                case RS256 -> new RSAKey.Builder((RSAPublicKey) key)
+                        .keyUse(KeyUse.SIGNATURE).algorithm(JWSAlgorithm.RS256).keyIDFromThumbprint().build();
+                case ES256 -> new ECKey.Builder(Curve.P_256, (ECPublicKey) key)
+                        .keyUse(KeyUse.SIGNATURE).algorithm(JWSAlgorithm.ES256).keyIDFromThumbprint().build();
+                case EDDSA -> new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(rawEd25519(key)))
+                        .keyUse(KeyUse.SIGNATURE).algorithm(JWSAlgorithm.EdDSA).keyIDFromThumbprint().build();
+                case HS256 -> throw new IllegalStateException("HS256 has no public key");
+            };
+        } catch (JOSEException ex) {
+            throw new IllegalStateException("Unable to compute JWK thumbprint", ex);
+        }
+    }
+
+    // A codificação X.509 de uma chave Ed25519 termina com os 32 bytes da chave
+    private static byte[] rawEd25519(PublicKey key) {
+        byte[] encoded = key.getEncoded();
+        return Arrays.copyOfRange(encoded, encoded.length - 32, encoded.length);
+    }
+
+    private static final class Ed25519VerifierFactory implements JWSVerifierFactory {
+
+        private final DefaultJWSVerifierFactory fallback = new DefaultJWSVerifierFactory();
+
+        @Override
+        public JWSVerifier createJWSVerifier(JWSHeader header, Key key) throws JOSEException {
+            if (JWSAlgorithm.EdDSA.equals(header.getAlgorithm()) && key instanceof PublicKey publicKey) {
+                return new Ed25519JwsVerifier(publicKey);
+            }
+            return fallback.createJWSVerifier(header, key);
+        }
+
+        @Override
+        public Set<JWSAlgorithm> supportedJWSAlgorithms() {
+            return Set.of(JWSAlgorithm.EdDSA);
+        }
+
+        @Override
+        public JCAContext getJCAContext() {
+            return fallback.getJCAContext();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.fiap.user.health.bff.security.jwt;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Leitura de chaves PEM (X.509 para públicas, PKCS#8 para privadas) de EC e Ed25519.
+ * As chaves RSA continuam convertidas pelo próprio Spring via {@code @Value}.
+ */
+public final class PemKeys {
+
+    private PemKeys() {
+    }
+
+    public static PublicKey readPublicKey(Resource resource, String keyAlgorithm) {
+        try {
+            return KeyFactory.getInstance(keyAlgorithm).generatePublic(new X509EncodedKeySpec(decode(resource)));
+        } catch (IOException | GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to read public key from " + resource.getDescription(), ex);
+        }
+    }
+
+    public static PrivateKey readPrivateKey(Resource resource, String keyAlgorithm) {
+        try {
+            return KeyFactory.getInstance(keyAlgorithm).generatePrivate(new PKCS8EncodedKeySpec(decode(resource)));
+        } catch (IOException | GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to read private key from " + resource.getDescription(), ex);
+        }
+    }
+
+    private static byte[] decode(Resource resource) throws IOException {
+        String base64 = resource.getContentAsString(StandardCharsets.US_ASCII)
+                .lines()
+                .filter(line -> !line.startsWith("-----"))
+                .reduce("", String::concat)
+                .strip();
+        return Base64.getMimeDecoder().decode(base64);
+    }
+}
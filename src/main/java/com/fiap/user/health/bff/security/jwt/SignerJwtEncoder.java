@@ -0,0 +1,80 @@
+package com.fiap.user.health.bff.security.jwt;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+
+import java.net.URL;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * {@link JwtEncoder} sobre um {@link JWSSigner} qualquer, para algoritmos que o {@code NimbusJwtEncoder}
+ * não consegue montar a partir de uma JWK (EdDSA sem Tink).
+ */
+public class SignerJwtEncoder implements JwtEncoder {
+
+    private static final List<String> REGISTERED_CLAIMS = List.of(
+            JwtClaimNames.ISS, JwtClaimNames.SUB, JwtClaimNames.AUD, JwtClaimNames.EXP,
+            JwtClaimNames.NBF, JwtClaimNames.IAT, JwtClaimNames.JTI);
+
+    private final JWSAlgorithm algorithm;
+    private final String keyId;
+    private final JWSSigner signer;
+
+    public SignerJwtEncoder(JWSAlgorithm algorithm, String keyId, JWSSigner signer) {
+        this.algorithm = algorithm;
+        this.keyId = keyId;
+        this.signer = signer;
+    }
+
+    @Override
+    public Jwt encode(JwtEncoderParameters parameters) throws JwtEncodingException {
+        JwtClaimsSet claims = parameters.getClaims();
+        JWSHeader header = new JWSHeader.Builder(algorithm).keyID(keyId).build();
+
+        // Registradas primeiro, na mesma ordem do NimbusJwtEncoder, para o JSON sair igual nos dois encoders
+        JWTClaimsSet.Builder nimbusClaims = new JWTClaimsSet.Builder();
+        REGISTERED_CLAIMS.forEach(name -> {
+            Object value = claims.getClaims().get(name);
+            if (value != null) {
+                nimbusClaims.claim(name, toNimbusValue(value));
+            }
+        });
+        claims.getClaims().forEach((name, value) -> {
+            if (!REGISTERED_CLAIMS.contains(name)) {
+                nimbusClaims.claim(name, toNimbusValue(value));
+            }
+        });
+
+        SignedJWT signedJwt = new SignedJWT(header, nimbusClaims.build());
+        try {
+            signedJwt.sign(signer);
+        } catch (JOSEException ex) {
+            throw new JwtEncodingException("An error occurred while attempting to encode the Jwt: " + ex.getMessage(), ex);
+        }
+
+        return new Jwt(signedJwt.serialize(), claims.getIssuedAt(), claims.getExpiresAt(),
+                header.toJSONObject(), claims.getClaims());
+    }
+
+    private static Object toNimbusValue(Object value) {
+        if (value instanceof Instant instant) {
+            return Date.from(instant);
+        }
+        if (value instanceof URL url) {
+            return url.toExternalForm();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,187 @@
+package com.fiap.user.health.bff.security.jwt;
+
+import com.fiap.user.health.bff.persistence.entity.UserEntity;
+import org.springframework.security.oauth2.jwt.JwtEncodingException;
+import org.springframework.util.Assert;
+
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.security.interfaces.RSAKey;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Emissão do token de acesso sem passar pelo {@code NimbusJwtEncoder}: o header e a claim {@code iss} são
+ * serializados uma vez, as claims do usuário são escritas direto dos campos da entidade e o {@link Signature}
+ * (ou {@link Mac}) é reaproveitado por thread.
+ * <p>
+ * A saída é idêntica byte a byte à do {@code NimbusJwtEncoder}, inclusive a ordem das claims (a do HashMap do
+ * Nimbus para este conjunto de nomes) e o escape de strings. Ao mudar as claims, ajuste também
+ * {@code TokenIssuerTest}, que compara as duas saídas.
+ */
+public class TokenIssuer {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final JwtSigningKey signingKey;
+    private final byte[] headerSegment;
+    private final String issuerFragment;
+    private final ThreadLocal<IssuerState> state;
+
+    public TokenIssuer(JwtSigningKey signingKey, String issuer) {
+        this.signingKey = signingKey;
+        String header = "{\"kid\":\"" + signingKey.keyId() + "\",\"alg\":\"" + signingKey.algorithm().getName() + "\"}";
+        this.headerSegment = (BASE64_URL.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + ".")
+                .getBytes(StandardCharsets.US_ASCII);
+        StringBuilder fragment = new StringBuilder(",\"iss\":");
+        appendJsonString(fragment, issuer);
+        this.issuerFragment = fragment.toString();
+        this.state = ThreadLocal.withInitial(this::newState);
+    }
+
+    public String issue(UserEntity user, Instant issuedAt, Instant expiresAt) {
+        Assert.notNull(user.getId(), "value cannot be null");
+        Assert.notNull(user.getEmail(), "value cannot be null");
+        Assert.notNull(user.getNome(), "value cannot be null");
+
+        IssuerState current = state.get();
+        StringBuilder json = current.json;
+        json.setLength(0);
+        json.append("{\"sub\":");
+        appendJsonString(json, user.getEmail());
+        json.append(issuerFragment).append(",\"nome\":");
+        appendJsonString(json, user.getNome());
+        json.append(",\"exp\":").append(expiresAt.getEpochSecond())
+                .append(",\"iat\":").append(issuedAt.getEpochSecond())
+                .append(",\"userId\":").append(user.getId().longValue())
+                .append(",\"jti\":\"").append(UUID.randomUUID()).append('"')
+                .append(",\"email\":");
+        appendJsonString(json, user.getEmail());
+        json.append('}');
+
+        byte[] payload = json.toString().getBytes(StandardCharsets.UTF_8);
+        int payloadLength = base64Length(payload.length);
+        byte[] buffer = current.buffer(headerSegment.length + payloadLength + 1 + base64Length(current.signatureLength));
+
+        System.arraycopy(headerSegment, 0, buffer, 0, headerSegment.length);
+        int position = headerSegment.length;
+        position += encodeBase64(payload, buffer, position, current);
+
+        try {
+            byte[] signature = current.sign(buffer, position);
+            buffer[position++] = '.';
+            position += encodeBase64(signature, buffer, position, current);
+        } catch (GeneralSecurityException ex) {
+            state.remove();
+            throw new JwtEncodingException("An error occurred while attempting to encode the Jwt: " + ex.getMessage(), ex);
+        }
+
+        return new String(buffer, 0, position, StandardCharsets.ISO_8859_1);
+    }
+
+    private IssuerState newState() {
+        try {
+            return switch (signingKey.algorithm()) {
+                case RS256 -> new IssuerState(signature("SHA256withRSA"), null,
+                        (((RSAKey) signingKey.privateKey()).getModulus().bitLength() + 7) / 8);
+                case ES256 -> new IssuerState(signature("SHA256withECDSAinP1363Format"), null, 64);
+                case EDDSA -> new IssuerState(signature("Ed25519"), null, 64);
+                case HS256 -> {
+                    Mac mac = Mac.getInstance("HmacSHA256");
+                    mac.init(signingKey.secretKey());
+                    yield new IssuerState(null, mac, 32);
+                }
+            };
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Unable to initialize token signer for " + signingKey.algorithm(), ex);
+        }
+    }
+
+    private Signature signature(String jcaAlgorithm) throws GeneralSecurityException {
+        Signature signature = Signature.getInstance(jcaAlgorithm);
+        signature.initSign(signingKey.privateKey());
+        return signature;
+    }
+
+    private static int base64Length(int bytes) {
+        return (bytes * 4 + 2) / 3;
+    }
+
+    private static int encodeBase64(byte[] source, byte[] target, int offset, IssuerState current) {
+        byte[] scratch = current.scratch(base64Length(source.length));
+        int written = BASE64_URL.encode(source, scratch);
+        System.arraycopy(scratch, 0, target, offset, written);
+        return written;
+    }
+
+    // Mesmo escape do serializador JSON do Nimbus (Gson sem escape de HTML)
+    private static void appendJsonString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\t' -> json.append("\\t");
+                case '\b' -> json.append("\\b");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\f' -> json.append("\\f");
+                case '\u2028' -> json.append("\\u2028");
+                case '\u2029' -> json.append("\\u2029");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    private static final class IssuerState {
+
+        private final Signature signature;
+        private final Mac mac;
+        private final int signatureLength;
+        private final StringBuilder json = new StringBuilder(256);
+        private byte[] buffer = new byte[1024];
+        private byte[] scratch = new byte[512];
+
+        private IssuerState(Signature signature, Mac mac, int signatureLength) {
+            this.signature = signature;
+            this.mac = mac;
+            this.signatureLength = signatureLength;
+        }
+
+        private byte[] buffer(int size) {
+            if (buffer.length < size) {
+                buffer = Arrays.copyOf(buffer, size);
+            }
+            return buffer;
+        }
+
+        private byte[] scratch(int size) {
+            if (scratch.length < size) {
+                scratch = new byte[size];
+            }
+            return scratch;
+        }
+
+        // Após sign()/doFinal() o objeto volta ao estado inicial com a mesma chave e pode ser reutilizado
+        private byte[] sign(byte[] signingInput, int length) throws GeneralSecurityException {
+            if (mac != null) {
+                mac.update(signingInput, 0, length);
+                return mac.doFinal();
+            }
+            signature.update(signingInput, 0, length);
+            return signature.sign();
+        }
+    }
+}
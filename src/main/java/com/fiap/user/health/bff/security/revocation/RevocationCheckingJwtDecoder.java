@@ -0,0 +1,30 @@
+package com.fiap.user.health.bff.security.revocation;
+
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Rejeita tokens revogados depois da verificação do delegate. Fica por fora do cache de tokens verificados,
+ * de modo que uma revogação vale também para tokens já em cache.
+ */
+public class RevocationCheckingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final TokenRevocationService tokenRevocationService;
+
+    public RevocationCheckingJwtDecoder(JwtDecoder delegate, TokenRevocationService tokenRevocationService) {
+        this.delegate = delegate;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Jwt jwt = delegate.decode(token);
+        if (tokenRevocationService.isRevoked(jwt)) {
+            throw new BadJwtException("An error occurred while attempting to decode the Jwt: Token has been revoked");
+        }
+        return jwt;
+    }
+}
@@ -0,0 +1,222 @@
+package com.fiap.user.health.bff.security.revocation;
+
+import com.fiap.user.health.bff.persistence.entity.RevokedTokenEntity;
+import com.fiap.user.health.bff.persistence.repository.RevokedTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revogação de access tokens por {@code jti} (um token) ou por usuário (todos os tokens emitidos antes de uma
+ * marca d'água). As revogações ficam na tabela {@code revoked_tokens} e são replicadas em memória: a verificação
+ * por requisição consulta primeiro um Bloom filter e só vai ao mapa exato quando há possível ocorrência.
+ * Novas revogações de outras instâncias chegam na sincronização periódica, que também publica um
+ * {@link UsersRevokedEvent} com os usuários revogados; entradas vencidas saem da memória e do banco na mesma rotina.
+ * <p>
+ * A sincronização não usa o id como cursor: uma transação que reservou um id menor pode terminar depois de outra
+ * com id maior, e a linha ficaria para trás. Cada leitura volta {@code auth.revocation.sync-overlap} antes do maior
+ * {@code created_at} já visto, e os ids aplicados dentro dessa janela são ignorados na releitura.
+ */
+@Slf4j
+@Component
+public class TokenRevocationService {
+
+    private static final String JTI_PREFIX = "jti:";
+    private static final String SUBJECT_PREFIX = "sub:";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration tokenLifetime;
+    private final Duration syncOverlap;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final Clock clock;
+
+    private final ConcurrentHashMap<String, Revocation> revocations = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private Instant syncedUntil = Instant.EPOCH;
+    private final Map<Long, Instant> appliedInWindow = new HashMap<>();
+
+    @Autowired
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${auth.revocation.token-lifetime:1h}") Duration tokenLifetime,
+                                  @Value("${auth.revocation.sync-overlap:30s}") Duration syncOverlap,
+                                  @Value("${auth.revocation.bloom.expected-entries:100000}") int expectedEntries,
+                                  @Value("${auth.revocation.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this(revokedTokenRepository, eventPublisher, tokenLifetime, syncOverlap, expectedEntries, falsePositiveRate,
+                Clock.systemUTC());
+    }
+
+    TokenRevocationService(RevokedTokenRepository revokedTokenRepository, ApplicationEventPublisher eventPublisher,
+                           Duration tokenLifetime, Duration syncOverlap, int expectedEntries, double falsePositiveRate,
+                           Clock clock) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.eventPublisher = eventPublisher;
+        this.tokenLifetime = tokenLifetime;
+        this.syncOverlap = syncOverlap;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.clock = clock;
+        this.bloomFilter = BloomFilter.create(expectedEntries, falsePositiveRate);
+    }
+
+    // Logout: só o token apresentado, até a própria expiração
+    public void revokeToken(String jti, Instant expiresAt) {
+        store(JTI_PREFIX + jti, new Revocation(null, expiresAt));
+        log.info("Token revoked: {}", jti);
+    }
+
+    public void revokeUser(Long userId) {
+        Instant issuedBefore = watermark(userId);
+        store(SUBJECT_PREFIX + userId, new Revocation(issuedBefore, issuedBefore.plus(tokenLifetime)));
+        log.info("Tokens issued before {} revoked for user id: {}", issuedBefore, userId);
+    }
+
+    // Exclusão em lote: uma marca d'água por usuário, todas gravadas com um único saveAll
+    public void revokeUsers(Collection<Long> userIds) {
+        Map<Long, Revocation> byUser = new HashMap<>();
+        for (Long userId : userIds) {
+            Instant issuedBefore = watermark(userId);
+            byUser.put(userId, new Revocation(issuedBefore, issuedBefore.plus(tokenLifetime)));
+        }
+        revokedTokenRepository.saveAll(byUser.entrySet().stream()
+                .map(entry -> RevokedTokenEntity.builder()
+                        .revocationKey(SUBJECT_PREFIX + entry.getKey())
+                        .issuedBefore(entry.getValue().issuedBefore())
+                        .expiresAt(entry.getValue().expiresAt())
+                        .build())
+                .toList());
+        byUser.forEach((userId, revocation) -> remember(SUBJECT_PREFIX + userId, revocation));
+        log.info("Tokens revoked for {} users", byUser.size());
+    }
+
+    public boolean isRevoked(Jwt jwt) {
+        String jti = jwt.getId();
+        if (jti != null && matches(JTI_PREFIX + jti, jwt)) {
+            return true;
+        }
+        Object userId = jwt.getClaims().get("userId");
+        return userId != null && matches(SUBJECT_PREFIX + userId, jwt);
+    }
+
+    // Marca d'água vigente do usuário conhecida por esta instância; quem emite token para ele não usa iat anterior a ela
+    public Optional<Instant> userWatermark(Long userId) {
+        Revocation revocation = revocations.get(SUBJECT_PREFIX + userId);
+        return revocation == null ? Optional.empty() : Optional.ofNullable(revocation.issuedBefore());
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.sync-interval:5s}")
+    public synchronized void synchronize() {
+        Set<Long> revokedUsers = new HashSet<>();
+        List<RevokedTokenEntity> recent = revokedTokenRepository
+                .findByCreatedAtGreaterThanEqualOrderByCreatedAtAsc(syncedUntil.minus(syncOverlap));
+        for (RevokedTokenEntity entity : recent) {
+            if (appliedInWindow.putIfAbsent(entity.getId(), entity.getCreatedAt()) != null) {
+                continue;
+            }
+            remember(entity.getRevocationKey(), new Revocation(entity.getIssuedBefore(), entity.getExpiresAt()));
+            if (entity.getRevocationKey().startsWith(SUBJECT_PREFIX)) {
+                revokedUsers.add(Long.valueOf(entity.getRevocationKey().substring(SUBJECT_PREFIX.length())));
+            }
+            if (entity.getCreatedAt().isAfter(syncedUntil)) {
+                syncedUntil = entity.getCreatedAt();
+            }
+        }
+        Instant windowStart = syncedUntil.minus(syncOverlap);
+        appliedInWindow.values().removeIf(createdAt -> createdAt.isBefore(windowStart));
+        if (!revokedUsers.isEmpty()) {
+            eventPublisher.publishEvent(new UsersRevokedEvent(Set.copyOf(revokedUsers)));
+        }
+
+        Instant now = clock.instant();
+        if (revocations.values().removeIf(revocation -> !revocation.expiresAt().isAfter(now))) {
+            rebuildBloomFilter();
+        }
+        revokedTokenRepository.deleteExpired(now);
+    }
+
+    int size() {
+        return revocations.size();
+    }
+
+    // O iat tem precisão de segundos: a marca d'água sobe para o próximo segundo e todo token emitido no segundo da
+    // revogação é recusado. Os emitidos aqui depois dela recebem iat igual à marca d'água (ver userWatermark), então
+    // uma nova revogação no mesmo segundo passa um segundo além da anterior para alcançá-los
+    private Instant watermark(Long userId) {
+        Instant watermark = clock.instant().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        Revocation current = revocations.get(SUBJECT_PREFIX + userId);
+        if (current != null && current.issuedBefore() != null && !current.issuedBefore().isBefore(watermark)) {
+            return current.issuedBefore().plusSeconds(1);
+        }
+        return watermark;
+    }
+
+    private boolean matches(String key, Jwt jwt) {
+        if (!bloomFilter.mightContain(key)) {
+            return false;
+        }
+        Revocation revocation = revocations.get(key);
+        if (revocation == null) {
+            return false;
+        }
+        if (revocation.issuedBefore() == null) {
+            return true;
+        }
+        Instant issuedAt = jwt.getIssuedAt();
+        return issuedAt == null || issuedAt.isBefore(revocation.issuedBefore());
+    }
+
+    private void store(String key, Revocation revocation) {
+        revokedTokenRepository.save(RevokedTokenEntity.builder()
+                .revocationKey(key)
+                .issuedBefore(revocation.issuedBefore())
+                .expiresAt(revocation.expiresAt())
+                .build());
+        remember(key, revocation);
+    }
+
+    // O mapa exato é atualizado antes do filtro: quem encontra a chave no filtro sempre a encontra no mapa
+    private void remember(String key, Revocation revocation) {
+        revocations.merge(key, revocation, Revocation::merge);
+        bloomFilter.put(key);
+    }
+
+    // Bloom filter não remove chaves: depois de expirar entradas, um filtro novo é montado a partir do mapa.
+    // A segunda passada cobre chaves adicionadas ao filtro antigo durante a troca.
+    private void rebuildBloomFilter() {
+        BloomFilter rebuilt = BloomFilter.create(Math.max(expectedEntries, revocations.size() * 2), falsePositiveRate);
+        revocations.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        revocations.keySet().forEach(rebuilt::put);
+    }
+
+    private record Revocation(Instant issuedBefore, Instant expiresAt) {
+
+        // Mantém a revogação mais abrangente: a total (sem marca d'água) ou a marca d'água mais recente
+        Revocation merge(Revocation other) {
+            Instant watermark = issuedBefore == null || other.issuedBefore == null
+                    ? null
+                    : (issuedBefore.isAfter(other.issuedBefore) ? issuedBefore : other.issuedBefore);
+            Instant expiry = expiresAt.isAfter(other.expiresAt) ? expiresAt : other.expiresAt;
+            return new Revocation(watermark, expiry);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.fiap.user.health.bff.security.revocation;
+
+import java.util.Set;
+
+/**
+ * Publicado pela sincronização quando chegam revogações por usuário (troca de credencial ou exclusão), inclusive as
+ * gravadas por outras instâncias: caches locais com dados desses usuários devem descartá-los.
+ */
+public record UsersRevokedEvent(Set<Long> userIds) {
+}
@@ -1,21 +1,26 @@
 package com.fiap.user.health.bff.service.auth;
 
+import com.fiap.user.health.bff.dto.request.RefreshTokenRequestDto;
 import com.fiap.user.health.bff.dto.request.UserAuthRequestDto;
 import com.fiap.user.health.bff.dto.request.UserCredentialsRequestDto;
 import com.fiap.user.health.bff.exception.UserNotFoundException;
 import com.fiap.user.health.bff.persistence.entity.UserEntity;
 import com.fiap.user.health.bff.persistence.repository.UserRepository;
+import com.fiap.user.health.bff.security.LoginRateLimiter;
+import com.fiap.user.health.bff.security.jwt.TokenIssuer;
+import com.fiap.user.health.bff.security.revocation.TokenRevocationService;
+import com.fiap.user.health.bff.service.io.BlockingIoExecutor;
+import com.fiap.user.health.bff.service.password.CredentialVerificationCache;
+import com.fiap.user.health.bff.service.password.PasswordHashingExecutor;
+import com.fiap.user.health.bff.service.user.UserLookupCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.oauth2.jwt.JwtClaimsSet;
-import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
@@ -23,59 +28,134 @@ import java.time.Instant;
 public class AuthServiceImpl implements AuthServiceInterface {
 
     private final UserRepository userRepository;
-    private final JwtEncoder jwtEncoder;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final TokenIssuer tokenIssuer;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final BlockingIoExecutor blockingIoExecutor;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final CredentialVerificationCache credentialVerificationCache;
+    private final UserLookupCache userLookupCache;
+    private final LoginRateLimiter loginRateLimiter;
 
     private static final long EXPIRATION_TIME = 3600L; // 1 hora em segundos
 
+    // Sem @Transactional: a verificação BCrypt roda no PasswordHashingExecutor, sem conexão do pool reservada;
+    // o refresh token e a assinatura do JWT seguem no BlockingIoExecutor.
     @Override
-    @Transactional(readOnly = true)
-    public UserAuthRequestDto login(UserCredentialsRequestDto credentials) {
+    public CompletableFuture<UserAuthRequestDto> login(UserCredentialsRequestDto credentials) {
         log.info("Attempting login for email: {}", credentials.email());
 
-        UserEntity user = userRepository.findByEmail(credentials.email())
+        UserEntity user = userLookupCache.getAccount(credentials.email(), userRepository::findByEmail)
                 .orElseThrow(() -> new BadCredentialsException("Invalid email or password"));
 
-        if (!passwordEncoder.matches(credentials.password(), user.getSenha())) {
-            log.warn("Invalid password attempt for email: {}", credentials.email());
-            throw new BadCredentialsException("Invalid email or password");
-        }
+        return verifyPassword(user, credentials.password())
+                .thenApplyAsync(matches -> {
+                    if (!matches) {
+                        log.warn("Invalid password attempt for email: {}", credentials.email());
+                        throw new BadCredentialsException("Invalid email or password");
+                    }
+
+                    loginRateLimiter.refund(credentials.email());
+                    rehashIfNeeded(user, credentials.password());
 
-        String token = generateToken(user);
-        log.info("Login successful for email: {}", credentials.email());
+                    String token = generateToken(user);
+                    log.info("Login successful for email: {}", credentials.email());
 
-        return new UserAuthRequestDto(token, EXPIRATION_TIME);
+                    return new UserAuthRequestDto(token, EXPIRATION_TIME, refreshTokenService.issue(user.getId()));
+                }, blockingIoExecutor);
     }
 
+    // Renovação sem BCrypt: busca pelo hash do refresh token e assinatura de um novo access token
     @Override
-    @Transactional
-    public void updatePassword(String email, String newPassword) {
+    public UserAuthRequestDto refresh(RefreshTokenRequestDto request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.refreshToken());
+
+        UserEntity user = userRepository.findById(rotation.userId())
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        log.info("Token refreshed for email: {}", user.getEmail());
+        return new UserAuthRequestDto(generateToken(user), EXPIRATION_TIME, rotation.refreshToken());
+    }
+
+    @Override
+    public CompletableFuture<Void> updatePassword(String email, String newPassword) {
         log.info("Updating password for email: {}", email);
 
-        UserEntity user = userRepository.findByEmail(email)
+        // Fora dos dois caches (o por nó e o de segundo nível): email -> id resolvido no banco, e o 404 sai antes do hash
+        UserEntity user = userRepository.findByEmailUncached(email)
                 .orElseThrow(() -> new UserNotFoundException("User not found with email: " + email));
 
-        String encodedPassword = passwordEncoder.encode(newPassword);
-        user.setSenha(encodedPassword);
-        userRepository.save(user);
+        // Só a coluna senha é gravada, sobre a linha relida e travada depois do hash: o que outra requisição alterou
+        // enquanto o hash rodava não é sobrescrito
+        return passwordHashingExecutor.encode(newPassword)
+                .thenAcceptAsync(encodedPassword -> {
+                    if (userRepository.updateSenha(user.getId(), encodedPassword) == 0) {
+                        throw new UserNotFoundException("User not found with email: " + email);
+                    }
+                    refreshTokenService.revokeAll(user.getId());
+                    tokenRevocationService.revokeUser(user.getId());
+                    credentialVerificationCache.invalidate(email);
+                    userLookupCache.invalidate(user.getId(), email);
+
+                    log.info("Password updated successfully for email: {}", email);
+                }, blockingIoExecutor);
+    }
+
+    // Encerra a sessão: o access token apresentado deixa de valer em todas as instâncias e o refresh token, com os
+    // demais da mesma família, é apagado. Outras sessões do usuário continuam válidas.
+    @Override
+    public void logout(Jwt accessToken, RefreshTokenRequestDto request) {
+        Long userId = Long.valueOf(String.valueOf(accessToken.getClaims().get("userId")));
 
-        log.info("Password updated successfully for email: {}", email);
+        refreshTokenService.revokeFamily(request.refreshToken(), userId);
+        tokenRevocationService.revokeToken(accessToken.getId(), accessToken.getExpiresAt());
+        log.info("Logout completed for user id: {}", userId);
+    }
+
+    // Acerto no cache de credenciais recém-verificadas dispensa o BCrypt; só verificações bem-sucedidas entram nele
+    private CompletableFuture<Boolean> verifyPassword(UserEntity user, String rawPassword) {
+        if (credentialVerificationCache.isVerified(user.getEmail(), rawPassword, user.getSenha())) {
+            return CompletableFuture.completedFuture(true);
+        }
+        return passwordHashingExecutor.matches(rawPassword, user.getSenha())
+                .thenApply(matches -> {
+                    if (matches) {
+                        credentialVerificationCache.markVerified(user.getEmail(), rawPassword, user.getSenha());
+                    }
+                    return matches;
+                });
+    }
+
+    // Re-hash transparente quando o algoritmo ou custo mudou; roda em segundo plano e não atrasa o login
+    private void rehashIfNeeded(UserEntity user, String rawPassword) {
+        String currentHash = user.getSenha();
+        if (!passwordHashingExecutor.upgradeEncoding(currentHash)) {
+            return;
+        }
+
+        passwordHashingExecutor.encode(rawPassword)
+                .thenAcceptAsync(newHash -> {
+                    if (userRepository.updateSenhaIfUnchanged(user.getId(), currentHash, newHash) > 0) {
+                        userLookupCache.invalidate(null, user.getEmail());
+                        log.info("Password hash upgraded for email: {}", user.getEmail());
+                    }
+                }, blockingIoExecutor)
+                .exceptionally(ex -> {
+                    log.warn("Password rehash skipped for email: {}", user.getEmail(), ex);
+                    return null;
+                });
     }
 
     private String generateToken(UserEntity user) {
+        // Logo depois de uma troca de senha a marca d'água está no segundo seguinte: o iat a acompanha para que o
+        // token novo não nasça revogado
         Instant now = Instant.now();
-        Instant expiration = now.plusSeconds(EXPIRATION_TIME);
-
-        JwtClaimsSet claims = JwtClaimsSet.builder()
-                .issuer("user-health-bff")
-                .subject(user.getEmail())
-                .claim("userId", user.getId())
-                .claim("email", user.getEmail())
-                .claim("nome", user.getNome())
-                .issuedAt(now)
-                .expiresAt(expiration)
-                .build();
-
-        return jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+        Instant issuedAt = tokenRevocationService.userWatermark(user.getId())
+                .filter(watermark -> watermark.isAfter(now))
+                .orElse(now);
+        Instant expiration = issuedAt.plusSeconds(EXPIRATION_TIME);
+
+        // iss, sub, userId, email, nome, jti, iat e exp, serializados direto da entidade
+        return tokenIssuer.issue(user, issuedAt, expiration);
     }
 }
@@ -1,9 +1,15 @@
 package com.fiap.user.health.bff.service.auth;
 
+import com.fiap.user.health.bff.dto.request.RefreshTokenRequestDto;
 import com.fiap.user.health.bff.dto.request.UserAuthRequestDto;
 import com.fiap.user.health.bff.dto.request.UserCredentialsRequestDto;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.concurrent.CompletableFuture;
 
 public interface AuthServiceInterface {
-    UserAuthRequestDto login(UserCredentialsRequestDto credentials);
-    void updatePassword(String email, String newPassword);
+    CompletableFuture<UserAuthRequestDto> login(UserCredentialsRequestDto credentials);
+    UserAuthRequestDto refresh(RefreshTokenRequestDto request);
+    CompletableFuture<Void> updatePassword(String email, String newPassword);
+    void logout(Jwt accessToken, RefreshTokenRequestDto request);
 }
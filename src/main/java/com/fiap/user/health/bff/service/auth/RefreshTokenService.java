@@ -0,0 +1,123 @@
+package com.fiap.user.health.bff.service.auth;
+
+import com.fiap.user.health.bff.persistence.entity.RefreshTokenEntity;
+import com.fiap.user.health.bff.persistence.repository.RefreshTokenRepository;
+import com.fiap.user.health.bff.security.Digests;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Refresh tokens opacos com rotação de uso único. Cada renovação custa uma busca pelo hash do token e um update
+ * condicional; um token já usado que volta a ser apresentado indica vazamento e revoga a família inteira.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration ttl;
+    private final int purgeBatchSize;
+    private final Clock clock;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${auth.refresh.ttl:14d}") Duration ttl,
+                               @Value("${auth.refresh.purge-batch-size:500}") int purgeBatchSize) {
+        this(refreshTokenRepository, ttl, purgeBatchSize, Clock.systemUTC());
+    }
+
+    RefreshTokenService(RefreshTokenRepository refreshTokenRepository, Duration ttl, int purgeBatchSize, Clock clock) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.ttl = ttl;
+        this.purgeBatchSize = purgeBatchSize;
+        this.clock = clock;
+    }
+
+    public String issue(Long userId) {
+        return store(userId, UUID.randomUUID());
+    }
+
+    public Rotation rotate(String refreshToken) {
+        RefreshTokenEntity current = refreshTokenRepository.findByTokenHash(Digests.sha256(refreshToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        if (!current.getExpiresAt().isAfter(clock.instant())) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        if (refreshTokenRepository.markUsed(current.getId()) == 0) {
+            int revoked = refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            log.warn("Refresh token reuse detected for user id: {}, {} tokens revoked", current.getUserId(), revoked);
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+
+        return new Rotation(current.getUserId(), store(current.getUserId(), current.getFamilyId()));
+    }
+
+    public void revokeAll(Long userId) {
+        int revoked = refreshTokenRepository.deleteByUserId(userId);
+        log.info("Revoked {} refresh tokens for user id: {}", revoked, userId);
+    }
+
+    // Só apaga a família se o token pertence ao usuário autenticado; token desconhecido não é erro no logout
+    public void revokeFamily(String refreshToken, Long userId) {
+        refreshTokenRepository.findByTokenHash(Digests.sha256(refreshToken))
+                .filter(token -> token.getUserId().equals(userId))
+                .ifPresent(token -> {
+                    int revoked = refreshTokenRepository.deleteByFamilyId(token.getFamilyId());
+                    log.info("Revoked {} refresh tokens of one session for user id: {}", revoked, userId);
+                });
+    }
+
+    // Remove em lotes para não segurar lock nem transação longa sobre a tabela
+    @Scheduled(fixedDelayString = "${auth.refresh.purge-interval:5m}")
+    public void purgeExpired() {
+        Instant now = clock.instant();
+        int purged = 0;
+        List<Long> expiredIds;
+        do {
+            expiredIds = refreshTokenRepository.findExpiredIds(now, PageRequest.of(0, purgeBatchSize));
+            if (!expiredIds.isEmpty()) {
+                refreshTokenRepository.deleteAllByIdInBatch(expiredIds);
+                purged += expiredIds.size();
+            }
+        } while (expiredIds.size() == purgeBatchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private String store(Long userId, UUID familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = BASE64_URL.encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshTokenEntity.builder()
+                .tokenHash(Digests.sha256(token))
+                .userId(userId)
+                .familyId(familyId)
+                .expiresAt(clock.instant().plus(ttl))
+                .build());
+        return token;
+    }
+
+    public record Rotation(Long userId, String refreshToken) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.fiap.user.health.bff.service.io;
+
+import com.fiap.user.health.bff.exception.BlockingIoUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool das continuações bloqueantes (JDBC, assinatura de JWT) que seguem um hash de senha. O pool de hash fica só
+ * com encode/matches: uma thread de CPU presa esperando conexão do banco reduziria a vazão de logins.
+ * <p>
+ * A fila é limitada: nem toda tarefa passa antes pelo pool de hash (acertos no cache de verificação, PATCH sem
+ * senha), então a fila do {@code PasswordHashingExecutor} não serve de admissão. Com a fila cheia a tarefa é
+ * rejeitada com {@link BlockingIoUnavailableException}, que vira 503 + Retry-After. O tamanho padrão do pool
+ * acompanha o pool de conexões do Hikari.
+ */
+@Slf4j
+@Component
+public class BlockingIoExecutor implements Executor {
+
+    private static final String METRIC_PREFIX = "blocking.io";
+
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final Counter rejectedCounter;
+
+    public BlockingIoExecutor(MeterRegistry meterRegistry,
+                              @Value("${blocking-io.pool-size:10}") int poolSize,
+                              @Value("${blocking-io.queue-capacity:100}") int queueCapacity,
+                              @Value("${blocking-io.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new IoThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Continuações rejeitadas por fila cheia")
+                .register(meterRegistry);
+
+        Gauge.builder(METRIC_PREFIX + ".queue.size", executor, e -> e.getQueue().size())
+                .description("Continuações aguardando uma thread de I/O")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+
+        log.info("Blocking I/O pool started with {} threads and queue capacity {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Com a fila cheia lança {@link BlockingIoUnavailableException}; o {@code CompletableFuture} dependente completa
+     * com ela como causa.
+     */
+    @Override
+    public void execute(Runnable command) {
+        try {
+            executor.execute(command);
+        } catch (RejectedExecutionException ex) {
+            rejectedCounter.increment();
+            log.warn("Blocking I/O queue is full, rejecting request");
+            throw new BlockingIoUnavailableException(retryAfterSeconds);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private static final class IoThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "blocking-io-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.fiap.user.health.bff.service.password;
+
+import lombok.Getter;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Argon2id que considera desatualizado o hash com memória, iterações ou paralelismo diferentes dos configurados. Com
+ * as iterações calibradas na inicialização, memória e iterações maiores continuam valendo, pelo mesmo motivo do
+ * {@link AdaptiveBCryptPasswordEncoder}: nós calibrados em hardwares diferentes não devem refazer o hash uns dos outros.
+ */
+@Getter
+public class AdaptiveArgon2PasswordEncoder extends Argon2PasswordEncoder {
+
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH = 32;
+    private static final Pattern ARGON2_PARAMS =
+            Pattern.compile("\\A\\$argon2(?:id|i|d)\\$v=\\d+\\$m=(\\d+),t=(\\d+),p=(\\d+)\\$");
+
+    private final int memoryKib;
+    private final int iterations;
+    private final int parallelism;
+    private final boolean calibrated;
+
+    public AdaptiveArgon2PasswordEncoder(int memoryKib, int iterations, int parallelism) {
+        this(memoryKib, iterations, parallelism, false);
+    }
+
+    public AdaptiveArgon2PasswordEncoder(int memoryKib, int iterations, int parallelism, boolean calibrated) {
+        super(SALT_LENGTH, HASH_LENGTH, parallelism, memoryKib, iterations);
+        this.memoryKib = memoryKib;
+        this.iterations = iterations;
+        this.parallelism = parallelism;
+        this.calibrated = calibrated;
+    }
+
+    @Override
+    protected boolean upgradeEncodingNonNull(String encodedPassword) {
+        Matcher matcher = ARGON2_PARAMS.matcher(encodedPassword);
+        if (!matcher.find()) {
+            return false;
+        }
+        int storedMemory = Integer.parseInt(matcher.group(1));
+        int storedIterations = Integer.parseInt(matcher.group(2));
+        if (Integer.parseInt(matcher.group(3)) != parallelism) {
+            return true;
+        }
+        return calibrated
+                ? storedMemory < memoryKib || storedIterations < iterations
+                : storedMemory != memoryKib || storedIterations != iterations;
+    }
+}
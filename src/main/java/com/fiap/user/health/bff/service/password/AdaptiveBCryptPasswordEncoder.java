@@ -0,0 +1,41 @@
+package com.fiap.user.health.bff.service.password;
+
+import lombok.Getter;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt que considera desatualizado o hash com custo diferente do configurado, para subir ou baixar o custo. Com o
+ * custo calibrado na inicialização, só o custo menor é refeito: instâncias calibradas em hardwares diferentes
+ * regravariam o mesmo hash alternadamente a cada login.
+ */
+@Getter
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+    private final boolean calibrated;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        this(strength, false);
+    }
+
+    public AdaptiveBCryptPasswordEncoder(int strength, boolean calibrated) {
+        super(strength);
+        this.strength = strength;
+        this.calibrated = calibrated;
+    }
+
+    @Override
+    protected boolean upgradeEncodingNonNull(String encodedPassword) {
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        if (!matcher.find()) {
+            return false;
+        }
+        int cost = Integer.parseInt(matcher.group(1));
+        return calibrated ? cost < strength : cost != strength;
+    }
+}
@@ -0,0 +1,119 @@
+package com.fiap.user.health.bff.service.password;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache opcional, por nó, de credenciais verificadas há pouco: um login repetido com a mesma senha dentro do TTL
+ * não passa pelo BCrypt. Guarda por email apenas um HMAC de (email, senha, hash gravado) sob uma chave aleatória
+ * que só existe em memória; a senha nunca é armazenada e uma troca de hash invalida a entrada por construção.
+ * Só verificações bem-sucedidas entram no cache.
+ */
+@Slf4j
+@Component
+public class CredentialVerificationCache {
+
+    private static final String CACHE_NAME = "credential.verification";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final Cache<String, byte[]> cache;
+    private final SecretKeySpec hmacKey;
+    private final MeterRegistry meterRegistry;
+    private final Counter cpuSaved;
+    private volatile Timer matchesTimer;
+
+    public CredentialVerificationCache(MeterRegistry meterRegistry,
+                                       @Value("${password.verification-cache.enabled:false}") boolean enabled,
+                                       @Value("${password.verification-cache.ttl:60s}") Duration ttl,
+                                       @Value("${password.verification-cache.maximum-size:10000}") long maximumSize) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.hmacKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+        this.meterRegistry = meterRegistry;
+
+        // Tempo de CPU economizado: cada acerto soma a duração média do matches real naquele momento. Acumular no
+        // acerto mantém o contador monotônico mesmo quando a média cai depois (troca de custo, máquina mais rápida).
+        this.cpuSaved = Counter.builder(CACHE_NAME + ".cpu.saved")
+                .description("Tempo estimado de hash de senha evitado por acertos no cache")
+                .baseUnit("seconds")
+                .register(enabled ? meterRegistry : new SimpleMeterRegistry());
+
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+            log.info("Credential verification cache enabled with ttl {}", ttl);
+        }
+    }
+
+    public boolean isVerified(String email, CharSequence rawPassword, String encodedPassword) {
+        if (!enabled) {
+            return false;
+        }
+        byte[] verified = cache.getIfPresent(email);
+        if (verified != null && MessageDigest.isEqual(verified, digest(email, rawPassword, encodedPassword))) {
+            cpuSaved.increment(averageMatchesSeconds());
+            return true;
+        }
+        return false;
+    }
+
+    public void markVerified(String email, CharSequence rawPassword, String encodedPassword) {
+        if (enabled) {
+            cache.put(email, digest(email, rawPassword, encodedPassword));
+        }
+    }
+
+    public void invalidate(String email) {
+        if (enabled && email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    private byte[] digest(String email, CharSequence rawPassword, String encodedPassword) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hmacKey);
+            mac.update(email.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            mac.update(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(encodedPassword.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 not available", ex);
+        }
+    }
+
+    // O timer é registrado pelo PasswordHashingExecutor; guardado na primeira vez que é encontrado
+    private double averageMatchesSeconds() {
+        Timer matches = matchesTimer;
+        if (matches == null) {
+            matches = meterRegistry.find("password.hashing.duration").tag("operation", "matches").timer();
+            matchesTimer = matches;
+        }
+        return matches != null ? matches.mean(TimeUnit.SECONDS) : 0;
+    }
+}
@@ -0,0 +1,56 @@
+package com.fiap.user.health.bff.service.password;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.function.IntFunction;
+
+/**
+ * Escolhe, na inicialização, o maior custo cujo tempo de hash neste hardware fica dentro do alvo configurado.
+ */
+@Slf4j
+public final class PasswordHashCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-Sample#2024";
+    private static final int SAMPLES = 2;
+
+    private PasswordHashCalibrator() {
+    }
+
+    /**
+     * Mede o hash a partir de {@code minCost}, subindo o custo enquanto couber no alvo.
+     * Nunca retorna menos que {@code minCost}, mesmo que o hardware não atinja o alvo.
+     */
+    public static int calibrate(String algorithm, IntFunction<PasswordEncoder> encoderForCost,
+                                int minCost, int maxCost, Duration target) {
+
+        // Aquecimento: a primeira execução inclui carga de classes e JIT
+        encoderForCost.apply(minCost).encode(SAMPLE_PASSWORD);
+
+        int chosen = minCost;
+        long chosenNanos = measure(encoderForCost.apply(minCost));
+        for (int cost = minCost + 1; cost <= maxCost && chosenNanos <= target.toNanos(); cost++) {
+            long nanos = measure(encoderForCost.apply(cost));
+            if (nanos > target.toNanos()) {
+                break;
+            }
+            chosen = cost;
+            chosenNanos = nanos;
+        }
+
+        log.info("Password hashing calibrated: {} cost {} takes {} ms (target {} ms)",
+                algorithm, chosen, Duration.ofNanos(chosenNanos).toMillis(), target.toMillis());
+        return chosen;
+    }
+
+    private static long measure(PasswordEncoder encoder) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,167 @@
+package com.fiap.user.health.bff.service.password;
+
+import com.fiap.user.health.bff.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executa o hash de senhas (CPU-bound) em um pool dedicado e limitado, fora das threads do Tomcat.
+ * Com a fila cheia a tarefa é rejeitada na hora, em vez de acumular latência.
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor {
+
+    private static final String METRIC_PREFIX = "password.hashing";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final long retryAfterSeconds;
+
+    private final Timer queueWaitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingExecutor(PasswordEncoder passwordEncoder,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${password.hashing.pool-size:0}") int poolSize,
+                                   @Value("${password.hashing.queue-capacity:100}") int queueCapacity,
+                                   @Value("${password.hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        this.threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.queueWaitTimer = Timer.builder(METRIC_PREFIX + ".queue.wait")
+                .description("Tempo de espera na fila antes do hash começar")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder(METRIC_PREFIX + ".duration")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder(METRIC_PREFIX + ".duration")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Tarefas de hash rejeitadas por fila cheia")
+                .register(meterRegistry);
+
+        Gauge.builder(METRIC_PREFIX + ".queue.size", executor, e -> e.getQueue().size())
+                .description("Tarefas de hash aguardando na fila")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue.remaining", executor, e -> e.getQueue().remainingCapacity())
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+
+        log.info("Password hashing pool started with {} threads and queue capacity {}", threads, queueCapacity);
+    }
+
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Hash de um lote de senhas com no máximo uma tarefa por thread do pool na fila: a lista é dividida em faixas
+     * processadas em paralelo, cada uma em sequência. Um lote grande não ocupa a fila das requisições interativas.
+     */
+    public CompletableFuture<List<String>> encodeAll(List<? extends CharSequence> rawPasswords) {
+        return encodeAll(rawPasswords, threads);
+    }
+
+    /**
+     * Igual a {@link #encodeAll(List)}, com no máximo {@code maxLanes} tarefas na fila: trabalhos em segundo plano
+     * usam menos faixas e deixam threads livres para as requisições.
+     */
+    public CompletableFuture<List<String>> encodeAll(List<? extends CharSequence> rawPasswords, int maxLanes) {
+        String[] encoded = new String[rawPasswords.size()];
+        int lanes = Math.min(Math.min(threads, Math.max(maxLanes, 1)), rawPasswords.size());
+        CompletableFuture<?>[] chains = new CompletableFuture<?>[lanes];
+        for (int lane = 0; lane < lanes; lane++) {
+            CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+            for (int i = lane; i < rawPasswords.size(); i += lanes) {
+                int index = i;
+                chain = chain.thenCompose(ignored -> encode(rawPasswords.get(index)))
+                        .thenAccept(hash -> encoded[index] = hash);
+            }
+            chains[lane] = chain;
+        }
+        return CompletableFuture.allOf(chains).thenApply(ignored -> Arrays.asList(encoded));
+    }
+
+    public int poolSize() {
+        return threads;
+    }
+
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Verificação barata, sem calcular hash: indica se o hash gravado usa outro algoritmo ou custo menor que o atual.
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> CompletableFuture<T> submit(Timer durationTimer, Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long enqueuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    future.complete(durationTimer.record(task));
+                } catch (Throwable ex) {
+                    future.completeExceptionally(ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejectedCounter.increment();
+            log.warn("Password hashing queue is full, rejecting request");
+            future.completeExceptionally(new PasswordHashingUnavailableException(retryAfterSeconds));
+        }
+        return future;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.fiap.user.health.bff.service.user;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV (RFC 4180) registro a registro: separador vírgula, campos entre aspas com {@code ""} como escape e
+ * quebras de linha dentro das aspas. Linhas em branco são ignoradas. Cada registro é limitado a
+ * {@link #MAX_RECORD_CHARS}, então um arquivo malformado (aspas sem fechamento) não é carregado inteiro na memória.
+ */
+final class CsvRecordReader implements Closeable {
+
+    static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final char BOM = '\uFEFF';
+
+    private final BufferedReader reader;
+
+    CsvRecordReader(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        // Planilhas exportadas em UTF-8 costumam começar com BOM
+        this.reader.mark(1);
+        if (this.reader.read() != BOM) {
+            this.reader.reset();
+        }
+    }
+
+    /**
+     * @return os campos do próximo registro, ou {@code null} no fim do arquivo
+     */
+    List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (++length > MAX_RECORD_CHARS) {
+                throw new IOException("CSV record exceeds " + MAX_RECORD_CHARS + " characters");
+            }
+            char ch = (char) c;
+            if (quoted) {
+                if (ch != QUOTE) {
+                    field.append(ch);
+                } else if (peek() == QUOTE) {
+                    reader.read();
+                    field.append(QUOTE);
+                } else {
+                    quoted = false;
+                }
+            } else if (ch == QUOTE && field.isEmpty()) {
+                quoted = true;
+            } else if (ch == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\r' || ch == '\n') {
+                if (ch == '\r' && peek() == '\n') {
+                    reader.read();
+                }
+                if (fields.isEmpty() && field.isEmpty()) {
+                    length = 0;
+                    continue;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append(ch);
+            }
+        }
+        if (quoted) {
+            throw new IOException("CSV quoted field is not closed");
+        }
+        if (fields.isEmpty() && field.isEmpty()) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int peek() throws IOException {
+        reader.mark(1);
+        int c = reader.read();
+        reader.reset();
+        return c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
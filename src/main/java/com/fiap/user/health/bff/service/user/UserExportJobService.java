@@ -0,0 +1,268 @@
+package com.fiap.user.health.bff.service.user;
+
+import com.fiap.user.health.bff.dto.response.UserExportResponseDto;
+import com.fiap.user.health.bff.exception.ExportFileOnOtherNodeException;
+import com.fiap.user.health.bff.exception.ExportJobNotFoundException;
+import com.fiap.user.health.bff.exception.ExportJobsSaturatedException;
+import com.fiap.user.health.bff.exception.ExportNotReadyException;
+import com.fiap.user.health.bff.persistence.entity.UserExportJobEntity;
+import com.fiap.user.health.bff.persistence.repository.UserExportJobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportação completa de usuários em segundo plano, para consumidores batch: o {@link UserExportService} lê o cursor
+ * JDBC e grava NDJSON ou CSV comprimido com gzip em {@code users.export.jobs.directory}, em blocos de
+ * {@link #CHUNK_SIZE}. Nenhuma thread do Tomcat fica presa durante a leitura; o download do arquivo pronto aceita
+ * {@code Range} para ser retomado.
+ * <p>
+ * No máximo {@code concurrency} exportações leem o banco ao mesmo tempo e {@code queue-capacity} aguardam; acima
+ * disso o pedido é recusado com 503. Os arquivos ficam no disco local da instância e são removidos após
+ * {@code retention}.
+ * <p>
+ * Cada job guarda a instância dona ({@code node-id}): o download pedido a outra instância recebe 409 com o nome da
+ * dona, em vez de um "arquivo não encontrado". A dona renova o heartbeat dos seus jobs pendentes a cada
+ * {@code heartbeat-interval}; job QUEUED ou RUNNING sem heartbeat há {@code stale-after} (instância que caiu) vira
+ * FAILED em qualquer instância, e o cliente pode pedir uma nova exportação.
+ */
+@Slf4j
+@Service
+public class UserExportJobService {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final String STALE_ERROR = "Export interrupted: the instance running it stopped responding";
+
+    private final UserExportJobRepository jobRepository;
+    private final UserExportService userExportService;
+    private final ThreadPoolExecutor executor;
+    private final Path directory;
+    private final Duration retention;
+    private final long retryAfterSeconds;
+    private final Duration staleAfter;
+    private final String nodeId;
+
+    // Jobs na fila ou em execução nesta instância: só eles recebem heartbeat
+    private final Set<UUID> localJobs = ConcurrentHashMap.newKeySet();
+
+    public UserExportJobService(UserExportJobRepository jobRepository,
+                                UserExportService userExportService,
+                                @Value("${users.export.jobs.directory:${java.io.tmpdir}/user-exports}") Path directory,
+                                @Value("${users.export.jobs.concurrency:1}") int concurrency,
+                                @Value("${users.export.jobs.queue-capacity:4}") int queueCapacity,
+                                @Value("${users.export.jobs.retention:24h}") Duration retention,
+                                @Value("${users.export.jobs.retry-after-seconds:60}") long retryAfterSeconds,
+                                @Value("${users.export.jobs.stale-after:2m}") Duration staleAfter,
+                                @Value("${users.export.jobs.node-id:}") String nodeId) {
+        this.jobRepository = jobRepository;
+        this.userExportService = userExportService;
+        this.directory = directory;
+        this.retention = retention;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.staleAfter = staleAfter;
+        this.nodeId = nodeId.isBlank() ? localHostName() : nodeId;
+        this.executor = new ThreadPoolExecutor(
+                concurrency, concurrency,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new ExportThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public UserExportResponseDto start(UserExportJobEntity.Format format) throws IOException {
+        Files.createDirectories(directory);
+        UUID id = UUID.randomUUID();
+        String fileName = "users-" + id + "." + format.name().toLowerCase(Locale.ROOT) + ".gz";
+        Instant now = Instant.now();
+        UserExportJobEntity job = jobRepository.save(UserExportJobEntity.builder()
+                .id(id)
+                .status(UserExportJobEntity.Status.QUEUED)
+                .format(format)
+                .nodeId(nodeId)
+                .filePath(directory.resolve(fileName).toString())
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+
+        localJobs.add(id);
+        try {
+            executor.execute(() -> run(id));
+        } catch (RejectedExecutionException ex) {
+            localJobs.remove(id);
+            jobRepository.deleteById(id);
+            log.warn("Export job queue is full, rejecting request");
+            throw new ExportJobsSaturatedException(retryAfterSeconds);
+        }
+        log.info("User export job {} queued as {}", id, format);
+        return toResponse(job);
+    }
+
+    public Optional<UserExportResponseDto> getJob(UUID id) {
+        return jobRepository.findById(id).map(UserExportJobService::toResponse);
+    }
+
+    /**
+     * @return o arquivo gzip de um job concluído
+     */
+    public Path getFile(UUID id) {
+        UserExportJobEntity job = jobRepository.findById(id)
+                .orElseThrow(() -> new ExportJobNotFoundException(id));
+        if (job.getStatus() == UserExportJobEntity.Status.COMPLETED && !isLocal(job)) {
+            throw new ExportFileOnOtherNodeException(id, job.getNodeId());
+        }
+        Path file = Path.of(job.getFilePath());
+        if (job.getStatus() != UserExportJobEntity.Status.COMPLETED || !Files.isRegularFile(file)) {
+            throw new ExportNotReadyException(id, job.getStatus().name());
+        }
+        return file;
+    }
+
+    private void run(UUID id) {
+        try {
+            export(id);
+        } finally {
+            localJobs.remove(id);
+        }
+    }
+
+    private void export(UUID id) {
+        UserExportJobEntity job = jobRepository.findById(id).orElse(null);
+        if (job == null) {
+            return;
+        }
+        job.setStatus(UserExportJobEntity.Status.RUNNING);
+        job.setUpdatedAt(Instant.now());
+        job = jobRepository.save(job);
+
+        Path file = Path.of(job.getFilePath());
+        Path partial = file.resolveSibling(file.getFileName() + ".part");
+        try {
+            long rows;
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(partial), CHUNK_SIZE)) {
+                rows = job.getFormat() == UserExportJobEntity.Format.CSV
+                        ? userExportService.writeCsv(out)
+                        : userExportService.writeNdjson(out);
+            }
+            // O arquivo só aparece com o nome final depois de completo
+            Files.move(partial, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            job.setStatus(UserExportJobEntity.Status.COMPLETED);
+            job.setRowCount(rows);
+            job.setSizeBytes(Files.size(file));
+            job.setCompletedAt(Instant.now());
+            job.setUpdatedAt(job.getCompletedAt());
+            jobRepository.save(job);
+            log.info("User export job {} completed with {} rows ({} bytes)", id, rows, job.getSizeBytes());
+        } catch (Exception ex) {
+            log.error("User export job {} failed", id, ex);
+            deleteQuietly(partial);
+            job.setStatus(UserExportJobEntity.Status.FAILED);
+            job.setErrorMessage(truncate(ex.getMessage()));
+            job.setCompletedAt(Instant.now());
+            job.setUpdatedAt(job.getCompletedAt());
+            jobRepository.save(job);
+        }
+    }
+
+    // Heartbeat dos jobs desta instância e, na mesma rotina, falha dos jobs cujas donas pararam de renová-lo
+    @Scheduled(fixedDelayString = "${users.export.jobs.heartbeat-interval:30s}")
+    public void heartbeat() {
+        Instant now = Instant.now();
+        if (!localJobs.isEmpty()) {
+            jobRepository.touch(Set.copyOf(localJobs), now);
+        }
+        int failed = jobRepository.failStale(now.minus(staleAfter), STALE_ERROR, now);
+        if (failed > 0) {
+            log.warn("Marked {} stale user export jobs as failed", failed);
+        }
+    }
+
+    // Cada instância apaga os próprios arquivos; o registro de uma instância que não voltou sai depois de mais um
+    // período de retenção, já sem arquivo a remover
+    @Scheduled(fixedDelayString = "${users.export.jobs.cleanup-interval:1h}")
+    public void purgeExpired() {
+        Instant expiredBefore = Instant.now().minus(retention);
+        for (UserExportJobEntity job : jobRepository.findByCreatedAtBefore(expiredBefore)) {
+            if (isLocal(job)) {
+                Path file = Path.of(job.getFilePath());
+                deleteQuietly(file);
+                deleteQuietly(file.resolveSibling(file.getFileName() + ".part"));
+            } else if (!job.getCreatedAt().isBefore(expiredBefore.minus(retention))) {
+                continue;
+            }
+            jobRepository.delete(job);
+            log.debug("Removed expired user export job {}", job.getId());
+        }
+    }
+
+    // Jobs anteriores ao registro da instância dona são tratados como locais, como antes
+    private boolean isLocal(UserExportJobEntity job) {
+        return job.getNodeId() == null || nodeId.equals(job.getNodeId());
+    }
+
+    private static String localHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            return "localhost";
+        }
+    }
+
+    private static UserExportResponseDto toResponse(UserExportJobEntity job) {
+        return new UserExportResponseDto(job.getId(), job.getStatus().name(), job.getFormat().name(),
+                job.getNodeId(), job.getRowCount(), job.getSizeBytes(), job.getErrorMessage(), job.getCreatedAt(), job.getCompletedAt());
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete export file {}", file, ex);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class ExportThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "user-export-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
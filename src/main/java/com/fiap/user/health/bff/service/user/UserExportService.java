@@ -0,0 +1,145 @@
+package com.fiap.user.health.bff.service.user;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Exportação de todos os usuários em NDJSON (um objeto por linha) ou CSV sem materializar a tabela: as linhas vêm
+ * de um cursor JDBC, {@code fetch-size} por vez, e cada uma é escrita direto na saída. A saída é enviada a cada
+ * lote, então o primeiro byte sai assim que o primeiro lote é lido.
+ * <p>
+ * A conexão fica reservada durante toda a exportação; o PostgreSQL só usa cursor com autocommit desligado, por
+ * isso a leitura roda em uma transação somente leitura.
+ */
+@Slf4j
+@Service
+public class UserExportService {
+
+    // O stream da resposta é fechado pelo Spring, não pelo gerador
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+    private static final String QUERY = "select id, nome, email, login from usuarios order by id";
+    private static final String CSV_HEADER = "id,nome,email,login\n";
+    private static final List<String> CSV_COLUMNS = List.of("nome", "email", "login");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int fetchSize;
+
+    public UserExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                             @Value("${users.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    public long writeNdjson(OutputStream out) throws IOException {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            long exported = query(rs -> writeUser(generator, rs), generator);
+            if (exported > 0) {
+                generator.writeRaw('\n');
+            }
+            log.debug("Exported {} users as NDJSON", exported);
+            return exported;
+        }
+    }
+
+    // Cabeçalho id,nome,email,login; campos com vírgula, aspas ou quebra de linha vão entre aspas (RFC 4180)
+    public long writeCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        long exported = query(rs -> writeCsvRow(writer, rs), writer);
+        writer.flush();
+        log.debug("Exported {} users as CSV", exported);
+        return exported;
+    }
+
+    private long query(RowWriter rowWriter, Flushable output) throws IOException {
+        try {
+            return transactionTemplate.execute(status -> {
+                long[] count = {0};
+                jdbcTemplate.query(QUERY, (ResultSet rs) -> {
+                    try {
+                        rowWriter.write(rs);
+                        if (++count[0] % fetchSize == 0) {
+                            output.flush();
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                return count[0];
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    // Mesmos campos do UserResponseDto, omitindo nulos
+    private static void writeUser(JsonGenerator generator, ResultSet rs) throws SQLException, IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", rs.getLong("id"));
+        writeStringField(generator, "nome", rs.getString("nome"));
+        writeStringField(generator, "email", rs.getString("email"));
+        writeStringField(generator, "login", rs.getString("login"));
+        generator.writeEndObject();
+    }
+
+    private static void writeCsvRow(Writer writer, ResultSet rs) throws SQLException, IOException {
+        writer.write(Long.toString(rs.getLong("id")));
+        for (String column : CSV_COLUMNS) {
+            writer.write(',');
+            writeCsvField(writer, rs.getString(column));
+        }
+        writer.write('\n');
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static void writeStringField(JsonGenerator generator, String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+    }
+}
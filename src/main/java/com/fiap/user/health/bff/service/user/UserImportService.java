@@ -0,0 +1,419 @@
+package com.fiap.user.health.bff.service.user;
+
+import com.fiap.user.health.bff.dto.request.UserRequestDto;
+import com.fiap.user.health.bff.dto.response.UserImportResponseDto;
+import com.fiap.user.health.bff.exception.InvalidImportFileException;
+import com.fiap.user.health.bff.exception.PasswordHashingUnavailableException;
+import com.fiap.user.health.bff.persistence.entity.UserEntity;
+import com.fiap.user.health.bff.persistence.entity.UserImportJobEntity;
+import com.fiap.user.health.bff.persistence.repository.UserImportJobRepository;
+import com.fiap.user.health.bff.persistence.repository.UserRepository;
+import com.fiap.user.health.bff.service.password.PasswordHashingExecutor;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Importação de usuários a partir de CSV ({@code nome,email,login,senha}) em segundo plano. O upload é copiado para
+ * {@code users.import.directory} e lido em streaming, {@code batch-size} linhas por vez: validação, hash das senhas
+ * e insert em lote acontecem lote a lote, então a memória usada não depende do tamanho do arquivo e a leitura só
+ * avança quando o lote anterior foi gravado.
+ * <p>
+ * Os inserts e o progresso do job são gravados na mesma transação; depois de um restart o job sem progresso há
+ * {@code stale-after} é retomado e pula as linhas já gravadas. O arquivo fica no disco de quem recebeu o upload, então
+ * só a instância que enxerga o arquivo retoma o job: com {@code users.import.directory} em um volume compartilhado,
+ * qualquer instância assume o job de outra que caiu.
+ * <p>
+ * Para não competir com as requisições, o job usa no máximo {@code hashing-lanes} threads do pool de hash, cede a
+ * vez quando a fila está cheia e ocupa uma única conexão do banco por vez.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    private static final List<String> COLUMNS = List.of("nome", "email", "login", "senha");
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final UserImportJobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Path directory;
+    private final int batchSize;
+    private final int hashingLanes;
+    private final Duration staleAfter;
+    // Jobs na fila ou em execução nesta instância: a retomada não os enfileira de novo
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    public UserImportService(UserImportJobRepository jobRepository,
+                             UserRepository userRepository,
+                             PasswordHashingExecutor passwordHashingExecutor,
+                             Validator validator,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${users.import.directory:${java.io.tmpdir}/user-imports}") Path directory,
+                             @Value("${users.import.concurrency:1}") int concurrency,
+                             @Value("${users.import.batch-size:500}") int batchSize,
+                             @Value("${users.import.hashing-lanes:0}") int hashingLanes,
+                             @Value("${users.import.stale-after:2m}") Duration staleAfter) {
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.directory = directory;
+        this.batchSize = batchSize;
+        this.hashingLanes = hashingLanes > 0 ? hashingLanes : Math.max(1, passwordHashingExecutor.poolSize() / 2);
+        this.staleAfter = staleAfter;
+        this.executor = new ThreadPoolExecutor(
+                concurrency, concurrency,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new ImportThreadFactory());
+    }
+
+    public UserImportResponseDto start(MultipartFile file) throws IOException {
+        UUID id = UUID.randomUUID();
+        Files.createDirectories(directory);
+        Path target = directory.resolve(id + ".csv");
+        file.transferTo(target);
+
+        // Cabeçalho conferido antes de aceitar o job: arquivo errado volta 400 na hora
+        try (CsvRecordReader csv = open(target)) {
+            columnIndexes(csv.next());
+        } catch (InvalidImportFileException | IOException ex) {
+            Files.deleteIfExists(target);
+            throw ex instanceof InvalidImportFileException invalid ? invalid
+                    : new InvalidImportFileException("Unreadable CSV file: " + ex.getMessage());
+        }
+
+        Instant now = Instant.now();
+        UserImportJobEntity job = jobRepository.save(UserImportJobEntity.builder()
+                .id(id)
+                .status(UserImportJobEntity.Status.QUEUED)
+                .filePath(target.toString())
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        log.info("User import job {} queued ({} bytes)", id, file.getSize());
+        submit(job);
+        return toResponse(job);
+    }
+
+    public Optional<UserImportResponseDto> getJob(UUID id) {
+        return jobRepository.findById(id).map(UserImportService::toResponse);
+    }
+
+    @Scheduled(fixedDelayString = "${users.import.resume-interval:1m}")
+    public void resumeStaleJobs() {
+        List<UserImportJobEntity> stale = jobRepository.findStale(Instant.now().minus(staleAfter));
+        for (UserImportJobEntity job : stale) {
+            if (inFlight.contains(job.getId())) {
+                continue;
+            }
+            if (!Files.isRegularFile(Path.of(job.getFilePath()))) {
+                log.debug("User import job {} is stale but its file is not on this instance", job.getId());
+                continue;
+            }
+            log.info("Resuming user import job {} from row {}", job.getId(), job.getProcessedRows());
+            submit(job);
+        }
+    }
+
+    private void submit(UserImportJobEntity job) {
+        UUID id = job.getId();
+        long heartbeat = job.getHeartbeat();
+        if (!inFlight.add(id)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    run(id, heartbeat);
+                } finally {
+                    inFlight.remove(id);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(id);
+            throw ex;
+        }
+    }
+
+    private void run(UUID id, long seenHeartbeat) {
+        if (jobRepository.claim(id, seenHeartbeat, Instant.now()) == 0) {
+            log.debug("User import job {} already claimed elsewhere", id);
+            return;
+        }
+        UserImportJobEntity job = jobRepository.findById(id).orElseThrow();
+        JobProgress progress = new JobProgress(id, job.getHeartbeat(), job.getProcessedRows());
+        Path file = Path.of(job.getFilePath());
+
+        try (CsvRecordReader csv = open(file)) {
+            int[] columns = columnIndexes(csv.next());
+            // Retomada: pula as linhas já gravadas antes da interrupção
+            long skipped = 0;
+            while (skipped < progress.processedRows && csv.next() != null) {
+                skipped++;
+            }
+
+            List<List<String>> rows;
+            while (!(rows = readBatch(csv)).isEmpty()) {
+                importBatch(progress, columns, rows);
+            }
+            finish(progress, UserImportJobEntity.Status.COMPLETED, null);
+            log.info("User import job {} completed after {} rows", id, progress.processedRows);
+            Files.deleteIfExists(file);
+        } catch (InterruptedException ex) {
+            // Desligamento: o job continua RUNNING e é retomado depois do stale-after
+            Thread.currentThread().interrupt();
+            log.info("User import job {} interrupted at row {}", id, progress.processedRows);
+        } catch (LostClaimException ex) {
+            log.warn("User import job {} was taken over by another instance", id);
+        } catch (Exception ex) {
+            log.error("User import job {} failed at row {}", id, progress.processedRows, ex);
+            finish(progress, UserImportJobEntity.Status.FAILED, truncate(ex.getMessage()));
+            deleteQuietly(file);
+        }
+    }
+
+    private List<List<String>> readBatch(CsvRecordReader csv) throws IOException {
+        List<List<String>> rows = new ArrayList<>(batchSize);
+        List<String> row;
+        while (rows.size() < batchSize && (row = csv.next()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private void importBatch(JobProgress progress, int[] columns, List<List<String>> rows) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        // Validação: linhas inválidas e emails repetidos no próprio arquivo não chegam ao hash
+        List<UserRequestDto> accepted = new ArrayList<>(rows.size());
+        Set<String> emails = new HashSet<>();
+        int invalid = 0;
+        int conflicts = 0;
+        for (List<String> row : rows) {
+            UserRequestDto user = toRequest(row, columns);
+            if (user == null || !validator.validate(user).isEmpty()) {
+                invalid++;
+            } else if (!emails.add(user.email())) {
+                conflicts++;
+            } else {
+                accepted.add(user);
+            }
+        }
+        if (!accepted.isEmpty()) {
+            Set<String> existing = userRepository.findExistingEmails(emails);
+            int before = accepted.size();
+            accepted.removeIf(user -> existing.contains(user.email()));
+            conflicts += before - accepted.size();
+        }
+
+        List<String> encodedPasswords = encodeAll(accepted);
+        long processedRows = progress.processedRows + rows.size();
+        int imported;
+        try {
+            int invalidRows = invalid;
+            int conflictRows = conflicts;
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAllAndFlush(toEntities(accepted, encodedPasswords));
+                record(progress, processedRows, accepted.size(), conflictRows, invalidRows);
+            });
+            progress.advance(processedRows);
+            imported = accepted.size();
+        } catch (DataIntegrityViolationException ex) {
+            if (!UserServiceImpl.isEmailConstraintViolation(ex)) {
+                throw ex;
+            }
+            // Email cadastrado por uma requisição depois da consulta: o lote foi desfeito, grava item a item.
+            // Se o processo cair antes do progresso, a retomada conta esses itens como conflito (sem duplicar)
+            log.warn("Email registered concurrently during import job {}, falling back to single inserts", progress.id);
+            imported = 0;
+            for (UserEntity entity : toEntities(accepted, encodedPasswords)) {
+                try {
+                    userRepository.save(entity);
+                    imported++;
+                } catch (DataIntegrityViolationException single) {
+                    if (!UserServiceImpl.isEmailConstraintViolation(single)) {
+                        throw single;
+                    }
+                    conflicts++;
+                }
+            }
+            int importedRows = imported;
+            int conflictRows = conflicts;
+            int invalidRows = invalid;
+            transactionTemplate.executeWithoutResult(status ->
+                    record(progress, processedRows, importedRows, conflictRows, invalidRows));
+            progress.advance(processedRows);
+        }
+        log.debug("User import job {}: {} rows processed, batch with {} imported, {} conflicts, {} invalid",
+                progress.id, processedRows, imported, conflicts, invalid);
+    }
+
+    // Cede a vez às requisições: com a fila de hash cheia espera o Retry-After e refaz o lote
+    private List<String> encodeAll(List<UserRequestDto> users) throws InterruptedException {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        List<String> passwords = users.stream().map(UserRequestDto::senha).toList();
+        while (true) {
+            try {
+                return passwordHashingExecutor.encodeAll(passwords, hashingLanes).get();
+            } catch (ExecutionException ex) {
+                if (!(ex.getCause() instanceof PasswordHashingUnavailableException unavailable)) {
+                    throw new IllegalStateException("Password hashing failed", ex.getCause());
+                }
+                log.debug("Password hashing saturated, import waiting {}s", unavailable.getRetryAfterSeconds());
+                TimeUnit.SECONDS.sleep(Math.max(unavailable.getRetryAfterSeconds(), 1));
+            }
+        }
+    }
+
+    private void record(JobProgress progress, long processedRows, int imported, int conflicts, int invalid) {
+        if (jobRepository.recordBatch(progress.id, progress.heartbeat, processedRows,
+                imported, conflicts, invalid, Instant.now()) == 0) {
+            throw new LostClaimException();
+        }
+    }
+
+    private void finish(JobProgress progress, UserImportJobEntity.Status status, String error) {
+        jobRepository.finish(progress.id, progress.heartbeat, status, error, Instant.now());
+    }
+
+    private static List<UserEntity> toEntities(List<UserRequestDto> users, List<String> encodedPasswords) {
+        List<UserEntity> entities = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            UserRequestDto user = users.get(i);
+            entities.add(UserEntity.builder()
+                    .nome(user.nome())
+                    .email(user.email())
+                    .login(user.login())
+                    .senha(encodedPasswords.get(i))
+                    .build());
+        }
+        return entities;
+    }
+
+    private static UserRequestDto toRequest(List<String> row, int[] columns) {
+        for (int column : columns) {
+            if (column >= row.size()) {
+                return null;
+            }
+        }
+        return new UserRequestDto(row.get(columns[0]).trim(), row.get(columns[1]).trim(),
+                row.get(columns[2]).trim(), row.get(columns[3]));
+    }
+
+    // Posição de cada coluna esperada no cabeçalho, em qualquer ordem
+    private static int[] columnIndexes(List<String> header) {
+        if (header == null) {
+            throw new InvalidImportFileException("CSV file is empty");
+        }
+        List<String> names = header.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+        int[] indexes = new int[COLUMNS.size()];
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            indexes[i] = names.indexOf(COLUMNS.get(i));
+            if (indexes[i] < 0) {
+                throw new InvalidImportFileException("CSV header must contain the columns " + String.join(",", COLUMNS));
+            }
+        }
+        return indexes;
+    }
+
+    private static CsvRecordReader open(Path file) throws IOException {
+        return new CsvRecordReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+    }
+
+    private static UserImportResponseDto toResponse(UserImportJobEntity job) {
+        return new UserImportResponseDto(job.getId(), job.getStatus().name(), job.getProcessedRows(),
+                job.getImportedRows(), job.getConflictRows(), job.getInvalidRows(), job.getErrorMessage(),
+                job.getCreatedAt(), job.getUpdatedAt());
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete import file {}", file, ex);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Estado do job em execução nesta instância; heartbeat é o valor esperado no banco para gravar o próximo lote
+    private static final class JobProgress {
+        private final UUID id;
+        private long heartbeat;
+        private long processedRows;
+
+        private JobProgress(UUID id, long heartbeat, long processedRows) {
+            this.id = id;
+            this.heartbeat = heartbeat;
+            this.processedRows = processedRows;
+        }
+
+        // Lote gravado: o recordBatch incrementou o heartbeat no banco
+        private void advance(long processedRows) {
+            this.heartbeat++;
+            this.processedRows = processedRows;
+        }
+    }
+
+    private static final class LostClaimException extends RuntimeException {
+        private LostClaimException() {
+            super("Import job claimed by another instance", null, false, false);
+        }
+    }
+
+    private static final class ImportThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "user-import-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
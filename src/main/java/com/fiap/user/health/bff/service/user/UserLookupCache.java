@@ -0,0 +1,136 @@
+package com.fiap.user.health.bff.service.user;
+
+import com.fiap.user.health.bff.dto.response.UserResponseDto;
+import com.fiap.user.health.bff.persistence.entity.UserEntity;
+import com.fiap.user.health.bff.security.revocation.UsersRevokedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Cache de leitura, por nó, das buscas de usuário: id → projeção pública (GET /api/users/{id} e leitura múltipla) e
+ * email → conta com hash de senha (login). Caffeine com tamanho máximo (despejo W-TinyLFU) e TTL; ausências não são
+ * guardadas. As escritas deste nó invalidam as entradas afetadas. Troca de credencial e exclusão feitas por outras
+ * instâncias chegam pela sincronização das revogações ({@link UsersRevokedEvent}); as demais alterações remotas
+ * (nome, login) só aparecem aqui depois do TTL, que por isso deve ficar curto.
+ * <p>
+ * Métricas {@code cache.gets}, {@code cache.evictions} e afins em {@code /actuator/metrics}, com as tags
+ * {@code cache=users.by-id} e {@code cache=users.by-email}.
+ */
+@Slf4j
+@Component
+public class UserLookupCache {
+
+    private final boolean enabled;
+    private final Cache<Long, UserResponseDto> summaries;
+    private final Cache<String, UserEntity> accounts;
+
+    public UserLookupCache(MeterRegistry meterRegistry,
+                           @Value("${users.cache.enabled:true}") boolean enabled,
+                           @Value("${users.cache.ttl:30s}") Duration ttl,
+                           @Value("${users.cache.maximum-size:10000}") long maximumSize) {
+        this.enabled = enabled;
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, summaries, "users.by-id");
+            CaffeineCacheMetrics.monitor(meterRegistry, accounts, "users.by-email");
+            log.info("User lookup cache enabled with ttl {} and maximum size {}", ttl, maximumSize);
+        }
+    }
+
+    public Optional<UserResponseDto> getSummary(Long id, Function<Long, Optional<UserResponseDto>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        return Optional.ofNullable(summaries.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    // Só os ids ausentes do cache chegam ao loader, em uma única chamada
+    public Map<Long, UserResponseDto> getSummaries(Collection<Long> ids,
+                                                   Function<Collection<Long>, List<UserResponseDto>> loader) {
+        if (!enabled) {
+            return toMap(loader.apply(ids));
+        }
+        return summaries.getAll(ids, (Set<? extends Long> misses) -> toMap(loader.apply(List.copyOf(misses))));
+    }
+
+    // A entidade guardada nunca sai do cache: quem lê recebe uma cópia que pode alterar e salvar
+    public Optional<UserEntity> getAccount(String email, Function<String, Optional<UserEntity>> loader) {
+        if (!enabled) {
+            return loader.apply(email);
+        }
+        return Optional.ofNullable(accounts.get(email, key -> loader.apply(key).map(UserLookupCache::copy).orElse(null)))
+                .map(UserLookupCache::copy);
+    }
+
+    public void invalidate(Long id, String email) {
+        if (!enabled) {
+            return;
+        }
+        if (id != null) {
+            summaries.invalidate(id);
+        }
+        if (email != null) {
+            accounts.invalidate(email);
+        }
+    }
+
+    // A exclusão direta não lê o email: as contas são localizadas pelo id varrendo o cache, custo pago só na exclusão
+    public void invalidateIds(Collection<Long> ids) {
+        if (!enabled) {
+            return;
+        }
+        Set<Long> removed = new HashSet<>(ids);
+        summaries.invalidateAll(removed);
+        accounts.asMap().values().removeIf(account -> removed.contains(account.getId()));
+    }
+
+    // Revogação por usuário vinda de qualquer instância: a conta guardada aqui pode ter senha ou email antigos
+    @EventListener
+    public void onUsersRevoked(UsersRevokedEvent event) {
+        invalidateIds(event.userIds());
+    }
+
+    private static Map<Long, UserResponseDto> toMap(List<UserResponseDto> users) {
+        Map<Long, UserResponseDto> byId = new HashMap<>();
+        for (UserResponseDto user : users) {
+            byId.put(user.id(), user);
+        }
+        return byId;
+    }
+
+    private static UserEntity copy(UserEntity entity) {
+        return UserEntity.builder()
+                .id(entity.getId())
+                .nome(entity.getNome())
+                .email(entity.getEmail())
+                .login(entity.getLogin())
+                .senha(entity.getSenha())
+                .build();
+    }
+}
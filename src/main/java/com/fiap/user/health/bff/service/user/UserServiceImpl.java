@@ -1,20 +1,43 @@
 package com.fiap.user.health.bff.service.user;
 
+import com.fiap.user.health.bff.dto.response.UserBatchItemResponseDto;
+import com.fiap.user.health.bff.dto.response.UserBatchResponseDto;
+import com.fiap.user.health.bff.dto.response.UserMultiGetResponseDto;
+import com.fiap.user.health.bff.dto.response.UserPageResponseDto;
+import com.fiap.user.health.bff.dto.response.UserResponseDto;
 import com.fiap.user.health.bff.exception.EmailAlreadyExistsException;
 import com.fiap.user.health.bff.exception.UserNotFoundException;
 import com.fiap.user.health.bff.mapper.UserMapper;
 import com.fiap.user.health.bff.model.User;
 import com.fiap.user.health.bff.persistence.entity.UserEntity;
 import com.fiap.user.health.bff.persistence.repository.UserRepository;
+import com.fiap.user.health.bff.security.revocation.TokenRevocationService;
+import com.fiap.user.health.bff.service.auth.RefreshTokenService;
+import com.fiap.user.health.bff.service.io.BlockingIoExecutor;
+import com.fiap.user.health.bff.service.password.CredentialVerificationCache;
+import com.fiap.user.health.bff.service.password.PasswordHashingExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -23,60 +46,228 @@ public class UserServiceImpl implements UserServiceInterface {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final BlockingIoExecutor blockingIoExecutor;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final CredentialVerificationCache credentialVerificationCache;
+    private final UserLookupCache userLookupCache;
+    private final TransactionOperations transactionOperations;
 
+    // Sem @Transactional: o hash BCrypt roda no PasswordHashingExecutor sem conexão do pool reservada;
+    // cada chamada ao repositório abre e fecha sua própria transação curta, já no BlockingIoExecutor.
     @Override
-    @Transactional
-    public User createUser(User user) {
+    public CompletableFuture<User> createUser(User user) {
         log.info("Creating new user with email: {}", user.getEmail());
 
-        // Check if email already exists
-        if (userRepository.findByEmail(user.getEmail()).isPresent()) {
-            log.warn("Email already exists: {}", user.getEmail());
-            throw new EmailAlreadyExistsException(user.getEmail());
+        // Encrypt password before saving
+        return passwordHashingExecutor.encode(user.getSenha())
+                .thenApplyAsync(encodedPassword -> {
+                    UserEntity entity = userMapper.toEntity(withPassword(user, encodedPassword));
+                    UserEntity savedEntity = saveWithUniqueEmail(entity);
+                    userLookupCache.invalidate(savedEntity.getId(), savedEntity.getEmail());
+                    log.info("User created successfully with id: {}", savedEntity.getId());
+                    return userMapper.toModel(savedEntity);
+                }, blockingIoExecutor);
+    }
+
+    // Sem @Transactional pelo mesmo motivo do createUser; o saveAll grava todo o lote em uma transação,
+    // com os inserts agrupados pelo hibernate.jdbc.batch_size
+    @Override
+    public CompletableFuture<UserBatchResponseDto> createUsers(List<User> users) {
+        log.info("Creating {} users in batch", users.size());
+
+        // Uma única consulta para o lote; email repetido dentro do próprio lote também é conflito
+        Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(
+                users.stream().map(User::getEmail).toList()));
+        UserBatchItemResponseDto[] results = new UserBatchItemResponseDto[users.size()];
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            if (takenEmails.add(users.get(i).getEmail())) {
+                accepted.add(i);
+            } else {
+                results[i] = UserBatchItemResponseDto.conflict(i, users.get(i).getEmail());
+            }
         }
 
-        // Encrypt password before saving
-        user = User.builder()
+        List<String> passwords = accepted.stream().map(i -> users.get(i).getSenha()).toList();
+        return passwordHashingExecutor.encodeAll(passwords)
+                .thenApplyAsync(encodedPasswords -> {
+                    List<User> usersToSave = new ArrayList<>(accepted.size());
+                    for (int n = 0; n < accepted.size(); n++) {
+                        usersToSave.add(withPassword(users.get(accepted.get(n)), encodedPasswords.get(n)));
+                    }
+                    insertBatch(accepted, usersToSave, results);
+                    usersToSave.forEach(user -> userLookupCache.invalidate(null, user.getEmail()));
+
+                    UserBatchResponseDto response = UserBatchResponseDto.of(Arrays.asList(results));
+                    log.info("Batch finished with {} users created and {} conflicts",
+                            response.created(), response.conflicts());
+                    return response;
+                }, blockingIoExecutor);
+    }
+
+    private void insertBatch(List<Integer> indexes, List<User> users, UserBatchItemResponseDto[] results) {
+        try {
+            List<UserEntity> saved = userRepository.saveAll(users.stream().map(userMapper::toEntity).toList());
+            for (int n = 0; n < saved.size(); n++) {
+                results[indexes.get(n)] = UserBatchItemResponseDto.created(
+                        indexes.get(n), saved.get(n).getEmail(), saved.get(n).getId());
+            }
+        } catch (DataIntegrityViolationException ex) {
+            if (!isEmailConstraintViolation(ex)) {
+                throw ex;
+            }
+            // Outra requisição cadastrou um dos emails depois da consulta: o lote foi desfeito, grava item a item
+            log.warn("Email registered concurrently during batch, falling back to single inserts");
+            for (int n = 0; n < users.size(); n++) {
+                User user = users.get(n);
+                try {
+                    UserEntity saved = saveWithUniqueEmail(userMapper.toEntity(user));
+                    results[indexes.get(n)] = UserBatchItemResponseDto.created(indexes.get(n), user.getEmail(), saved.getId());
+                } catch (EmailAlreadyExistsException conflict) {
+                    results[indexes.get(n)] = UserBatchItemResponseDto.conflict(indexes.get(n), user.getEmail());
+                }
+            }
+        }
+    }
+
+    private static User withPassword(User user, String encodedPassword) {
+        return User.builder()
                 .id(user.getId())
                 .nome(user.getNome())
                 .email(user.getEmail())
                 .login(user.getLogin())
-                .senha(passwordEncoder.encode(user.getSenha()))
+                .senha(encodedPassword)
                 .build();
-
-        UserEntity entity = userMapper.toEntity(user);
-        UserEntity savedEntity = userRepository.save(entity);
-        log.info("User created successfully with id: {}", savedEntity.getId());
-        return userMapper.toModel(savedEntity);
     }
 
     @Override
-    @Transactional
-    public Optional<User> updateUser(Long id, User user) {
+    public CompletableFuture<Optional<User>> updateUser(Long id, User user) {
         log.info("Updating user with id: {}", id);
 
-        UserEntity existingEntity = userRepository.findById(id)
+        // Como no PATCH, a leitura vem depois do hash: o que outra requisição gravou enquanto o hash rodava não é
+        // sobrescrito por uma cópia lida antes dele
+        return passwordHashingExecutor.encode(user.getSenha())
+                .thenApplyAsync(encodedPassword -> {
+                    PatchResult result = withUniqueEmail(user.getEmail(),
+                            () -> transactionOperations.execute(status -> applyUpdate(id, user, encodedPassword)));
+
+                    // Senha e email mudaram: access e refresh tokens emitidos antes deixam de valer
+                    tokenRevocationService.revokeUser(id);
+                    refreshTokenService.revokeAll(id);
+                    credentialVerificationCache.invalidate(result.previousEmail());
+                    credentialVerificationCache.invalidate(result.currentEmail());
+                    userLookupCache.invalidate(id, result.previousEmail());
+                    userLookupCache.invalidate(null, result.currentEmail());
+                    log.info("User updated successfully with id: {}", id);
+                    return Optional.of(result.user());
+                }, blockingIoExecutor);
+    }
+
+    // Carrega e grava na mesma transação curta, já com a senha codificada
+    private PatchResult applyUpdate(Long id, User user, String encodedPassword) {
+        UserEntity entity = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
 
-        // Check if email is being changed to an existing one
-        if (!existingEntity.getEmail().equals(user.getEmail())) {
-            userRepository.findByEmail(user.getEmail()).ifPresent(u -> {
-                if (!u.getId().equals(id)) {
-                    log.warn("Email already exists: {}", user.getEmail());
-                    throw new EmailAlreadyExistsException(user.getEmail());
-                }
-            });
+        String previousEmail = entity.getEmail();
+        entity.setEmail(user.getEmail());
+        entity.setLogin(user.getLogin());
+        entity.setSenha(encodedPassword);
+        // O flush antecipa a violação do índice de email para dentro do withUniqueEmail
+        UserEntity updatedEntity = userRepository.saveAndFlush(entity);
+        return new PatchResult(userMapper.toModel(updatedEntity), previousEmail, updatedEntity.getEmail(), true, true);
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> patchUser(Long id, User changes) {
+        log.info("Patching user with id: {}", id);
+
+        // Só uma senha nova paga o hash; nome, email e login vão direto para o banco
+        CompletableFuture<String> encodedPassword = changes.getSenha() != null
+                ? passwordHashingExecutor.encode(changes.getSenha())
+                : CompletableFuture.completedFuture(null);
+
+        // A leitura vem depois do hash: o que outra requisição gravou enquanto o hash rodava não é sobrescrito
+        return encodedPassword.thenApplyAsync(newPassword -> {
+            PatchResult result = withUniqueEmail(changes.getEmail(),
+                    () -> transactionOperations.execute(status -> applyPatch(id, changes, newPassword)));
+            if (!result.changed()) {
+                return Optional.of(result.user());
+            }
+
+            userLookupCache.invalidate(id, result.previousEmail());
+            userLookupCache.invalidate(null, result.currentEmail());
+
+            // Só troca de credencial invalida tokens (access e refresh) e o cache de verificação
+            if (result.credentialsChanged()) {
+                tokenRevocationService.revokeUser(id);
+                refreshTokenService.revokeAll(id);
+                credentialVerificationCache.invalidate(result.previousEmail());
+                credentialVerificationCache.invalidate(result.currentEmail());
+            }
+            log.info("User patched successfully with id: {}", id);
+            return Optional.of(result.user());
+        }, blockingIoExecutor);
+    }
+
+    // Carrega, aplica apenas os campos enviados e grava na mesma transação curta
+    private PatchResult applyPatch(Long id, User changes, String newPassword) {
+        UserEntity entity = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException(id));
+
+        String previousEmail = entity.getEmail();
+        boolean emailChanged = changes.getEmail() != null && !changes.getEmail().equals(previousEmail);
+        boolean changed = emailChanged || newPassword != null
+                || (changes.getNome() != null && !changes.getNome().equals(entity.getNome()))
+                || (changes.getLogin() != null && !changes.getLogin().equals(entity.getLogin()));
+        if (!changed) {
+            return new PatchResult(userMapper.toModel(entity), previousEmail, previousEmail, false, false);
         }
 
-        existingEntity.setEmail(user.getEmail());
-        existingEntity.setLogin(user.getLogin());
-        // Encrypt password before updating
-        existingEntity.setSenha(passwordEncoder.encode(user.getSenha()));
+        if (changes.getNome() != null) {
+            entity.setNome(changes.getNome());
+        }
+        if (changes.getLogin() != null) {
+            entity.setLogin(changes.getLogin());
+        }
+        if (emailChanged) {
+            entity.setEmail(changes.getEmail());
+        }
+        if (newPassword != null) {
+            entity.setSenha(newPassword);
+        }
+        // @DynamicUpdate: o UPDATE leva apenas as colunas alteradas; o flush antecipa a violação do índice de email
+        UserEntity updatedEntity = userRepository.saveAndFlush(entity);
+        return new PatchResult(userMapper.toModel(updatedEntity), previousEmail, updatedEntity.getEmail(), true,
+                emailChanged || newPassword != null);
+    }
 
-        UserEntity updatedEntity = userRepository.save(existingEntity);
-        log.info("User updated successfully with id: {}", id);
-        return Optional.of(userMapper.toModel(updatedEntity));
+    private record PatchResult(User user, String previousEmail, String currentEmail, boolean changed,
+                               boolean credentialsChanged) {
+    }
+
+    // A unicidade do email é garantida pelo índice único: uma única escrita, sem consulta prévia e sem corrida
+    private UserEntity saveWithUniqueEmail(UserEntity entity) {
+        return withUniqueEmail(entity.getEmail(), () -> userRepository.save(entity));
+    }
+
+    private <T> T withUniqueEmail(String email, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException ex) {
+            if (isEmailConstraintViolation(ex)) {
+                log.warn("Email already exists: {}", email);
+                throw new EmailAlreadyExistsException(email);
+            }
+            throw ex;
+        }
+    }
+
+    // PostgreSQL e H2 citam o nome do índice na mensagem, em caixas diferentes
+    static boolean isEmailConstraintViolation(DataIntegrityViolationException ex) {
+        String message = NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(UserEntity.EMAIL_CONSTRAINT);
     }
 
     @Override
@@ -84,33 +275,74 @@ public class UserServiceImpl implements UserServiceInterface {
     public void deleteUser(Long id) {
         log.info("Deleting user with id: {}", id);
 
-        UserEntity entity = userRepository.findById(id)
+        // Um único DELETE ... RETURNING: devolve o email (chave do cache de credenciais) e tira do cache de segundo
+        // nível só este usuário
+        String email = userRepository.removeById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
-        userRepository.delete(entity);
+        tokenRevocationService.revokeUser(id);
+        credentialVerificationCache.invalidate(email);
+        userLookupCache.invalidate(id, email);
 
         log.info("User deleted successfully with id: {}", id);
     }
 
+    // Ids inexistentes são ignorados; o retorno é quantos usuários foram de fato removidos
+    @Override
+    @Transactional
+    public int deleteUsers(Collection<Long> ids) {
+        log.info("Deleting {} users", ids.size());
+
+        List<String> emails = userRepository.removeAllById(ids);
+        int deleted = emails.size();
+        if (deleted > 0) {
+            tokenRevocationService.revokeUsers(ids);
+            emails.forEach(credentialVerificationCache::invalidate);
+            userLookupCache.invalidateIds(ids);
+        }
+
+        log.info("{} of {} users deleted", deleted, ids.size());
+        return deleted;
+    }
+
+    // Leituras por projeção: sem senha, sem snapshot de dirty checking e sem conversão para o modelo
     @Override
     @Transactional(readOnly = true)
-    public List<User> getAllUsers() {
-        log.debug("Fetching all users");
+    public UserPageResponseDto getUsers(String cursor, int limit) {
+        long afterId = cursor == null ? 0L : UserCursor.decode(cursor);
+        log.debug("Fetching {} users after id {}", limit, afterId);
 
-        List<User> users = userRepository.findAll().stream()
-                .map(userMapper::toModel)
-                .collect(Collectors.toList());
+        // Um registro a mais indica se existe próxima página, sem count(*)
+        List<UserResponseDto> users = userRepository.findSummariesAfterId(afterId, Limit.of(limit + 1));
+        boolean hasNext = users.size() > limit;
+        List<UserResponseDto> page = hasNext ? users.subList(0, limit) : users;
 
-        log.debug("Found {} users", users.size());
-        return users;
+        log.debug("Found {} users", page.size());
+        return toPage(page, hasNext);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Optional<User> getUserById(Long id) {
+    public UserPageResponseDto getUsersByOffset(int page, int limit) {
+        log.debug("Fetching users page {} with size {}", page, limit);
+
+        Slice<UserResponseDto> slice = userRepository.findSummaries(PageRequest.of(page, limit));
+
+        log.debug("Found {} users", slice.getNumberOfElements());
+        return toPage(slice.getContent(), slice.hasNext());
+    }
+
+    private static UserPageResponseDto toPage(List<UserResponseDto> users, boolean hasNext) {
+        String next = hasNext ? UserCursor.encode(users.get(users.size() - 1).id()) : null;
+        return new UserPageResponseDto(List.copyOf(users), next);
+    }
+
+    // Sem @Transactional nas leituras com cache: um acerto não deve reservar conexão do pool;
+    // em uma falta, a consulta do repositório abre sua própria transação somente leitura
+    @Override
+    public Optional<UserResponseDto> getUserById(Long id) {
         log.debug("Fetching user with id: {}", id);
 
-        Optional<User> user = userRepository.findById(id)
-                .map(userMapper::toModel);
+        Optional<UserResponseDto> user = userLookupCache.getSummary(id, userRepository::findSummaryById);
 
         if (user.isPresent()) {
             log.debug("User found with id: {}", id);
@@ -120,4 +352,27 @@ public class UserServiceImpl implements UserServiceInterface {
 
         return user;
     }
+
+    // Só as faltas do cache vão ao banco, em uma consulta; a resposta segue a ordem recebida e lista à parte os
+    // ids que não existem
+    @Override
+    public UserMultiGetResponseDto getUsersByIds(Collection<Long> ids) {
+        log.debug("Fetching {} users by id", ids.size());
+
+        Map<Long, UserResponseDto> found = userLookupCache.getSummaries(ids, userRepository::findSummariesByIds);
+
+        List<UserResponseDto> users = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            UserResponseDto user = found.get(id);
+            if (user != null) {
+                users.add(user);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        log.debug("Found {} of {} users", users.size(), ids.size());
+        return new UserMultiGetResponseDto(users, missing);
+    }
 }
@@ -1,15 +1,26 @@
 package com.fiap.user.health.bff.service.user;
 
+import com.fiap.user.health.bff.dto.response.UserBatchResponseDto;
+import com.fiap.user.health.bff.dto.response.UserMultiGetResponseDto;
+import com.fiap.user.health.bff.dto.response.UserPageResponseDto;
+import com.fiap.user.health.bff.dto.response.UserResponseDto;
 import com.fiap.user.health.bff.model.User;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface UserServiceInterface {
 
-    User createUser(User user);
-    Optional<User> updateUser(Long id, User user);
+    CompletableFuture<User> createUser(User user);
+    CompletableFuture<UserBatchResponseDto> createUsers(List<User> users);
+    CompletableFuture<Optional<User>> updateUser(Long id, User user);
+    CompletableFuture<Optional<User>> patchUser(Long id, User changes);
     void deleteUser(Long id);
-    List<User> getAllUsers();
-    Optional<User> getUserById(Long id);
+    int deleteUsers(Collection<Long> ids);
+    UserPageResponseDto getUsers(String cursor, int limit);
+    UserPageResponseDto getUsersByOffset(int page, int limit);
+    Optional<UserResponseDto> getUserById(Long id);
+    UserMultiGetResponseDto getUsersByIds(Collection<Long> ids);
 }
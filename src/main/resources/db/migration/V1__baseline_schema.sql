@@ -0,0 +1,33 @@
+-- Esquema antes das migrações versionadas (gerado até então pelo ddl-auto=update).
+-- "if not exists" para bancos já criados pelo Hibernate: a baseline não falha e as versões seguintes ajustam o restante.
+
+create table if not exists usuarios (
+    id    bigint generated by default as identity primary key,
+    nome  varchar(255),
+    email varchar(255),
+    login varchar(255),
+    senha varchar(255)
+);
+
+create table if not exists refresh_tokens (
+    id         bigint generated by default as identity primary key,
+    token_hash varchar(43)                 not null,
+    user_id    bigint                      not null,
+    family_id  uuid                        not null,
+    expires_at timestamp(6) with time zone not null,
+    used       boolean                     not null
+);
+
+create unique index if not exists uk_refresh_tokens_token_hash on refresh_tokens (token_hash);
+create index if not exists idx_refresh_tokens_family_id on refresh_tokens (family_id);
+create index if not exists idx_refresh_tokens_user_id on refresh_tokens (user_id);
+create index if not exists idx_refresh_tokens_expires_at on refresh_tokens (expires_at);
+
+create table if not exists revoked_tokens (
+    id             bigint generated by default as identity primary key,
+    revocation_key varchar(64)                 not null,
+    issued_before  timestamp(6) with time zone,
+    expires_at     timestamp(6) with time zone not null
+);
+
+create index if not exists idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
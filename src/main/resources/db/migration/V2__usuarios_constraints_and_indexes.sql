@@ -0,0 +1,14 @@
+-- Tamanhos alinhados à validação da API e colunas obrigatórias.
+-- Em bancos existentes, linhas com nulos ou emails duplicados precisam ser corrigidas antes desta versão.
+
+alter table usuarios alter column nome set data type varchar(50);
+alter table usuarios alter column email set data type varchar(254);
+alter table usuarios alter column login set data type varchar(20);
+
+alter table usuarios alter column nome set not null;
+alter table usuarios alter column email set not null;
+alter table usuarios alter column login set not null;
+alter table usuarios alter column senha set not null;
+
+-- Login, cadastro e troca de senha buscam por email: busca pelo índice em vez de varredura da tabela
+create unique index if not exists uk_usuarios_email on usuarios (email);
@@ -0,0 +1,18 @@
+-- Jobs de importação de usuários via CSV. processed_rows é o último ponto gravado junto com o lote:
+-- a retomada pula essas linhas do arquivo. heartbeat muda a cada lote e serve de reserva (claim) do job.
+
+create table user_import_jobs (
+    id             uuid                        primary key,
+    status         varchar(16)                 not null,
+    file_path      varchar(1024)               not null,
+    processed_rows bigint                      not null,
+    imported_rows  bigint                      not null,
+    conflict_rows  bigint                      not null,
+    invalid_rows   bigint                      not null,
+    error_message  varchar(500),
+    heartbeat      bigint                      not null,
+    created_at     timestamp(6) with time zone not null,
+    updated_at     timestamp(6) with time zone not null
+);
+
+create index idx_user_import_jobs_status on user_import_jobs (status);
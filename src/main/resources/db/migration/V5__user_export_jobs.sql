@@ -0,0 +1,15 @@
+-- Exportações de usuários em segundo plano: o arquivo (gzip) fica no disco local da instância que executou o job.
+
+create table user_export_jobs (
+    id            uuid                        primary key,
+    status        varchar(16)                 not null,
+    format        varchar(8)                  not null,
+    file_path     varchar(1024)               not null,
+    row_count     bigint,
+    size_bytes    bigint,
+    error_message varchar(500),
+    created_at    timestamp(6) with time zone not null,
+    completed_at  timestamp(6) with time zone
+);
+
+create index idx_user_export_jobs_created_at on user_export_jobs (created_at);
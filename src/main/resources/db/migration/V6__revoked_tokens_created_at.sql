@@ -0,0 +1,6 @@
+-- Instante de gravação da revogação, no relógio do banco: a sincronização entre instâncias lê por ele, com folga,
+-- porque ids de identidade podem ficar visíveis fora de ordem quando as transações terminam em outra ordem.
+
+alter table revoked_tokens add column created_at timestamp(6) with time zone default current_timestamp not null;
+
+create index idx_revoked_tokens_created_at on revoked_tokens (created_at);
@@ -0,0 +1,11 @@
+-- Dono e heartbeat das exportações: o arquivo fica no disco local de node_id, e updated_at é renovado enquanto o
+-- job está na fila ou rodando nessa instância. Job pendente sem heartbeat há mais que stale-after vira FAILED.
+
+alter table user_export_jobs add column node_id varchar(255);
+alter table user_export_jobs add column updated_at timestamp(6) with time zone;
+
+update user_export_jobs set updated_at = coalesce(completed_at, created_at);
+
+alter table user_export_jobs alter column updated_at set not null;
+
+create index idx_user_export_jobs_status on user_export_jobs (status);
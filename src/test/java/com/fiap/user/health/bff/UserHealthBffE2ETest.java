@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fiap.user.health.bff.dto.request.UserAuthRequestDto;
 import com.fiap.user.health.bff.dto.request.UserCredentialsRequestDto;
 import com.fiap.user.health.bff.dto.request.UserRequestDto;
+import com.fiap.user.health.bff.dto.response.UserPageResponseDto;
 import com.fiap.user.health.bff.dto.response.UserResponseDto;
 import com.fiap.user.health.bff.persistence.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +18,10 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -42,6 +47,13 @@ class UserHealthBffE2ETest {
         userRepository.deleteAll();
     }
 
+    // Endpoints que fazem hash de senha respondem de forma assíncrona: aguarda e despacha o resultado
+    private ResultActions performAndAwait(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+
     @Test
     @WithMockUser
     @DisplayName("E2E: Fluxo completo CRUD - Criar → Buscar → Atualizar → Deletar usuário")
@@ -57,7 +69,7 @@ class UserHealthBffE2ETest {
                 "SenhaSegura@123"
         );
 
-        MvcResult createResult = mockMvc.perform(post("/api/users")
+        MvcResult createResult = performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(createRequest)))
@@ -91,8 +103,8 @@ class UserHealthBffE2ETest {
                         .with(csrf()))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].nome").value("Carlos Eduardo Silva"));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].nome").value("Carlos Eduardo Silva"));
         System.out.println("✅ Lista retornada com 1 usuário");
 
         System.out.println("\n4️⃣ Atualizando dados do usuário...");
@@ -104,7 +116,7 @@ class UserHealthBffE2ETest {
                 }
                 """;
 
-        mockMvc.perform(put("/api/users/" + userId)
+        performAndAwait(put("/api/users/" + userId)
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(updateJson))
@@ -154,7 +166,7 @@ class UserHealthBffE2ETest {
                 "senha123456"
         );
 
-        mockMvc.perform(post("/api/users")
+        performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(firstUser)))
@@ -167,7 +179,7 @@ class UserHealthBffE2ETest {
                 "senha789012"
         );
 
-        mockMvc.perform(post("/api/users")
+        performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(secondUser)))
@@ -186,19 +198,19 @@ class UserHealthBffE2ETest {
         UserRequestDto user2 = new UserRequestDto("Bruno Costa", "bruno@email.com", "brunocosta1", "senha87654321");
         UserRequestDto user3 = new UserRequestDto("Carla Dias", "carla@email.com", "carladias12", "senha11223344");
 
-        mockMvc.perform(post("/api/users")
+        performAndAwait(post("/api/users")
                 .with(csrf())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(user1)))
                 .andExpect(status().isCreated());
 
-        mockMvc.perform(post("/api/users")
+        performAndAwait(post("/api/users")
                 .with(csrf())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(user2)))
                 .andExpect(status().isCreated());
 
-        mockMvc.perform(post("/api/users")
+        performAndAwait(post("/api/users")
                 .with(csrf())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(user3)))
@@ -207,8 +219,8 @@ class UserHealthBffE2ETest {
         mockMvc.perform(get("/api/users")
                         .with(csrf()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(3)))
-                .andExpect(jsonPath("$[*].nome", containsInAnyOrder("Ana Silva", "Bruno Costa", "Carla Dias")));
+                .andExpect(jsonPath("$.items", hasSize(3)))
+                .andExpect(jsonPath("$.items[*].nome", containsInAnyOrder("Ana Silva", "Bruno Costa", "Carla Dias")));
 
         assertThat(userRepository.count()).isEqualTo(3);
     }
@@ -225,7 +237,7 @@ class UserHealthBffE2ETest {
                 "senhaParaLogin123"
         );
 
-        mockMvc.perform(post("/api/users")
+        performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(createRequest)))
@@ -237,7 +249,7 @@ class UserHealthBffE2ETest {
                 "senhaParaLogin123"
         );
 
-        mockMvc.perform(post("/api/v1/auth/login")
+        performAndAwait(post("/api/v1/auth/login")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequest)))
@@ -259,7 +271,7 @@ class UserHealthBffE2ETest {
                 "senhaCorreta123"
         );
 
-        mockMvc.perform(post("/api/users")
+        performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(createRequest)))
@@ -271,7 +283,7 @@ class UserHealthBffE2ETest {
                 "senhaErrada123"
         );
 
-        mockMvc.perform(post("/api/v1/auth/login")
+        performAndAwait(post("/api/v1/auth/login")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(wrongPasswordLogin)))
@@ -291,7 +303,7 @@ class UserHealthBffE2ETest {
                 }
                 """;
 
-        mockMvc.perform(post("/api/users")
+        performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(invalidJson1))
@@ -306,7 +318,7 @@ class UserHealthBffE2ETest {
                 }
                 """;
 
-        mockMvc.perform(post("/api/users")
+        performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(invalidJson2))
@@ -321,7 +333,7 @@ class UserHealthBffE2ETest {
                 }
                 """;
 
-        mockMvc.perform(post("/api/users")
+        performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(invalidJson3))
@@ -343,7 +355,7 @@ class UserHealthBffE2ETest {
                 "senhaAntiga123"
         );
 
-        mockMvc.perform(post("/api/users")
+        performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(createRequest)))
@@ -355,7 +367,7 @@ class UserHealthBffE2ETest {
                 "senhaNova456"
         );
 
-        mockMvc.perform(patch("/api/v1/auth/password")
+        performAndAwait(patch("/api/v1/auth/password")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updatePassword)))
@@ -367,7 +379,7 @@ class UserHealthBffE2ETest {
                 "senhaAntiga123"
         );
 
-        mockMvc.perform(post("/api/v1/auth/login")
+        performAndAwait(post("/api/v1/auth/login")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(oldPasswordLogin)))
@@ -379,7 +391,7 @@ class UserHealthBffE2ETest {
                 "senhaNova456"
         );
 
-        mockMvc.perform(post("/api/v1/auth/login")
+        performAndAwait(post("/api/v1/auth/login")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(newPasswordLogin)))
@@ -404,7 +416,7 @@ class UserHealthBffE2ETest {
                 "MinhaSenhaSegura@2024"
         );
 
-        MvcResult registerResult = mockMvc.perform(post("/api/users")
+        MvcResult registerResult = performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(registerRequest)))
@@ -424,7 +436,7 @@ class UserHealthBffE2ETest {
                 "MinhaSenhaSegura@2024"
         );
 
-        MvcResult loginResult = mockMvc.perform(post("/api/v1/auth/login")
+        MvcResult loginResult = performAndAwait(post("/api/v1/auth/login")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequest)))
@@ -469,7 +481,7 @@ class UserHealthBffE2ETest {
                 "SenhaOriginal@123"
         );
 
-        MvcResult createResult = mockMvc.perform(post("/api/users")
+        MvcResult createResult = performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(createRequest)))
@@ -492,7 +504,7 @@ class UserHealthBffE2ETest {
                 }
                 """;
 
-        mockMvc.perform(put("/api/users/" + userId)
+        performAndAwait(put("/api/users/" + userId)
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(updateDataJson))
@@ -509,7 +521,7 @@ class UserHealthBffE2ETest {
                 "NovaSenhaSegura@456"
         );
 
-        mockMvc.perform(patch("/api/v1/auth/password")
+        performAndAwait(patch("/api/v1/auth/password")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updatePasswordRequest)))
@@ -524,7 +536,7 @@ class UserHealthBffE2ETest {
                 "NovaSenhaSegura@456"
         );
 
-        mockMvc.perform(post("/api/v1/auth/login")
+        performAndAwait(post("/api/v1/auth/login")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(newLoginRequest)))
@@ -540,7 +552,7 @@ class UserHealthBffE2ETest {
                 "SenhaOriginal@123"
         );
 
-        mockMvc.perform(post("/api/v1/auth/login")
+        performAndAwait(post("/api/v1/auth/login")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(oldLoginRequest)))
@@ -566,7 +578,7 @@ class UserHealthBffE2ETest {
                         .with(csrf()))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(0)));
+                .andExpect(jsonPath("$.items", hasSize(0)));
         System.out.println("✅ Lista vazia confirmada");
 
         // ===== 2. CRIAR MÚLTIPLOS USUÁRIOS =====
@@ -577,7 +589,7 @@ class UserHealthBffE2ETest {
 
         for (int i = 0; i < nomes.length; i++) {
             UserRequestDto user = new UserRequestDto(nomes[i], emails[i], logins[i], "Senha@123" + i);
-            mockMvc.perform(post("/api/users")
+            performAndAwait(post("/api/users")
                             .with(csrf())
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(objectMapper.writeValueAsString(user)))
@@ -592,8 +604,8 @@ class UserHealthBffE2ETest {
                         .with(csrf()))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(5)))
-                .andExpect(jsonPath("$[*].nome", containsInAnyOrder(nomes)))
+                .andExpect(jsonPath("$.items", hasSize(5)))
+                .andExpect(jsonPath("$.items[*].nome", containsInAnyOrder(nomes)))
                 .andReturn();
 
         System.out.println("✅ Lista retornada com 5 usuários");
@@ -601,7 +613,7 @@ class UserHealthBffE2ETest {
         // ===== 4. VERIFICAR DETALHES DE CADA USUÁRIO =====
         System.out.println("\n4️⃣ Verificando detalhes de cada usuário...");
         String listResponse = listResult.getResponse().getContentAsString();
-        UserResponseDto[] users = objectMapper.readValue(listResponse, UserResponseDto[].class);
+        List<UserResponseDto> users = objectMapper.readValue(listResponse, UserPageResponseDto.class).items();
 
         for (UserResponseDto user : users) {
             mockMvc.perform(get("/api/users/" + user.id())
@@ -630,7 +642,7 @@ class UserHealthBffE2ETest {
                         .with(csrf()))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(0)));
+                .andExpect(jsonPath("$.items", hasSize(0)));
         System.out.println("✅ Lista vazia confirmada");
 
         // Verificar no banco
@@ -657,7 +669,7 @@ class UserHealthBffE2ETest {
                 "Senha@123456"
         );
 
-        mockMvc.perform(post("/api/users")
+        performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(firstUser)))
@@ -671,7 +683,7 @@ class UserHealthBffE2ETest {
                 "Senha@789012"
         );
 
-        mockMvc.perform(post("/api/users")
+        performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(duplicateUser)))
@@ -689,7 +701,7 @@ class UserHealthBffE2ETest {
                 }
                 """;
 
-        mockMvc.perform(post("/api/users")
+        performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(invalidEmailJson))
@@ -707,7 +719,7 @@ class UserHealthBffE2ETest {
                 }
                 """;
 
-        mockMvc.perform(post("/api/users")
+        performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(shortPasswordJson))
@@ -725,7 +737,7 @@ class UserHealthBffE2ETest {
                 }
                 """;
 
-        mockMvc.perform(post("/api/users")
+        performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(invalidNameJson))
@@ -749,7 +761,7 @@ class UserHealthBffE2ETest {
                 }
                 """;
 
-        mockMvc.perform(put("/api/users/99999")
+        performAndAwait(put("/api/users/99999")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(updateJson))
@@ -777,7 +789,7 @@ class UserHealthBffE2ETest {
                 "MinhaPrimeiraSenha@2024"
         );
 
-        MvcResult registrationResult = mockMvc.perform(post("/api/users")
+        MvcResult registrationResult = performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(registrationData)))
@@ -799,7 +811,7 @@ class UserHealthBffE2ETest {
                 "MinhaPrimeiraSenha@2024"
         );
 
-        MvcResult firstLoginResult = mockMvc.perform(post("/api/v1/auth/login")
+        MvcResult firstLoginResult = performAndAwait(post("/api/v1/auth/login")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(firstLoginCredentials)))
@@ -835,7 +847,7 @@ class UserHealthBffE2ETest {
                 }
                 """;
 
-        mockMvc.perform(put("/api/users/" + userId)
+        performAndAwait(put("/api/users/" + userId)
                         .with(csrf())
                         .header("Authorization", "Bearer " + jwtToken)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -853,7 +865,7 @@ class UserHealthBffE2ETest {
                 "MinhaNovaSenhaSegura@2025"
         );
 
-        mockMvc.perform(patch("/api/v1/auth/password")
+        performAndAwait(patch("/api/v1/auth/password")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(passwordChangeRequest)))
@@ -868,7 +880,7 @@ class UserHealthBffE2ETest {
                 "MinhaPrimeiraSenha@2024"
         );
 
-        mockMvc.perform(post("/api/v1/auth/login")
+        performAndAwait(post("/api/v1/auth/login")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(oldPasswordAttempt)))
@@ -883,7 +895,7 @@ class UserHealthBffE2ETest {
                 "MinhaNovaSenhaSegura@2025"
         );
 
-        MvcResult newLoginResult = mockMvc.perform(post("/api/v1/auth/login")
+        MvcResult newLoginResult = performAndAwait(post("/api/v1/auth/login")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(newPasswordLogin)))
@@ -904,8 +916,8 @@ class UserHealthBffE2ETest {
                         .header("Authorization", "Bearer " + newAuthResponse.accessToken()))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].email").value("marina.oliveira.profissional@healthapp.com"));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].email").value("marina.oliveira.profissional@healthapp.com"));
         System.out.println("✅ Lista de usuários consultada");
 
         // ===== ETAPA 9: USUÁRIO DECIDE DELETAR A CONTA =====
@@ -919,11 +931,12 @@ class UserHealthBffE2ETest {
 
         // ===== ETAPA 10: VERIFICAR QUE CONTA NÃO EXISTE MAIS =====
         System.out.println("\n🔍 ETAPA 10: Verificando que conta não existe mais");
+        // O token da conta excluída é revogado na hora
         mockMvc.perform(get("/api/users/" + userId)
                         .with(csrf())
                         .header("Authorization", "Bearer " + newAuthResponse.accessToken()))
                 .andDo(print())
-                .andExpect(status().isNotFound());
+                .andExpect(status().isUnauthorized());
 
         assertThat(userRepository.findById(userId)).isEmpty();
         System.out.println("✅ Confirmado: conta não existe mais no sistema");
@@ -0,0 +1,110 @@
+package com.fiap.user.health.bff.benchmark;
+
+import com.fiap.user.health.bff.security.jwt.JwtAlgorithm;
+import com.fiap.user.health.bff.security.jwt.JwtSigningKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de assinatura (login) e verificação (requisição autenticada) por algoritmo, com as claims do token real.
+ * Execução como no {@link PasswordEncoderBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class JwtSigningBenchmark {
+
+    @Param({"RS256", "ES256", "EdDSA", "HS256"})
+    private String algorithm;
+
+    private JwtEncoder encoder;
+    private JwtDecoder decoder;
+    private JwtEncoderParameters parameters;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        JwtSigningKey signingKey = switch (JwtAlgorithm.from(algorithm)) {
+            case RS256 -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+                KeyPair pair = generator.generateKeyPair();
+                yield JwtSigningKey.rsa((RSAPublicKey) pair.getPublic(), (RSAPrivateKey) pair.getPrivate());
+            }
+            case ES256 -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                KeyPair pair = generator.generateKeyPair();
+                yield JwtSigningKey.ec((ECPublicKey) pair.getPublic(), (ECPrivateKey) pair.getPrivate());
+            }
+            case EDDSA -> {
+                KeyPair pair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+                yield JwtSigningKey.ed25519(pair.getPublic(), pair.getPrivate());
+            }
+            case HS256 -> JwtSigningKey.hmac(new SecretKeySpec(
+                    "benchmark-secret-with-at-least-32-bytes".getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        };
+        encoder = signingKey.encoder();
+        decoder = signingKey.decoder();
+
+        Instant now = Instant.now();
+        parameters = JwtEncoderParameters.from(JwtClaimsSet.builder()
+                .issuer("user-health-bff")
+                .subject("joao@email.com")
+                .claim("userId", 1L)
+                .claim("email", "joao@email.com")
+                .claim("nome", "João Silva")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .build());
+        token = encoder.encode(parameters).getTokenValue();
+    }
+
+    @Benchmark
+    public String sign() {
+        return encoder.encode(parameters).getTokenValue();
+    }
+
+    @Benchmark
+    public Jwt verify() {
+        return decoder.decode(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtSigningBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
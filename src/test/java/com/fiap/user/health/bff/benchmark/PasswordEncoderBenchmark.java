@@ -0,0 +1,78 @@
+package com.fiap.user.health.bff.benchmark;
+
+import com.fiap.user.health.bff.service.password.AdaptiveArgon2PasswordEncoder;
+import com.fiap.user.health.bff.service.password.AdaptiveBCryptPasswordEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência de encode/matches por algoritmo e custo, para escolher password.hashing.* neste hardware.
+ * <p>
+ * Execução: {@code mvn test-compile} e depois rodar o {@link #main} pela IDE, ou
+ * {@code java -cp target/test-classes:target/classes:<classpath de teste> org.openjdk.jmh.Main PasswordEncoderBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "senhaSegura123";
+
+    // algoritmo:custo (BCrypt = strength, Argon2 = iterações com 19 MiB, PBKDF2 = iterações)
+    @Param({"bcrypt:10", "bcrypt:11", "bcrypt:12", "bcrypt:13",
+            "argon2:2", "argon2:3", "argon2:4",
+            "pbkdf2:310000", "pbkdf2:600000"})
+    private String algorithmCost;
+
+    private PasswordEncoder encoder;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        String[] parts = algorithmCost.split(":");
+        int cost = Integer.parseInt(parts[1]);
+        encoder = switch (parts[0]) {
+            case "bcrypt" -> new AdaptiveBCryptPasswordEncoder(cost);
+            case "argon2" -> new AdaptiveArgon2PasswordEncoder(19456, cost, 1);
+            case "pbkdf2" -> new Pbkdf2PasswordEncoder("", 16, cost,
+                    Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+            default -> throw new IllegalArgumentException("Unknown algorithm: " + parts[0]);
+        };
+        encoded = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, encoded);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordEncoderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,100 @@
+package com.fiap.user.health.bff.benchmark;
+
+import com.fiap.user.health.bff.persistence.entity.UserEntity;
+import com.fiap.user.health.bff.security.jwt.JwtSigningKey;
+import com.fiap.user.health.bff.security.jwt.TokenIssuer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emissão do token de login pelo caminho antigo (JwtClaimsSet + NimbusJwtEncoder) e pelo {@link TokenIssuer}.
+ * Roda com o {@link GCProfiler}: compare {@code gc.alloc.rate.norm} (bytes alocados por token) entre os dois.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class TokenIssuanceBenchmark {
+
+    // HS256 isola o custo de montar o token; no RS256 a assinatura domina o tempo
+    @Param({"HS256", "RS256"})
+    private String algorithm;
+
+    private JwtEncoder encoder;
+    private TokenIssuer tokenIssuer;
+    private UserEntity user;
+
+    @Setup
+    public void setUp() throws Exception {
+        JwtSigningKey signingKey;
+        if ("RS256".equals(algorithm)) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair pair = generator.generateKeyPair();
+            signingKey = JwtSigningKey.rsa((RSAPublicKey) pair.getPublic(), (RSAPrivateKey) pair.getPrivate());
+        } else {
+            signingKey = JwtSigningKey.hmac(new SecretKeySpec(
+                    "benchmark-secret-with-at-least-32-bytes".getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        }
+        encoder = signingKey.encoder();
+        tokenIssuer = new TokenIssuer(signingKey, "user-health-bff");
+        user = UserEntity.builder().id(1L).nome("João Silva").email("joao@email.com").build();
+    }
+
+    @Benchmark
+    public String nimbusEncoder() {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .id(UUID.randomUUID().toString())
+                .issuer("user-health-bff")
+                .subject(user.getEmail())
+                .claim("userId", user.getId())
+                .claim("email", user.getEmail())
+                .claim("nome", user.getNome())
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .build();
+        return encoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+    }
+
+    @Benchmark
+    public String tokenIssuer() {
+        Instant now = Instant.now();
+        return tokenIssuer.issue(user, now, now.plusSeconds(3600));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenIssuanceBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,116 @@
+package com.fiap.user.health.bff.benchmark;
+
+import com.fiap.user.health.bff.UserHealthMain;
+import com.fiap.user.health.bff.persistence.entity.UserEntity;
+import com.fiap.user.health.bff.persistence.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vazão de inserts de usuários: um por transação x {@value #BULK_SIZE} em uma transação, com e sem lote JDBC
+ * (hibernate.jdbc.batch_size). Usa o H2 do perfil de teste; para medir as idas e voltas reais, aponte para um
+ * PostgreSQL com {@code -Dspring.datasource.url=jdbc:postgresql://localhost:5432/postgres?reWriteBatchedInserts=true}
+ * (e username/password/driver-class-name/jpa.database-platform correspondentes).
+ * Execução como no {@link PasswordEncoderBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class UserInsertBenchmark {
+
+    private static final int BULK_SIZE = 500;
+
+    // 1 desabilita o lote
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp() {
+        // Argumentos de linha de comando: precedem o spring.profiles.active=prod do application.yml
+        context = new SpringApplicationBuilder(UserHealthMain.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=test",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.fiap.user.health.bff=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN");
+        userRepository = context.getBean(UserRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Iteration)
+    public void clean() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserEntity singleInsert() {
+        return userRepository.save(newUser());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public List<UserEntity> bulkInsert() {
+        List<UserEntity> users = new ArrayList<>(BULK_SIZE);
+        for (int i = 0; i < BULK_SIZE; i++) {
+            users.add(newUser());
+        }
+        return transactionTemplate.execute(status -> userRepository.saveAll(users));
+    }
+
+    private UserEntity newUser() {
+        long n = sequence.incrementAndGet();
+        return UserEntity.builder()
+                .nome("Usuario Benchmark")
+                .email("bench" + n + "@email.com")
+                .login("bench" + n)
+                .senha("{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z1H0ZzZ6PnKhgXbgkp6fD8CG")
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
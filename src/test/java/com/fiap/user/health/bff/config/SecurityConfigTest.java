@@ -4,7 +4,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -28,7 +28,7 @@ class SecurityConfigTest {
     private JwtDecoder jwtDecoder;
 
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordEncoder passwordEncoder;
 
     @Autowired
     private CorsConfigurationSource corsConfigurationSource;
@@ -55,8 +55,8 @@ class SecurityConfigTest {
     }
 
     @Test
-    @DisplayName("Deve configurar BCryptPasswordEncoder bean")
-    void shouldConfigureBCryptPasswordEncoderBean() {
+    @DisplayName("Deve configurar PasswordEncoder bean")
+    void shouldConfigurePasswordEncoderBean() {
         // Assert
         assertThat(passwordEncoder).isNotNull();
     }
@@ -73,7 +73,7 @@ class SecurityConfigTest {
         // Assert
         assertThat(encodedPassword).isNotNull();
         assertThat(encodedPassword).isNotEqualTo(rawPassword);
-        assertThat(encodedPassword).startsWith("$2a$");
+        assertThat(encodedPassword).startsWith("{bcrypt}$2a$");
         assertThat(passwordEncoder.matches(rawPassword, encodedPassword)).isTrue();
     }
 
@@ -1,8 +1,10 @@
 package com.fiap.user.health.bff.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.user.health.bff.dto.request.RefreshTokenRequestDto;
 import com.fiap.user.health.bff.dto.request.UserAuthRequestDto;
 import com.fiap.user.health.bff.dto.request.UserCredentialsRequestDto;
+import com.fiap.user.health.bff.exception.PasswordHashingUnavailableException;
 import com.fiap.user.health.bff.service.auth.AuthServiceInterface;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,11 +22,15 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -71,7 +77,8 @@ class AuthControllerIntegrationTest {
 
         authResponse = new UserAuthRequestDto(
                 "eyJhbGciOiJSUzI1NiJ9.eyJzdWIiOiJ1c3VhcmlvQGVtYWlsLmNvbSJ9.signature",
-                3600L
+                3600L,
+                "bW9jay1yZWZyZXNoLXRva2Vu"
         );
     }
 
@@ -79,13 +86,18 @@ class AuthControllerIntegrationTest {
     @DisplayName("Deve realizar login com sucesso quando credenciais são válidas")
     void shouldLoginSuccessfullyWithValidCredentials() throws Exception {
         // Arrange
-        when(authService.login(any(UserCredentialsRequestDto.class))).thenReturn(authResponse);
+        when(authService.login(any(UserCredentialsRequestDto.class)))
+                .thenReturn(CompletableFuture.completedFuture(authResponse));
 
         // Act & Assert
-        mockMvc.perform(post("/api/v1/auth/login")
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/auth/login")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(validCredentials)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.accessToken").value(authResponse.accessToken()))
                 .andExpect(jsonPath("$.expiresIn").value(3600L));
@@ -98,18 +110,91 @@ class AuthControllerIntegrationTest {
     void shouldReturnUnauthorizedWhenCredentialsAreInvalid() throws Exception {
         // Arrange
         when(authService.login(any(UserCredentialsRequestDto.class)))
-                .thenThrow(new BadCredentialsException("Invalid email or password"));
+                .thenReturn(CompletableFuture.failedFuture(new BadCredentialsException("Invalid email or password")));
 
         // Act & Assert
-        mockMvc.perform(post("/api/v1/auth/login")
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/auth/login")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(validCredentials)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isUnauthorized());
 
         verify(authService).login(any(UserCredentialsRequestDto.class));
     }
 
+    @Test
+    @DisplayName("Deve retornar 503 com Retry-After quando o pool de hash está saturado")
+    void shouldReturnServiceUnavailableWhenHashingPoolIsSaturated() throws Exception {
+        // Arrange
+        when(authService.login(any(UserCredentialsRequestDto.class)))
+                .thenReturn(CompletableFuture.failedFuture(new PasswordHashingUnavailableException(2)));
+
+        // Act & Assert
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/auth/login")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validCredentials)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.status").value(503));
+    }
+
+    @Test
+    @DisplayName("Deve renovar tokens com refresh token válido")
+    void shouldRefreshTokensWithValidRefreshToken() throws Exception {
+        // Arrange
+        when(authService.refresh(any(RefreshTokenRequestDto.class))).thenReturn(authResponse);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDto("refresh-atual"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").value(authResponse.accessToken()))
+                .andExpect(jsonPath("$.refreshToken").value(authResponse.refreshToken()))
+                .andExpect(jsonPath("$.expiresIn").value(3600L));
+
+        verify(authService).refresh(new RefreshTokenRequestDto("refresh-atual"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 401 quando refresh token é inválido ou reutilizado")
+    void shouldReturnUnauthorizedWhenRefreshTokenIsInvalid() throws Exception {
+        // Arrange
+        when(authService.refresh(any(RefreshTokenRequestDto.class)))
+                .thenThrow(new BadCredentialsException("Invalid refresh token"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDto("refresh-usado"))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid refresh token"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 400 quando refresh token não é fornecido")
+    void shouldReturnBadRequestWhenRefreshTokenIsMissing() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+
+        verify(authService, never()).refresh(any(RefreshTokenRequestDto.class));
+    }
+
     @Test
     @DisplayName("Deve retornar 400 quando email não é fornecido no login")
     void shouldReturnBadRequestWhenEmailIsMissingInLogin() throws Exception {
@@ -150,6 +235,21 @@ class AuthControllerIntegrationTest {
         verify(authService, never()).login(any(UserCredentialsRequestDto.class));
     }
 
+    @Test
+    @DisplayName("Deve encerrar a sessão do token apresentado no logout")
+    void shouldLogoutWithPresentedToken() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/auth/logout")
+                        .with(csrf())
+                        .with(jwt().jwt(token -> token.jti("jti-da-sessao").claim("userId", 1L)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDto("refresh-da-sessao"))))
+                .andExpect(status().isNoContent());
+
+        verify(authService).logout(argThat(token -> "jti-da-sessao".equals(token.getId())),
+                eq(new RefreshTokenRequestDto("refresh-da-sessao")));
+    }
+
     @Test
     @WithMockUser
     @DisplayName("Deve atualizar senha com sucesso")
@@ -160,13 +260,18 @@ class AuthControllerIntegrationTest {
                 "novaSenhaSegura456"
         );
 
-        doNothing().when(authService).updatePassword(anyString(), anyString());
+        when(authService.updatePassword(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(null));
 
         // Act & Assert
-        mockMvc.perform(patch("/api/v1/auth/password")
+        MvcResult mvcResult = mockMvc.perform(patch("/api/v1/auth/password")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(passwordUpdate)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isNoContent());
 
         verify(authService).updatePassword("usuario@email.com", "novaSenhaSegura456");
@@ -216,13 +321,18 @@ class AuthControllerIntegrationTest {
     @DisplayName("Deve retornar token com tempo de expiração correto")
     void shouldReturnTokenWithCorrectExpirationTime() throws Exception {
         // Arrange
-        when(authService.login(any(UserCredentialsRequestDto.class))).thenReturn(authResponse);
+        when(authService.login(any(UserCredentialsRequestDto.class)))
+                .thenReturn(CompletableFuture.completedFuture(authResponse));
 
         // Act & Assert
-        mockMvc.perform(post("/api/v1/auth/login")
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/auth/login")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(validCredentials)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.expiresIn").isNumber())
                 .andExpect(jsonPath("$.expiresIn").value(3600));
@@ -0,0 +1,88 @@
+package com.fiap.user.health.bff.controller;
+
+import com.fiap.user.health.bff.security.jwt.JwtSigningKey;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = JwksController.class)
+@Import(JwksControllerIntegrationTest.TestConfig.class)
+@DisplayName("JWKS Controller - Testes de Integração")
+class JwksControllerIntegrationTest {
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        public JwtSigningKey jwtSigningKey() throws NoSuchAlgorithmException {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair pair = generator.generateKeyPair();
+            return JwtSigningKey.rsa((RSAPublicKey) pair.getPublic(), (RSAPrivateKey) pair.getPrivate());
+        }
+
+        @Bean
+        @org.springframework.context.annotation.Primary
+        public SecurityFilterChain testSecurityFilterChain(HttpSecurity http) throws Exception {
+            http.csrf(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+            return http.build();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtSigningKey jwtSigningKey;
+
+    @Test
+    @DisplayName("Deve publicar a chave pública com kid, ETag forte e Cache-Control")
+    void shouldPublishPublicKeyWithCachingHeaders() throws Exception {
+        // Act & Assert
+        String body = mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, public"))
+                .andExpect(header().string(HttpHeaders.ETAG, containsString("\"")))
+                .andExpect(jsonPath("$.keys[0].kid").value(jwtSigningKey.keyId()))
+                .andExpect(jsonPath("$.keys[0].kty").value("RSA"))
+                .andExpect(jsonPath("$.keys[0].alg").value("RS256"))
+                .andExpect(jsonPath("$.keys[0].use").value("sig"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body).doesNotContain("\"d\"");
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 quando o If-None-Match corresponde ao ETag atual")
+    void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+        // Arrange
+        String eTag = mockMvc.perform(get("/.well-known/jwks.json"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        mockMvc.perform(get("/.well-known/jwks.json").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+}
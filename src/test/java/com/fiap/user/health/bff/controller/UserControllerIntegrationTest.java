@@ -1,11 +1,17 @@
 package com.fiap.user.health.bff.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.user.health.bff.dto.request.UserBatchRequestDto;
 import com.fiap.user.health.bff.dto.request.UserRequestDto;
 import com.fiap.user.health.bff.dto.request.UserUpdateRequestDto;
+import com.fiap.user.health.bff.dto.response.UserBatchItemResponseDto;
+import com.fiap.user.health.bff.dto.response.UserBatchResponseDto;
+import com.fiap.user.health.bff.dto.response.UserMultiGetResponseDto;
+import com.fiap.user.health.bff.dto.response.UserPageResponseDto;
 import com.fiap.user.health.bff.dto.response.UserResponseDto;
 import com.fiap.user.health.bff.mapper.UserMapper;
 import com.fiap.user.health.bff.model.User;
+import com.fiap.user.health.bff.service.user.UserExportService;
 import com.fiap.user.health.bff.service.user.UserServiceInterface;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,13 +25,21 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -59,6 +73,10 @@ class UserControllerIntegrationTest {
     @SuppressWarnings("unused")
     private UserMapper userMapper;
 
+    @MockitoBean
+    @SuppressWarnings("unused")
+    private UserExportService userExportService;
+
     private UserRequestDto validUserRequest;
     private User user;
     private UserResponseDto userResponse;
@@ -94,14 +112,18 @@ class UserControllerIntegrationTest {
     void shouldCreateUserSuccessfully() throws Exception {
         // Arrange
         when(userMapper.toModel(any(UserRequestDto.class))).thenReturn(user);
-        when(userService.createUser(any(User.class))).thenReturn(user);
+        when(userService.createUser(any(User.class))).thenReturn(CompletableFuture.completedFuture(user));
         when(userMapper.toResponseDto(any(User.class))).thenReturn(userResponse);
 
         // Act & Assert
-        mockMvc.perform(post("/api/users")
+        MvcResult mvcResult = mockMvc.perform(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(validUserRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.nome").value("João Silva"))
@@ -177,19 +199,61 @@ class UserControllerIntegrationTest {
         verify(userService, never()).createUser(any(User.class));
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("Deve criar usuários em lote informando o status de cada item")
+    void shouldCreateUsersInBatch() throws Exception {
+        // Arrange
+        UserBatchRequestDto batchRequest = new UserBatchRequestDto(List.of(validUserRequest, validUserRequest));
+        UserBatchResponseDto batchResponse = UserBatchResponseDto.of(List.of(
+                UserBatchItemResponseDto.created(0, "joao@email.com", 1L),
+                UserBatchItemResponseDto.conflict(1, "joao@email.com")));
+        when(userMapper.toModel(any(UserRequestDto.class))).thenReturn(user);
+        when(userService.createUsers(anyList())).thenReturn(CompletableFuture.completedFuture(batchResponse));
+
+        // Act & Assert
+        MvcResult mvcResult = mockMvc.perform(post("/api/users/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.conflicts").value(1))
+                .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[1].status").value("CONFLICT"))
+                .andExpect(jsonPath("$.items[1].id").doesNotExist());
+
+        verify(userService).createUsers(argThat(users -> users.size() == 2));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve rejeitar o lote inteiro quando algum item é inválido")
+    void shouldRejectBatchWithInvalidItem() throws Exception {
+        // Arrange
+        UserRequestDto invalidRequest = new UserRequestDto("João Silva", "email-invalido", "joaosilva", "senha123");
+        UserBatchRequestDto batchRequest = new UserBatchRequestDto(List.of(validUserRequest, invalidRequest));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/users/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).createUsers(anyList());
+    }
+
     @Test
     @WithMockUser
     @DisplayName("Deve listar todos os usuários com sucesso")
     void shouldGetAllUsersSuccessfully() throws Exception {
         // Arrange
-        User user2 = User.builder()
-                .id(2L)
-                .nome("Maria Santos")
-                .email("maria@email.com")
-                .login("mariasantos")
-                .senha("encodedPassword2")
-                .build();
-
         UserResponseDto response2 = new UserResponseDto(
                 2L,
                 "Maria Santos",
@@ -197,21 +261,83 @@ class UserControllerIntegrationTest {
                 "mariasantos"
         );
 
-        List<User> users = Arrays.asList(user, user2);
+        when(userService.getUsers(null, 50))
+                .thenReturn(new UserPageResponseDto(Arrays.asList(userResponse, response2), "Y3Vyc29y"));
 
-        when(userService.getAllUsers()).thenReturn(users);
-        when(userMapper.toResponseDto(user)).thenReturn(userResponse);
-        when(userMapper.toResponseDto(user2)).thenReturn(response2);
+        // Act & Assert
+        mockMvc.perform(get("/api/users")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].nome").value("João Silva"))
+                .andExpect(jsonPath("$.items[1].nome").value("Maria Santos"))
+                .andExpect(jsonPath("$.next").value("Y3Vyc29y"));
+
+        verify(userService).getUsers(null, 50);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve repassar cursor e limitar o tamanho da página")
+    void shouldPassCursorAndCapLimit() throws Exception {
+        // Arrange
+        when(userService.getUsers("Y3Vyc29y", 500)).thenReturn(new UserPageResponseDto(List.of(userResponse), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users")
+                        .param("cursor", "Y3Vyc29y")
+                        .param("limit", "100000")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.next").doesNotExist());
+
+        verify(userService).getUsers("Y3Vyc29y", 500);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve usar paginação por offset quando informada a página sem cursor")
+    void shouldUseOffsetPaginationWhenPageIsGiven() throws Exception {
+        // Arrange
+        when(userService.getUsersByOffset(3, 20)).thenReturn(new UserPageResponseDto(List.of(), null));
 
         // Act & Assert
         mockMvc.perform(get("/api/users")
+                        .param("page", "3")
+                        .param("limit", "20")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", empty()));
+
+        verify(userService).getUsersByOffset(3, 20);
+        verify(userService, never()).getUsers(any(), anyInt());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve exportar usuários em NDJSON quando solicitado pelo Accept")
+    void shouldExportUsersAsNdjson() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            invocation.<java.io.OutputStream>getArgument(0).write("{\"id\":1}\n".getBytes());
+            return 1L;
+        }).when(userExportService).writeNdjson(any());
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/users")
+                        .accept(MediaType.APPLICATION_NDJSON)
                         .with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].nome").value("João Silva"))
-                .andExpect(jsonPath("$[1].nome").value("Maria Santos"));
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n"));
 
-        verify(userService).getAllUsers();
+        verify(userService, never()).getUsers(any(), anyInt());
     }
 
     @Test
@@ -219,8 +345,7 @@ class UserControllerIntegrationTest {
     @DisplayName("Deve buscar usuário por ID com sucesso")
     void shouldGetUserByIdSuccessfully() throws Exception {
         // Arrange
-        when(userService.getUserById(1L)).thenReturn(Optional.of(user));
-        when(userMapper.toResponseDto(user)).thenReturn(userResponse);
+        when(userService.getUserById(1L)).thenReturn(Optional.of(userResponse));
 
         // Act & Assert
         mockMvc.perform(get("/api/users/1")
@@ -233,6 +358,42 @@ class UserControllerIntegrationTest {
         verify(userService).getUserById(1L);
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("Deve buscar vários usuários por IDs, sem repetir IDs duplicados")
+    void shouldGetUsersByIds() throws Exception {
+        // Arrange
+        when(userService.getUsersByIds(Set.of(1L, 999L)))
+                .thenReturn(new UserMultiGetResponseDto(List.of(userResponse), List.of(999L)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users")
+                        .param("ids", "1,999,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].id").value(1))
+                .andExpect(jsonPath("$.missing[0]").value(999));
+
+        verify(userService, never()).getUsers(any(), anyInt());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve retornar 400 quando a leitura múltipla excede o limite de IDs")
+    void shouldReturnBadRequestWhenTooManyIds() throws Exception {
+        // Arrange
+        String tooMany = LongStream.rangeClosed(1, 101)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users")
+                        .param("ids", tooMany))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Too many ids: 101 (maximum 100)"));
+
+        verify(userService, never()).getUsersByIds(any());
+    }
+
     @Test
     @WithMockUser
     @DisplayName("Deve retornar 404 quando usuário não existe")
@@ -273,14 +434,19 @@ class UserControllerIntegrationTest {
                 "novoLogin"
         );
 
-        when(userService.updateUser(eq(1L), any(User.class))).thenReturn(Optional.of(updatedUser));
+        when(userService.updateUser(eq(1L), any(User.class)))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(updatedUser)));
         when(userMapper.toResponseDto(updatedUser)).thenReturn(updatedResponse);
 
         // Act & Assert
-        mockMvc.perform(put("/api/users/1")
+        MvcResult mvcResult = mockMvc.perform(put("/api/users/1")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.email").value("novoemail@email.com"))
@@ -304,6 +470,44 @@ class UserControllerIntegrationTest {
         verify(userService).deleteUser(1L);
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("Deve deletar usuários em lote com ids repetidos contados uma vez")
+    void shouldDeleteUsersInBulk() throws Exception {
+        // Arrange
+        when(userService.deleteUsers(Set.of(1L, 2L, 3L))).thenReturn(2);
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/users")
+                        .param("ids", "1,2,3,2")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.deleted").value(2));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve retornar erro 400 na exclusão em lote sem ids ou com ids demais")
+    void shouldReturnBadRequestWhenBulkDeleteIdsAreMissingOrTooMany() throws Exception {
+        // Arrange
+        String tooMany = LongStream.rangeClosed(1, 1001)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/users")
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/users")
+                        .param("ids", tooMany)
+                        .with(csrf()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field").value("ids"));
+
+        verify(userService, never()).deleteUsers(any());
+    }
+
     @Test
     @WithMockUser
     @DisplayName("Deve retornar erro 400 quando todos os campos estão vazios")
@@ -328,6 +532,49 @@ class UserControllerIntegrationTest {
         verify(userService, never()).createUser(any(User.class));
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("Deve atualizar parcialmente apenas os campos enviados")
+    void shouldPatchUserSuccessfully() throws Exception {
+        // Arrange
+        when(userService.patchUser(eq(1L), any(User.class))).thenReturn(CompletableFuture.completedFuture(Optional.of(user)));
+        when(userMapper.toResponseDto(user)).thenReturn(userResponse);
+
+        // Act & Assert
+        MvcResult mvcResult = mockMvc.perform(patch("/api/users/1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"novo@email.com\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+
+        verify(userService).patchUser(eq(1L), argThat(changes -> "novo@email.com".equals(changes.getEmail())
+                && changes.getSenha() == null && changes.getLogin() == null && changes.getNome() == null));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve retornar erro 400 no PATCH sem nenhum campo ou com campo inválido")
+    void shouldRejectEmptyOrInvalidPatch() throws Exception {
+        // Act & Assert
+        mockMvc.perform(patch("/api/users/1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(patch("/api/users/1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"senha\": \"123\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).patchUser(any(), any());
+    }
+
     @Test
     @WithMockUser
     @DisplayName("Deve retornar erro 400 quando campos obrigatórios estão ausentes")
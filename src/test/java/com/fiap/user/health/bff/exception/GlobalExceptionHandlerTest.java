@@ -47,6 +47,21 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().getTimestamp()).isNotNull();
     }
 
+    @Test
+    @DisplayName("Deve tratar InvalidCursorException como 400")
+    void shouldHandleInvalidCursorException() {
+        // Arrange
+        InvalidCursorException exception = new InvalidCursorException("abc");
+
+        // Act
+        var response = exceptionHandler.handleInvalidCursorException(exception, request);
+
+        // Assert
+        assertThat(response.getStatusCode().value()).isEqualTo(400);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getMessage()).isEqualTo("Invalid pagination cursor: abc");
+    }
+
     @Test
     @DisplayName("Deve tratar EmailAlreadyExistsException corretamente")
     void shouldHandleEmailAlreadyExistsException() {
@@ -135,6 +150,22 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().getTimestamp()).isNotNull();
     }
 
+    @Test
+    @DisplayName("Deve tratar BlockingIoUnavailableException como 503 com Retry-After")
+    void shouldHandleBlockingIoUnavailableException() {
+        // Arrange
+        BlockingIoUnavailableException exception = new BlockingIoUnavailableException(2);
+
+        // Act
+        var response = exceptionHandler.handleBlockingIoUnavailableException(exception, request);
+
+        // Assert
+        assertThat(response.getStatusCode().value()).isEqualTo(503);
+        assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("2");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getStatus()).isEqualTo(503);
+    }
+
     @Test
     @DisplayName("Deve incluir path correto na resposta de erro")
     void shouldIncludeCorrectPathInErrorResponse() {
@@ -0,0 +1,51 @@
+package com.fiap.user.health.bff.integration;
+
+import com.fiap.user.health.bff.security.LoginRateLimiter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+// Servidor real: o X-Forwarded-For é tratado pelo Tomcat, que o MockMvc não exercita
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Limite de login atrás de proxy - Testes de Integração")
+class LoginThrottlingIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoSpyBean
+    private LoginRateLimiter loginRateLimiter;
+
+    @Test
+    @DisplayName("Deve limitar pelo IP do cliente informado pelo proxy confiável, e não pelo IP do proxy")
+    void shouldThrottleByForwardedClientIp() throws Exception {
+        // Arrange - a conexão vem de 127.0.0.1, um proxy interno
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", "203.0.113.7")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"proxy@email.com\",\"password\":\"senha123\"}"))
+                .build();
+
+        // Act
+        HttpResponse<String> response;
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        }
+
+        // Assert
+        assertThat(response.statusCode()).isEqualTo(401);
+        verify(loginRateLimiter).tryAcquire("203.0.113.7", "proxy@email.com");
+    }
+}
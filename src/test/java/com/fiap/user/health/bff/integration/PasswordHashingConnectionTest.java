@@ -0,0 +1,214 @@
+package com.fiap.user.health.bff.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.user.health.bff.dto.request.UserCredentialsRequestDto;
+import com.fiap.user.health.bff.dto.request.UserRequestDto;
+import com.fiap.user.health.bff.persistence.entity.UserEntity;
+import com.fiap.user.health.bff.persistence.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Hash de senha fora da transação - Testes de Integração")
+class PasswordHashingConnectionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockitoSpyBean
+    private PasswordEncoder passwordEncoder;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Conexões ativas no Hikari e transação ativa, capturadas no instante do hash
+    private final List<Integer> activeConnectionsDuringHash = new CopyOnWriteArrayList<>();
+    private final List<Boolean> transactionActiveDuringHash = new CopyOnWriteArrayList<>();
+    private final List<String> hashingThreads = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        activeConnectionsDuringHash.clear();
+        transactionActiveDuringHash.clear();
+        hashingThreads.clear();
+
+        doAnswer(invocation -> {
+            capturePoolState();
+            return invocation.callRealMethod();
+        }).when(passwordEncoder).encode(any());
+
+        doAnswer(invocation -> {
+            capturePoolState();
+            return invocation.callRealMethod();
+        }).when(passwordEncoder).matches(any(), anyString());
+    }
+
+    private void capturePoolState() {
+        HikariDataSource hikari = (HikariDataSource) dataSource;
+        activeConnectionsDuringHash.add(hikari.getHikariPoolMXBean().getActiveConnections());
+        transactionActiveDuringHash.add(TransactionSynchronizationManager.isActualTransactionActive());
+        hashingThreads.add(Thread.currentThread().getName());
+    }
+
+    // Endpoints que fazem hash de senha respondem de forma assíncrona: aguarda e despacha o resultado
+    private ResultActions performAndAwait(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+
+    @Test
+    @DisplayName("Deve criar usuário sem segurar conexão durante o BCrypt")
+    void shouldNotHoldConnectionWhileHashingOnCreate() throws Exception {
+        // Arrange
+        UserRequestDto request = new UserRequestDto("Ana Souza", "ana@email.com", "anasouza", "senhaSegura123");
+
+        // Act
+        performAndAwait(post("/api/users")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        // Assert
+        assertThat(activeConnectionsDuringHash).containsOnly(0);
+        assertThat(transactionActiveDuringHash).containsOnly(false);
+    }
+
+    @Test
+    @DisplayName("Deve realizar login e trocar senha sem segurar conexão durante o BCrypt")
+    void shouldNotHoldConnectionWhileHashingOnLoginAndPasswordUpdate() throws Exception {
+        // Arrange
+        userRepository.save(UserEntity.builder()
+                .nome("Bruno Lima")
+                .email("bruno@email.com")
+                .login("brunolima")
+                .senha(passwordEncoder.encode("senhaSegura123"))
+                .build());
+        // Hash já no custo atual (sem re-hash no login); descarta a captura feita pelo próprio Arrange
+        activeConnectionsDuringHash.clear();
+        transactionActiveDuringHash.clear();
+        hashingThreads.clear();
+
+        // Act
+        performAndAwait(post("/api/v1/auth/login")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UserCredentialsRequestDto("bruno@email.com", "senhaSegura123"))))
+                .andExpect(status().isOk());
+
+        performAndAwait(patch("/api/v1/auth/password")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UserCredentialsRequestDto("bruno@email.com", "novaSenhaSegura456"))))
+                .andExpect(status().isNoContent());
+
+        // Assert
+        assertThat(activeConnectionsDuringHash).hasSize(2).containsOnly(0);
+        assertThat(transactionActiveDuringHash).containsOnly(false);
+        assertThat(hashingThreads).allMatch(name -> name.startsWith("password-hashing-"));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve atualizar usuário sem segurar conexão durante o BCrypt")
+    void shouldNotHoldConnectionWhileHashingOnUpdate() throws Exception {
+        // Arrange
+        UserEntity saved = userRepository.save(UserEntity.builder()
+                .nome("Carla Dias")
+                .email("carla@email.com")
+                .login("carladias")
+                .senha("$2a$10$encodedPassword")
+                .build());
+
+        String updateJson = """
+                {
+                    "email": "carla.nova@email.com",
+                    "login": "carlanova",
+                    "senha": "novaSenhaSegura456"
+                }
+                """;
+
+        // Act
+        performAndAwait(put("/api/users/" + saved.getId())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateJson))
+                .andExpect(status().isOk());
+
+        // Assert
+        assertThat(activeConnectionsDuringHash).containsOnly(0);
+        assertThat(transactionActiveDuringHash).containsOnly(false);
+        assertThat(userRepository.findById(saved.getId()).orElseThrow().getEmail())
+                .isEqualTo("carla.nova@email.com");
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve preservar alteração confirmada por outra requisição durante o hash do PATCH")
+    void shouldKeepConcurrentUpdateCommittedWhileHashingOnPatch() throws Exception {
+        // Arrange
+        UserEntity saved = userRepository.save(UserEntity.builder()
+                .nome("Daniela Rocha")
+                .email("daniela@email.com")
+                .login("danielarocha")
+                .senha("$2a$10$encodedPassword")
+                .build());
+        // Outra requisição confirma a troca do nome enquanto o hash da senha nova roda
+        doAnswer(invocation -> {
+            UserEntity concurrent = userRepository.findById(saved.getId()).orElseThrow();
+            concurrent.setNome("Daniela Concorrente");
+            userRepository.save(concurrent);
+            return invocation.callRealMethod();
+        }).when(passwordEncoder).encode("novaSenhaSegura456");
+
+        // Act
+        performAndAwait(patch("/api/users/" + saved.getId())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"senha\": \"novaSenhaSegura456\"}"))
+                .andExpect(status().isOk());
+
+        // Assert
+        UserEntity patched = userRepository.findById(saved.getId()).orElseThrow();
+        assertThat(patched.getNome()).isEqualTo("Daniela Concorrente");
+        assertThat(passwordEncoder.matches("novaSenhaSegura456", patched.getSenha())).isTrue();
+    }
+}
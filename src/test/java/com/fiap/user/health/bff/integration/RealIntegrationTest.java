@@ -1,25 +1,31 @@
 package com.fiap.user.health.bff.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.user.health.bff.dto.request.RefreshTokenRequestDto;
 import com.fiap.user.health.bff.dto.request.UserCredentialsRequestDto;
 import com.fiap.user.health.bff.dto.request.UserRequestDto;
 import com.fiap.user.health.bff.dto.request.UserUpdateRequestDto;
 import com.fiap.user.health.bff.dto.response.UserResponseDto;
 import com.fiap.user.health.bff.persistence.entity.UserEntity;
 import com.fiap.user.health.bff.persistence.repository.UserRepository;
+import com.fiap.user.health.bff.security.jwt.TokenIssuer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Instant;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -31,7 +37,6 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
-@Transactional
 @DisplayName("Testes de Integração REAIS - Controllers + Services + Repository")
 class RealIntegrationTest {
 
@@ -42,7 +47,10 @@ class RealIntegrationTest {
     private UserRepository userRepository;
 
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TokenIssuer tokenIssuer;
 
     @BeforeEach
     void setUp() {
@@ -50,6 +58,13 @@ class RealIntegrationTest {
         userRepository.deleteAll();
     }
 
+    // Endpoints que fazem hash de senha respondem de forma assíncrona: aguarda e despacha o resultado
+    private ResultActions performAndAwait(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+
     @Test
     @DisplayName("Integração REAL: Deve cadastrar usuário e persistir no banco")
     @WithMockUser
@@ -64,7 +79,7 @@ class RealIntegrationTest {
         );
 
         // Act - Cadastrar através da API
-        MvcResult result = mockMvc.perform(post("/api/users")
+        MvcResult result = performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(createRequest)))
@@ -84,7 +99,7 @@ class RealIntegrationTest {
         assertThat(savedEntity.getNome()).isEqualTo("Ana Paula Silva");
         assertThat(savedEntity.getEmail()).isEqualTo("ana.silva@email.com");
         assertThat(savedEntity.getLogin()).isEqualTo("anapaula");
-        assertThat(savedEntity.getSenha()).startsWith("$2a$10$"); // Senha criptografada
+        assertThat(savedEntity.getSenha()).startsWith("{bcrypt}$2a$"); // Senha criptografada
 
         // Verificar que a senha foi criptografada corretamente
         assertThat(passwordEncoder.matches("senhaSegura123", savedEntity.getSenha())).isTrue();
@@ -125,10 +140,10 @@ class RealIntegrationTest {
                         .with(csrf()))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(3)))
-                .andExpect(jsonPath("$[*].nome", containsInAnyOrder(
+                .andExpect(jsonPath("$.items", hasSize(3)))
+                .andExpect(jsonPath("$.items[*].nome", containsInAnyOrder(
                         "João Santos", "Maria Oliveira", "Pedro Costa")))
-                .andExpect(jsonPath("$[*].email", containsInAnyOrder(
+                .andExpect(jsonPath("$.items[*].email", containsInAnyOrder(
                         "joao@email.com", "maria@email.com", "pedro@email.com")));
 
         // Verificar que a query real retornou os dados do banco
@@ -136,6 +151,36 @@ class RealIntegrationTest {
         assertThat(countInDb).isEqualTo(3);
     }
 
+    @Test
+    @DisplayName("Integração REAL: Deve exportar todos os usuários em NDJSON, em ordem de id")
+    @WithMockUser
+    void shouldExportAllUsersAsNdjson() throws Exception {
+        // Arrange
+        for (String nome : new String[]{"Ana", "Bruno", "Carla"}) {
+            userRepository.save(UserEntity.builder()
+                    .nome(nome)
+                    .email(nome.toLowerCase() + "@email.com")
+                    .login(nome.toLowerCase() + "login")
+                    .senha("hash")
+                    .build());
+        }
+
+        // Act
+        String body = performAndAwait(get("/api/users")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).contains("\"nome\":\"Ana\"").doesNotContain("senha");
+        assertThat(lines[2]).contains("\"email\":\"carla@email.com\"");
+        assertThat(body).endsWith("\n");
+    }
+
     @Test
     @DisplayName("Integração REAL: Deve buscar usuário por ID com query real")
     @WithMockUser
@@ -186,7 +231,7 @@ class RealIntegrationTest {
                 "senhaNova456"
         );
 
-        mockMvc.perform(put("/api/users/" + userId)
+        performAndAwait(put("/api/users/" + userId)
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updateRequest)))
@@ -204,6 +249,35 @@ class RealIntegrationTest {
         assertThat(updatedUser.getNome()).isEqualTo("Fernanda Lima"); // Nome não mudou
     }
 
+    @Test
+    @DisplayName("Integração REAL: Deve atualizar parcialmente sem tocar na senha gravada")
+    @WithMockUser
+    void shouldPatchUserKeepingStoredPassword() throws Exception {
+        // Arrange
+        String storedHash = passwordEncoder.encode("senhaAntiga123");
+        UserEntity originalUser = userRepository.save(UserEntity.builder()
+                .nome("Gabriela Reis")
+                .email("gabriela@email.com")
+                .login("gabrielareis")
+                .senha(storedHash)
+                .build());
+
+        // Act
+        performAndAwait(patch("/api/users/" + originalUser.getId())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"login\": \"gabireis\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.login").value("gabireis"))
+                .andExpect(jsonPath("$.email").value("gabriela@email.com"));
+
+        // Assert
+        UserEntity patchedUser = userRepository.findById(originalUser.getId()).orElseThrow();
+        assertThat(patchedUser.getLogin()).isEqualTo("gabireis");
+        assertThat(patchedUser.getNome()).isEqualTo("Gabriela Reis");
+        assertThat(patchedUser.getSenha()).isEqualTo(storedHash);
+    }
+
     @Test
     @DisplayName("Integração REAL: Deve atualizar senha e verificar no banco")
     @WithMockUser
@@ -225,7 +299,7 @@ class RealIntegrationTest {
                 "senhaNovaSuperSegura456"
         );
 
-        mockMvc.perform(patch("/api/v1/auth/password")
+        performAndAwait(patch("/api/v1/auth/password")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updatePasswordRequest)))
@@ -259,7 +333,7 @@ class RealIntegrationTest {
                 "senhaParaLogin123"
         );
 
-        MvcResult result = mockMvc.perform(post("/api/v1/auth/login")
+        MvcResult result = performAndAwait(post("/api/v1/auth/login")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequest)))
@@ -284,6 +358,191 @@ class RealIntegrationTest {
         assertThat(jwtParts).hasSize(3); // Header.Payload.Signature
     }
 
+    @Test
+    @DisplayName("Integração REAL: Deve rotacionar o refresh token e revogar a família quando reutilizado")
+    void shouldRotateRefreshTokenAndRevokeFamilyOnReuse() throws Exception {
+        // Arrange - Criar usuário e fazer login
+        userRepository.save(UserEntity.builder()
+                .nome("Refresh User")
+                .email("refresh@email.com")
+                .login("refreshuser")
+                .senha(passwordEncoder.encode("senhaRefresh123"))
+                .build());
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        MvcResult login = performAndAwait(post("/api/v1/auth/login")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UserCredentialsRequestDto("refresh@email.com", "senhaRefresh123"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.refreshToken").isString())
+                .andReturn();
+        String firstRefresh = objectMapper.readTree(login.getResponse().getContentAsString()).get("refreshToken").asText();
+
+        // Act - Renovar com o refresh token recebido no login
+        MvcResult refreshed = mockMvc.perform(post("/api/v1/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDto(firstRefresh))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessToken").isString())
+                .andExpect(jsonPath("$.expiresIn").value(3600))
+                .andReturn();
+        String secondRefresh = objectMapper.readTree(refreshed.getResponse().getContentAsString()).get("refreshToken").asText();
+        assertThat(secondRefresh).isNotEqualTo(firstRefresh);
+
+        // Assert - Reapresentar o primeiro token falha e revoga também o segundo
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDto(firstRefresh))))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDto(secondRefresh))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String loginAndGetRefreshToken(String email, String senha) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        MvcResult login = performAndAwait(post("/api/v1/auth/login")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserCredentialsRequestDto(email, senha))))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(login.getResponse().getContentAsString()).get("refreshToken").asText();
+    }
+
+    @Test
+    @DisplayName("Integração REAL: Deve rejeitar refresh token emitido antes da troca de senha pelo PUT")
+    @WithMockUser
+    void shouldRejectRefreshTokenAfterPasswordChangeByPut() throws Exception {
+        // Arrange
+        UserEntity user = userRepository.save(UserEntity.builder()
+                .nome("Helena Prado")
+                .email("helena@email.com")
+                .login("helenaprado")
+                .senha(passwordEncoder.encode("senhaAntiga123"))
+                .build());
+        String refreshToken = loginAndGetRefreshToken("helena@email.com", "senhaAntiga123");
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        // Act
+        performAndAwait(put("/api/users/" + user.getId())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UserUpdateRequestDto("helena@email.com", "helenaprado", "senhaNova456"))))
+                .andExpect(status().isOk());
+
+        // Assert
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDto(refreshToken))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Integração REAL: Deve rejeitar refresh token emitido antes da troca de senha pelo PATCH")
+    @WithMockUser
+    void shouldRejectRefreshTokenAfterPasswordChangeByPatch() throws Exception {
+        // Arrange
+        UserEntity user = userRepository.save(UserEntity.builder()
+                .nome("Isabela Matos")
+                .email("isabela@email.com")
+                .login("isabelamatos")
+                .senha(passwordEncoder.encode("senhaAntiga123"))
+                .build());
+        String refreshToken = loginAndGetRefreshToken("isabela@email.com", "senhaAntiga123");
+
+        // Act
+        performAndAwait(patch("/api/users/" + user.getId())
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"senha\": \"senhaNova456\"}"))
+                .andExpect(status().isOk());
+
+        // Assert
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(new RefreshTokenRequestDto(refreshToken))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Integração REAL: Deve recusar o access token e o refresh token depois do logout")
+    void shouldRejectAccessAndRefreshTokenAfterLogout() throws Exception {
+        // Arrange
+        UserEntity user = userRepository.save(UserEntity.builder()
+                .nome("Joana Reis")
+                .email("joana@email.com")
+                .login("joanareis")
+                .senha(passwordEncoder.encode("senhaSegura123"))
+                .build());
+        ObjectMapper objectMapper = new ObjectMapper();
+        MvcResult login = performAndAwait(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UserCredentialsRequestDto("joana@email.com", "senhaSegura123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+        String accessToken = objectMapper.readTree(login.getResponse().getContentAsString()).get("accessToken").asText();
+        String refreshToken = objectMapper.readTree(login.getResponse().getContentAsString()).get("refreshToken").asText();
+        String otherSession = loginAndGetRefreshToken("joana@email.com", "senhaSegura123");
+
+        // Act
+        mockMvc.perform(post("/api/v1/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDto(refreshToken))))
+                .andExpect(status().isNoContent());
+
+        // Assert - só a sessão encerrada deixa de valer
+        mockMvc.perform(get("/api/users/" + user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDto(refreshToken))))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequestDto(otherSession))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Integração REAL: Deve rejeitar token emitido antes da troca de senha")
+    void shouldRejectTokenIssuedBeforePasswordChange() throws Exception {
+        // Arrange - Token emitido no mesmo segundo da troca de senha
+        UserEntity user = userRepository.save(UserEntity.builder()
+                .nome("Revocation User")
+                .email("revocation@email.com")
+                .login("revocationuser")
+                .senha(passwordEncoder.encode("senhaAntiga123"))
+                .build());
+        Instant issuedAt = Instant.now();
+        String oldToken = tokenIssuer.issue(user, issuedAt, issuedAt.plusSeconds(3600));
+
+        mockMvc.perform(get("/api/users/" + user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + oldToken))
+                .andExpect(status().isOk());
+
+        // Act - Trocar a senha
+        ObjectMapper objectMapper = new ObjectMapper();
+        performAndAwait(patch("/api/v1/auth/password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UserCredentialsRequestDto("revocation@email.com", "senhaNova123"))))
+                .andExpect(status().isNoContent());
+
+        // Assert - O token antigo (inclusive já em cache no decoder) deixa de valer
+        mockMvc.perform(get("/api/users/" + user.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + oldToken))
+                .andExpect(status().isUnauthorized());
+    }
+
     @Test
     @DisplayName("Integração REAL: Deve falhar login com senha incorreta")
     void shouldFailLoginWithWrongPassword() throws Exception {
@@ -302,7 +561,7 @@ class RealIntegrationTest {
                 "senhaErrada123"
         );
 
-        mockMvc.perform(post("/api/v1/auth/login")
+        performAndAwait(post("/api/v1/auth/login")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(wrongPasswordLogin)))
@@ -336,6 +595,37 @@ class RealIntegrationTest {
         assertThat(userRepository.findById(userId)).isEmpty();
     }
 
+    @Test
+    @DisplayName("Integração REAL: Deve deletar usuários em lote e ignorar ids inexistentes")
+    @WithMockUser
+    void shouldDeleteUsersInBulkAndIgnoreUnknownIds() throws Exception {
+        // Arrange
+        Long first = userRepository.save(UserEntity.builder()
+                .nome("Bulk Um")
+                .email("bulk1@email.com")
+                .login("bulkum")
+                .senha(passwordEncoder.encode("senha123"))
+                .build()).getId();
+        Long second = userRepository.save(UserEntity.builder()
+                .nome("Bulk Dois")
+                .email("bulk2@email.com")
+                .login("bulkdois")
+                .senha(passwordEncoder.encode("senha123"))
+                .build()).getId();
+
+        // Act
+        mockMvc.perform(delete("/api/users")
+                        .param("ids", first + "," + second + ",999999")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.deleted").value(2));
+
+        // Assert
+        assertThat(userRepository.existsById(first)).isFalse();
+        assertThat(userRepository.existsById(second)).isFalse();
+    }
+
     @Test
     @DisplayName("Integração REAL: Deve impedir cadastro com email duplicado")
     @WithMockUser
@@ -357,7 +647,7 @@ class RealIntegrationTest {
                 "senha456"
         );
 
-        mockMvc.perform(post("/api/users")
+        performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(duplicateEmailRequest)))
@@ -403,8 +693,8 @@ class RealIntegrationTest {
                         .with(csrf()))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(0)))
-                .andExpect(jsonPath("$", empty()));
+                .andExpect(jsonPath("$.items", hasSize(0)))
+                .andExpect(jsonPath("$.items", empty()));
     }
 
     @Test
@@ -435,7 +725,7 @@ class RealIntegrationTest {
         );
 
         // Act & Assert
-        mockMvc.perform(post("/api/users")
+        performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(invalidEmailRequest)))
@@ -460,7 +750,7 @@ class RealIntegrationTest {
         );
 
         // Act & Assert
-        mockMvc.perform(post("/api/users")
+        performAndAwait(post("/api/users")
                         .with(csrf())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(shortPasswordRequest)))
@@ -0,0 +1,231 @@
+package com.fiap.user.health.bff.integration;
+
+import com.fiap.user.health.bff.persistence.entity.UserEntity;
+import com.fiap.user.health.bff.persistence.repository.UserRepository;
+import com.fiap.user.health.bff.security.revocation.UsersRevokedEvent;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=true")
+@ActiveProfiles("test")
+@DisplayName("Cache de segundo nível e de natural id - Testes de Integração")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    private UserEntity saveUser(String email) {
+        return userRepository.save(UserEntity.builder()
+                .nome("Cache Test")
+                .email(email)
+                .login("cachetest")
+                .senha("{bcrypt}$2a$04$hash")
+                .build());
+    }
+
+    @Test
+    @DisplayName("Deve resolver o email pela memória depois da primeira busca")
+    void shouldServeEmailLookupFromMemoryAfterFirstLoad() {
+        // Arrange
+        Long id = saveUser("l2@email.com").getId();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        // Act
+        Optional<UserEntity> first = userRepository.findByEmail("l2@email.com");
+        long statementsAfterFirst = statistics.getPrepareStatementCount();
+        Optional<UserEntity> second = userRepository.findByEmail("l2@email.com");
+
+        // Assert
+        assertThat(first).map(UserEntity::getId).contains(id);
+        assertThat(second).map(UserEntity::getId).contains(id);
+        // A segunda busca não vai ao banco
+        assertThat(statementsAfterFirst).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getNaturalIdCacheHitCount()).isPositive();
+        assertThat(statistics.getDomainDataRegionStatistics("users").getHitCount()).isPositive();
+        assertThat(meterRegistry.get("hibernate.cache.natural.id.requests").tag("result", "hit")
+                .functionCounter().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Deve acompanhar a troca de email no cache de natural id")
+    void shouldFollowEmailChangeInNaturalIdCache() {
+        // Arrange
+        UserEntity user = saveUser("antigo@email.com");
+        userRepository.findByEmail("antigo@email.com");
+
+        // Act
+        user.setEmail("novo@email.com");
+        userRepository.save(user);
+
+        // Assert
+        assertThat(userRepository.findByEmail("antigo@email.com")).isEmpty();
+        assertThat(userRepository.findByEmail("novo@email.com")).map(UserEntity::getId).contains(user.getId());
+    }
+
+    @Test
+    @DisplayName("Deve esquecer o usuário removido")
+    void shouldForgetRemovedUser() {
+        // Arrange
+        UserEntity user = saveUser("removido@email.com");
+        userRepository.findByEmail("removido@email.com");
+
+        // Act
+        userRepository.removeById(user.getId());
+
+        // Assert - entidade e resolução email -> id saem do cache, sem depender da conferência do email
+        assertThat(entityManagerFactory.getCache().contains(UserEntity.class, user.getId())).isFalse();
+        statistics.clear();
+        assertThat(userRepository.findByEmail("removido@email.com")).isEmpty();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isZero();
+        assertThat(userRepository.findById(user.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve remover usuários com um único comando e descartar do cache só os removidos")
+    void shouldRemoveWithSingleStatementAndEvictOnlyRemovedUsers() {
+        // Arrange
+        UserEntity first = saveUser("lote1@email.com");
+        UserEntity second = saveUser("lote2@email.com");
+        UserEntity kept = saveUser("fora@email.com");
+        userRepository.findByEmail("lote1@email.com");
+        userRepository.findByEmail("lote2@email.com");
+        userRepository.findByEmail("fora@email.com");
+        statistics.clear();
+
+        // Act
+        List<String> emails = userRepository.removeAllById(List.of(first.getId(), second.getId(), 999_999L));
+
+        // Assert
+        assertThat(emails).containsExactlyInAnyOrder("lote1@email.com", "lote2@email.com");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(entityManagerFactory.getCache().contains(UserEntity.class, first.getId())).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(UserEntity.class, second.getId())).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(UserEntity.class, kept.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve manter os demais usuários em cache ao remover um usuário e refazer o hash de outro")
+    void shouldKeepOtherEntriesOnRemoveAndRehash() {
+        // Arrange
+        UserEntity removed = saveUser("sai@email.com");
+        UserEntity rehashed = saveUser("rehash@email.com");
+        saveUser("fica@email.com");
+        userRepository.findByEmail("sai@email.com");
+        userRepository.findByEmail("rehash@email.com");
+        userRepository.findByEmail("fica@email.com");
+
+        // Act
+        userRepository.removeById(removed.getId());
+        userRepository.updateSenhaIfUnchanged(rehashed.getId(), rehashed.getSenha(), "{bcrypt}$2a$05$novo");
+        statistics.clear();
+        Optional<UserEntity> kept = userRepository.findByEmail("fica@email.com");
+
+        // Assert - sem DML em massa, as regiões não são descartadas inteiras
+        assertThat(kept).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(userRepository.findByEmail("rehash@email.com")).map(UserEntity::getSenha)
+                .contains("{bcrypt}$2a$05$novo");
+    }
+
+    @Test
+    @DisplayName("Deve recusar a resolução de email antiga depois da revogação vinda de outra instância")
+    void shouldRejectStaleNaturalIdAfterRemoteEmailChange() {
+        // Arrange - outra instância troca o email direto no banco e revoga o usuário
+        UserEntity user = saveUser("velho@email.com");
+        userRepository.findByEmail("velho@email.com");
+        jdbcTemplate.update("update usuarios set email = ? where id = ?", "outro@email.com", user.getId());
+
+        // Act
+        eventPublisher.publishEvent(new UsersRevokedEvent(Set.of(user.getId())));
+
+        // Assert
+        assertThat(userRepository.findByEmail("velho@email.com")).isEmpty();
+        assertThat(userRepository.findByEmail("outro@email.com")).map(UserEntity::getId).contains(user.getId());
+    }
+
+    @Test
+    @DisplayName("Deve usar no perfil prod o TTL de 15s nas regiões do cache de segundo nível")
+    void shouldUseProdTtlForSecondLevelCacheRegions() throws Exception {
+        // Arrange
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+
+        // Act
+        try (CacheManager prod = provider.getCacheManager(new URI("classpath:application-prod.conf"),
+                getClass().getClassLoader())) {
+
+            // Assert
+            for (String region : List.of("users", "users-by-email")) {
+                Cache<Object, Object> cache = prod.getCache(region, Object.class, Object.class);
+                com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine =
+                        cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+                assertThat(caffeine.policy().expireAfterWrite())
+                        .hasValueSatisfying(expiration ->
+                                assertThat(expiration.getExpiresAfter()).isEqualTo(Duration.ofSeconds(15)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ler a senha gravada no banco, e não a do cache, na busca sem cache")
+    void shouldBypassSecondLevelCacheOnUncachedLookup() {
+        // Arrange - a linha muda por fora do Hibernate depois de entrar no cache
+        UserEntity user = saveUser("semcache@email.com");
+        userRepository.findByEmail("semcache@email.com");
+        jdbcTemplate.update("update usuarios set senha = ? where id = ?", "{bcrypt}$2a$04$novo", user.getId());
+
+        // Act
+        Optional<UserEntity> cached = userRepository.findByEmail("semcache@email.com");
+        Optional<UserEntity> uncached = userRepository.findByEmailUncached("semcache@email.com");
+
+        // Assert
+        assertThat(cached).map(UserEntity::getSenha).contains("{bcrypt}$2a$04$hash");
+        assertThat(uncached).map(UserEntity::getSenha).contains("{bcrypt}$2a$04$novo");
+    }
+}
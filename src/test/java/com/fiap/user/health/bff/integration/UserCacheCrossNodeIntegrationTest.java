@@ -0,0 +1,123 @@
+package com.fiap.user.health.bff.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.user.health.bff.dto.request.UserCredentialsRequestDto;
+import com.fiap.user.health.bff.persistence.entity.RevokedTokenEntity;
+import com.fiap.user.health.bff.persistence.entity.UserEntity;
+import com.fiap.user.health.bff.persistence.repository.RevokedTokenRepository;
+import com.fiap.user.health.bff.persistence.repository.UserRepository;
+import com.fiap.user.health.bff.security.revocation.TokenRevocationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Este contexto faz o papel de um nó; as escritas de "outra instância" vão direto ao banco, sem passar pelo cache
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "users.cache.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Cache de usuários entre instâncias - Testes de Integração")
+class UserCacheCrossNodeIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+    }
+
+    private ResultActions login(String email, String password) throws Exception {
+        ResultActions actions = mockMvc.perform(post("/api/v1/auth/login")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UserCredentialsRequestDto(email, password))));
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+
+    // Outra instância grava a revogação por usuário, como faz na troca de credencial e na exclusão
+    private void revokeOnOtherNode(Long userId) {
+        Instant issuedBefore = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        revokedTokenRepository.save(RevokedTokenEntity.builder()
+                .revocationKey("sub:" + userId)
+                .issuedBefore(issuedBefore)
+                .expiresAt(issuedBefore.plus(Duration.ofHours(1)))
+                .build());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a senha antiga depois que outra instância troca a senha e a revogação é sincronizada")
+    void shouldRejectOldPasswordAfterRemotePasswordChange() throws Exception {
+        // Arrange - o login guarda a conta no cache deste nó
+        UserEntity user = userRepository.save(UserEntity.builder()
+                .nome("Elisa Moura")
+                .email("elisa@email.com")
+                .login("elisamoura")
+                .senha(passwordEncoder.encode("senhaAntiga123"))
+                .build());
+        login("elisa@email.com", "senhaAntiga123").andExpect(status().isOk());
+
+        // Act - outra instância troca a senha e revoga os tokens do usuário
+        user.setSenha(passwordEncoder.encode("senhaNova456"));
+        userRepository.save(user);
+        revokeOnOtherNode(user.getId());
+        tokenRevocationService.synchronize();
+
+        // Assert
+        login("elisa@email.com", "senhaAntiga123").andExpect(status().isUnauthorized());
+        login("elisa@email.com", "senhaNova456").andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Deve recusar o login de usuário excluído por outra instância depois da sincronização")
+    void shouldRejectLoginOfUserDeletedOnOtherNode() throws Exception {
+        // Arrange
+        UserEntity user = userRepository.save(UserEntity.builder()
+                .nome("Fabio Nunes")
+                .email("fabio@email.com")
+                .login("fabionunes")
+                .senha(passwordEncoder.encode("senhaSegura123"))
+                .build());
+        login("fabio@email.com", "senhaSegura123").andExpect(status().isOk());
+
+        // Act
+        userRepository.deleteById(user.getId());
+        revokeOnOtherNode(user.getId());
+        tokenRevocationService.synchronize();
+
+        // Assert
+        login("fabio@email.com", "senhaSegura123").andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,296 @@
+package com.fiap.user.health.bff.integration;
+
+import com.fiap.user.health.bff.persistence.entity.UserEntity;
+import com.fiap.user.health.bff.persistence.entity.UserExportJobEntity;
+import com.fiap.user.health.bff.persistence.repository.UserExportJobRepository;
+import com.fiap.user.health.bff.persistence.repository.UserRepository;
+import com.fiap.user.health.bff.security.jwt.TokenIssuer;
+import com.fiap.user.health.bff.service.user.UserExportJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Exportação de usuários em segundo plano - Testes de Integração")
+class UserExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserExportJobRepository jobRepository;
+
+    @Autowired
+    private TokenIssuer tokenIssuer;
+
+    @Autowired
+    private UserExportJobService userExportJobService;
+
+    @LocalServerPort
+    private int port;
+
+    private UserEntity ana;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        jobRepository.deleteAll();
+        ana = userRepository.save(UserEntity.builder()
+                .nome("Ana Souza").email("ana@email.com").login("anasouza").senha("hash").build());
+        userRepository.save(UserEntity.builder()
+                .nome("Bia Lima").email("bia@email.com").login("bialima").senha("hash").build());
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve gerar NDJSON comprimido e servir o download inteiro e por Range")
+    void shouldExportNdjsonAndServeRanges() throws Exception {
+        // Arrange
+        UUID id = startExport("NDJSON");
+
+        // Act
+        UserExportJobEntity job = awaitCompletion(id);
+        byte[] file = mockMvc.perform(get("/api/users/exports/{id}/file", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/gzip"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] tail = mockMvc.perform(get("/api/users/exports/{id}/file", id)
+                        .header(HttpHeaders.RANGE, "bytes=10-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-" + (file.length - 1) + "/" + file.length))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        assertThat(job.getStatus()).isEqualTo(UserExportJobEntity.Status.COMPLETED);
+        assertThat(job.getRowCount()).isEqualTo(2);
+        assertThat(job.getSizeBytes()).isEqualTo(file.length);
+        assertThat(gunzip(file).lines()).hasSize(2)
+                .first().asString().contains("\"email\":\"ana@email.com\"").doesNotContain("senha");
+        assertThat(tail).isEqualTo(Arrays.copyOfRange(file, 10, file.length));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve gerar CSV comprimido com cabeçalho")
+    void shouldExportCsv() throws Exception {
+        // Arrange
+        UUID id = startExport("CSV");
+
+        // Act
+        awaitCompletion(id);
+        byte[] file = mockMvc.perform(get("/api/users/exports/{id}/file", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        assertThat(gunzip(file)).isEqualTo("id,nome,email,login\n"
+                + ana.getId() + ",Ana Souza,ana@email.com,anasouza\n"
+                + (ana.getId() + 1) + ",Bia Lima,bia@email.com,bialima\n");
+    }
+
+    @Test
+    @DisplayName("Deve servir o arquivo pelo Tomcat com sendfile, inteiro e a partir de um offset")
+    void shouldServeFileWithSendfileOverHttp() throws Exception {
+        // Arrange
+        String token = tokenIssuer.issue(ana, Instant.now(), Instant.now().plusSeconds(300));
+        UUID id = UUID.fromString(send(HttpRequest.newBuilder(uri("/api/users/exports"))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.noBody()), HttpResponse.BodyHandlers.ofString())
+                .body().replaceAll(".*\"id\":\"([^\"]+)\".*", "$1"));
+        awaitCompletion(id);
+
+        // Act
+        HttpResponse<byte[]> whole = send(HttpRequest.newBuilder(uri("/api/users/exports/" + id + "/file"))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token), HttpResponse.BodyHandlers.ofByteArray());
+        HttpResponse<byte[]> range = send(HttpRequest.newBuilder(uri("/api/users/exports/" + id + "/file"))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.RANGE, "bytes=5-14"), HttpResponse.BodyHandlers.ofByteArray());
+
+        // Assert
+        assertThat(whole.statusCode()).isEqualTo(200);
+        assertThat(gunzip(whole.body()).lines()).hasSize(2);
+        assertThat(range.statusCode()).isEqualTo(206);
+        assertThat(range.headers().firstValue(HttpHeaders.CONTENT_RANGE))
+                .hasValue("bytes 5-14/" + whole.body().length);
+        assertThat(range.body()).isEqualTo(Arrays.copyOfRange(whole.body(), 5, 15));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve entregar o arquivo inteiro ao sendfile do Tomcat pelos atributos da requisição")
+    void shouldSetSendfileAttributesOnFullBodyGet() throws Exception {
+        // Arrange
+        UserExportJobEntity job = awaitCompletion(startExport("NDJSON"));
+
+        // Act & Assert - o corpo fica vazio: quem copia o arquivo para o socket é o conector
+        mockMvc.perform(get("/api/users/exports/{id}/file", job.getId())
+                        .requestAttr("org.apache.tomcat.sendfile.support", true))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, job.getSizeBytes()))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.filename",
+                        Path.of(job.getFilePath()).toAbsolutePath().toString()))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.start", 0L))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.end", job.getSizeBytes()))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve responder pelo Spring, sem sendfile, a vários intervalos e a intervalo inválido")
+    void shouldFallBackWithoutSendfileForMultipleAndInvalidRanges() throws Exception {
+        // Arrange
+        UserExportJobEntity job = awaitCompletion(startExport("NDJSON"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/exports/{id}/file", job.getId())
+                        .requestAttr("org.apache.tomcat.sendfile.support", true)
+                        .header(HttpHeaders.RANGE, "bytes=0-4,10-14"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("multipart/byteranges")))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.filename", nullValue()));
+        mockMvc.perform(get("/api/users/exports/{id}/file", job.getId())
+                        .requestAttr("org.apache.tomcat.sendfile.support", true)
+                        .header(HttpHeaders.RANGE, "bytes=" + job.getSizeBytes() + "-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.filename", nullValue()));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve indicar a instância dona quando o arquivo foi gerado em outra instância")
+    void shouldNameOwningNodeWhenFileIsOnAnotherInstance() throws Exception {
+        // Arrange
+        Instant now = Instant.now();
+        UserExportJobEntity job = jobRepository.save(UserExportJobEntity.builder()
+                .id(UUID.randomUUID())
+                .status(UserExportJobEntity.Status.COMPLETED)
+                .format(UserExportJobEntity.Format.NDJSON)
+                .nodeId("outra-instancia")
+                .filePath("/outro/disco/users.ndjson.gz")
+                .createdAt(now)
+                .completedAt(now)
+                .updatedAt(now)
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users/exports/{id}", job.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.node").value("outra-instancia"));
+        mockMvc.perform(get("/api/users/exports/{id}/file", job.getId()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value(containsString("instance outra-instancia")));
+    }
+
+    @Test
+    @DisplayName("Deve marcar como FAILED o job cuja instância parou de renovar o heartbeat")
+    void shouldFailJobsWithoutHeartbeat() {
+        // Arrange
+        Instant now = Instant.now();
+        UserExportJobEntity abandoned = jobRepository.save(pendingJob(now.minus(10, ChronoUnit.MINUTES)));
+        UserExportJobEntity alive = jobRepository.save(pendingJob(now));
+
+        // Act
+        userExportJobService.heartbeat();
+
+        // Assert
+        UserExportJobEntity failed = jobRepository.findById(abandoned.getId()).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(UserExportJobEntity.Status.FAILED);
+        assertThat(failed.getErrorMessage()).contains("stopped responding");
+        assertThat(failed.getCompletedAt()).isNotNull();
+        assertThat(jobRepository.findById(alive.getId()).orElseThrow().getStatus())
+                .isEqualTo(UserExportJobEntity.Status.RUNNING);
+    }
+
+    private static UserExportJobEntity pendingJob(Instant heartbeat) {
+        return UserExportJobEntity.builder()
+                .id(UUID.randomUUID())
+                .status(UserExportJobEntity.Status.RUNNING)
+                .format(UserExportJobEntity.Format.CSV)
+                .nodeId("instancia-que-caiu")
+                .filePath("/outro/disco/users.csv.gz")
+                .createdAt(heartbeat)
+                .updatedAt(heartbeat)
+                .build();
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve retornar 404 para job inexistente e 400 para formato inválido")
+    void shouldRejectUnknownJobAndInvalidFormat() throws Exception {
+        mockMvc.perform(get("/api/users/exports/{id}/file", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/users/exports").param("format", "XML"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private UUID startExport(String format) throws Exception {
+        String location = mockMvc.perform(post("/api/users/exports").param("format", format))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.format").value(format))
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+        return UUID.fromString(location.substring(location.lastIndexOf('/') + 1));
+    }
+
+    private UserExportJobEntity awaitCompletion(UUID id) {
+        await().atMost(Duration.ofSeconds(30)).until(() -> jobRepository.findById(id)
+                .map(job -> job.getStatus() == UserExportJobEntity.Status.COMPLETED
+                        || job.getStatus() == UserExportJobEntity.Status.FAILED)
+                .orElse(false));
+        return jobRepository.findById(id).orElseThrow();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static <T> HttpResponse<T> send(HttpRequest.Builder request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            return client.send(request.build(), handler);
+        }
+    }
+
+    private static String gunzip(byte[] content) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.fiap.user.health.bff.integration;
+
+import com.fiap.user.health.bff.persistence.entity.UserEntity;
+import com.fiap.user.health.bff.persistence.entity.UserImportJobEntity;
+import com.fiap.user.health.bff.persistence.repository.UserImportJobRepository;
+import com.fiap.user.health.bff.persistence.repository.UserRepository;
+import com.fiap.user.health.bff.service.user.UserImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "users.import.batch-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Importação de usuários via CSV - Testes de Integração")
+class UserImportIntegrationTest {
+
+    private static final String HEADER = "email,nome,login,senha\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoSpyBean
+    private UserImportJobRepository jobRepository;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${users.import.directory:${java.io.tmpdir}/user-imports}")
+    private Path directory;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve importar o CSV em lotes e contar linhas inválidas e emails repetidos")
+    void shouldImportCsvInBatches() throws Exception {
+        // Arrange
+        userRepository.save(UserEntity.builder()
+                .nome("Existente").email("existente@email.com").login("existente").senha("hash").build());
+        String csv = HEADER
+                + "ana@email.com,Ana Souza,anasouza,senhaSegura1\n"
+                + "bia@email.com,\"Bia Segunda\",biabia,senhaSegura2\n"
+                + "email-invalido,Caio Lima,caiolima,senhaSegura3\n"
+                + "existente@email.com,Davi Rocha,davirocha,senhaSegura4\n"
+                + "ana@email.com,Ana Repetida,anarepetida,senhaSegura5\n"
+                + "eva@email.com,Eva Maria,evamaria,senhaSegura6\n";
+
+        // Act
+        String location = mockMvc.perform(multipart("/api/users/imports").file(csvFile(csv)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andExpect(header().exists("Location"))
+                .andReturn().getResponse().getHeader("Location");
+        UUID id = UUID.fromString(location.substring(location.lastIndexOf('/') + 1));
+        UserImportJobEntity job = awaitCompletion(id);
+
+        // Assert
+        assertThat(job.getStatus()).isEqualTo(UserImportJobEntity.Status.COMPLETED);
+        assertThat(job.getProcessedRows()).isEqualTo(6);
+        assertThat(job.getImportedRows()).isEqualTo(3);
+        assertThat(job.getConflictRows()).isEqualTo(2);
+        assertThat(job.getInvalidRows()).isEqualTo(1);
+        assertThat(userRepository.findByEmail("bia@email.com")).get()
+                .satisfies(user -> assertThat(passwordEncoder.matches("senhaSegura2", user.getSenha())).isTrue());
+        assertThat(Files.exists(Path.of(job.getFilePath()))).isFalse();
+
+        mockMvc.perform(get("/api/users/imports/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.importedRows").value(3));
+    }
+
+    @Test
+    @DisplayName("Deve retomar um job interrompido a partir do último lote gravado")
+    void shouldResumeFromLastCommittedBatch() throws Exception {
+        // Arrange - job que caiu depois de gravar as duas primeiras linhas
+        UUID id = UUID.randomUUID();
+        Files.createDirectories(directory);
+        Path file = directory.resolve(id + ".csv");
+        Files.writeString(file, HEADER
+                + "ja1@email.com,Ja Gravado,jagravado1,senhaSegura1\n"
+                + "ja2@email.com,Ja Gravado,jagravado2,senhaSegura2\n"
+                + "novo@email.com,Novo Usuario,novousuario,senhaSegura3\n", StandardCharsets.UTF_8);
+        Instant longAgo = Instant.now().minus(Duration.ofHours(1));
+        jobRepository.save(UserImportJobEntity.builder()
+                .id(id)
+                .status(UserImportJobEntity.Status.RUNNING)
+                .filePath(file.toString())
+                .processedRows(2)
+                .importedRows(2)
+                .heartbeat(7)
+                .createdAt(longAgo)
+                .updatedAt(longAgo)
+                .build());
+
+        // Act
+        userImportService.resumeStaleJobs();
+        UserImportJobEntity job = awaitCompletion(id);
+
+        // Assert
+        assertThat(job.getStatus()).isEqualTo(UserImportJobEntity.Status.COMPLETED);
+        assertThat(job.getProcessedRows()).isEqualTo(3);
+        assertThat(job.getImportedRows()).isEqualTo(3);
+        assertThat(userRepository.findByEmail("novo@email.com")).isPresent();
+        assertThat(userRepository.findByEmail("ja1@email.com")).isEmpty();
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve rejeitar com 400 o CSV sem as colunas obrigatórias")
+    void shouldRejectCsvWithoutRequiredColumns() throws Exception {
+        mockMvc.perform(multipart("/api/users/imports").file(csvFile("nome,email\nAna,ana@email.com\n")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("CSV header must contain the columns nome,email,login,senha"));
+
+        assertThat(jobRepository.count()).isZero();
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Deve retornar 404 para job de importação inexistente")
+    void shouldReturnNotFoundForUnknownJob() throws Exception {
+        mockMvc.perform(get("/api/users/imports/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Deve deixar para a instância que tem o arquivo o job parado cujo arquivo não está neste disco")
+    void shouldNotResumeJobWhoseFileIsOnAnotherInstance() {
+        // Arrange - job de outra instância, com o arquivo no disco dela
+        UUID id = UUID.randomUUID();
+        Instant longAgo = Instant.now().minus(Duration.ofHours(1));
+        jobRepository.save(staleJob(id, directory.resolve("outra-instancia-" + id + ".csv"), longAgo));
+
+        // Act
+        userImportService.resumeStaleJobs();
+
+        // Assert
+        verify(jobRepository, never()).claim(eq(id), anyLong(), any());
+        UserImportJobEntity job = jobRepository.findById(id).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(UserImportJobEntity.Status.RUNNING);
+        assertThat(job.getHeartbeat()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar na retomada o job que já está na fila desta instância")
+    void shouldNotResubmitJobAlreadyQueuedLocally() throws Exception {
+        // Arrange - a reserva fica presa até as duas rodadas da retomada passarem
+        UUID id = UUID.randomUUID();
+        Files.createDirectories(directory);
+        Path file = directory.resolve(id + ".csv");
+        Files.writeString(file, HEADER + "fila@email.com,Na Fila,nafila,senhaSegura1\n", StandardCharsets.UTF_8);
+        Instant longAgo = Instant.now().minus(Duration.ofHours(1));
+        jobRepository.save(staleJob(id, file, longAgo));
+        CountDownLatch release = new CountDownLatch(1);
+        // O repositório é um proxy de interface: o spy delega pela resposta padrão, não por callRealMethod
+        Answer<?> delegate = mockingDetails(jobRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return delegate.answer(invocation);
+        }).when(jobRepository).claim(eq(id), anyLong(), any());
+
+        // Act
+        userImportService.resumeStaleJobs();
+        userImportService.resumeStaleJobs();
+        release.countDown();
+        UserImportJobEntity job = awaitCompletion(id);
+
+        // Assert
+        assertThat(job.getStatus()).isEqualTo(UserImportJobEntity.Status.COMPLETED);
+        verify(jobRepository, times(1)).claim(eq(id), anyLong(), any());
+    }
+
+    private static UserImportJobEntity staleJob(UUID id, Path file, Instant updatedAt) {
+        return UserImportJobEntity.builder()
+                .id(id)
+                .status(UserImportJobEntity.Status.RUNNING)
+                .filePath(file.toString())
+                .heartbeat(7)
+                .createdAt(updatedAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    private static MockMultipartFile csvFile(String content) {
+        return new MockMultipartFile("file", "users.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private UserImportJobEntity awaitCompletion(UUID id) {
+        await().atMost(Duration.ofSeconds(30)).until(() -> jobRepository.findById(id)
+                .map(job -> job.getStatus() != UserImportJobEntity.Status.QUEUED
+                        && job.getStatus() != UserImportJobEntity.Status.RUNNING)
+                .orElse(false));
+        return jobRepository.findById(id).orElseThrow();
+    }
+}
@@ -1,19 +1,29 @@
 package com.fiap.user.health.bff.persistence.repository;
 
+import com.fiap.user.health.bff.dto.response.UserResponseDto;
+import com.fiap.user.health.bff.persistence.cache.UserSecondLevelCacheEvictor;
 import com.fiap.user.health.bff.persistence.entity.UserEntity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
+@Import(UserSecondLevelCacheEvictor.class)
 @ActiveProfiles("test")
 @DisplayName("User Repository - Testes de Integração")
 class UserRepositoryIntegrationTest {
@@ -21,6 +31,9 @@ class UserRepositoryIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private UserEntity userEntity;
 
     @BeforeEach
@@ -239,6 +252,69 @@ class UserRepositoryIntegrationTest {
         assertThat(deletedUser).isEmpty();
     }
 
+    @Test
+    @DisplayName("Deve remover e devolver os emails removidos, ignorando ids inexistentes")
+    void shouldRemoveUsersAndReturnTheirEmails() {
+        // Arrange
+        UserEntity first = userRepository.save(userEntity);
+        UserEntity second = userRepository.save(UserEntity.builder()
+                .nome("Maria Souza")
+                .email("maria@email.com")
+                .login("mariasouza")
+                .senha("$2a$10$hashedPassword")
+                .build());
+
+        // Act
+        Optional<String> missing = userRepository.removeById(999L);
+        Optional<String> single = userRepository.removeById(first.getId());
+        List<String> bulk = userRepository.removeAllById(List.of(first.getId(), second.getId(), 999L));
+        userRepository.flush();
+
+        // Assert
+        assertThat(missing).isEmpty();
+        assertThat(single).contains(first.getEmail());
+        assertThat(bulk).containsExactly("maria@email.com");
+        assertThat(userRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve trocar o hash só quando a senha gravada é a esperada")
+    void shouldUpdateSenhaOnlyWhenUnchanged() {
+        // Arrange
+        UserEntity saved = userRepository.save(userEntity);
+
+        // Act
+        int stale = userRepository.updateSenhaIfUnchanged(saved.getId(), "$2a$10$outroHash", "$2a$12$novoHash");
+        int updated = userRepository.updateSenhaIfUnchanged(saved.getId(), saved.getSenha(), "$2a$12$novoHash");
+        int missing = userRepository.updateSenhaIfUnchanged(999L, "$2a$10$hashedPassword", "$2a$12$novoHash");
+
+        // Assert
+        assertThat(stale).isZero();
+        assertThat(updated).isEqualTo(1);
+        assertThat(missing).isZero();
+        assertThat(userRepository.findById(saved.getId())).map(UserEntity::getSenha).contains("$2a$12$novoHash");
+    }
+
+    @Test
+    @DisplayName("Deve trocar só a senha, preservando o que foi gravado depois da leitura")
+    void shouldUpdateOnlySenha() {
+        // Arrange - outra requisição troca o nome depois que a cópia foi lida
+        UserEntity saved = userRepository.saveAndFlush(userEntity);
+        jdbcTemplate.update("update usuarios set nome = ? where id = ?", "Nome Novo", saved.getId());
+
+        // Act
+        int updated = userRepository.updateSenha(saved.getId(), "$2a$12$novoHash");
+        int missing = userRepository.updateSenha(999L, "$2a$12$novoHash");
+        userRepository.flush();
+
+        // Assert
+        assertThat(updated).isEqualTo(1);
+        assertThat(missing).isZero();
+        assertThat(jdbcTemplate.queryForMap("select nome, senha from usuarios where id = ?", saved.getId()))
+                .containsEntry("NOME", "Nome Novo")
+                .containsEntry("SENHA", "$2a$12$novoHash");
+    }
+
     @Test
     @DisplayName("Deve persistir senha criptografada")
     void shouldPersistEncryptedPassword() {
@@ -252,4 +328,92 @@ class UserRepositoryIntegrationTest {
         assertThat(foundUser).isPresent();
         assertThat(foundUser.get().getSenha()).startsWith("$2a$10$"); // BCrypt hash
     }
+
+    @Test
+    @DisplayName("Deve gerar ids consecutivos pela sequence ao salvar em lote")
+    void shouldAllocateConsecutiveIdsFromSequence() {
+        // Arrange
+        List<UserEntity> users = List.of(
+                UserEntity.builder().nome("Ana").email("ana@email.com").login("analogin").senha("hash").build(),
+                UserEntity.builder().nome("Bruno").email("bruno@email.com").login("brunologin").senha("hash").build(),
+                UserEntity.builder().nome("Carla").email("carla@email.com").login("carlalogin").senha("hash").build());
+
+        // Act
+        List<UserEntity> saved = userRepository.saveAllAndFlush(users);
+
+        // Assert
+        Long first = saved.get(0).getId();
+        assertThat(saved).extracting(UserEntity::getId).containsExactly(first, first + 1, first + 2);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar email duplicado pelo índice único")
+    void shouldRejectDuplicateEmail() {
+        // Arrange
+        userRepository.saveAndFlush(userEntity);
+        UserEntity duplicate = UserEntity.builder()
+                .nome("Outro João").email("joao@email.com").login("outrojoao").senha("hash").build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> userRepository.saveAndFlush(duplicate))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining(UserEntity.EMAIL_CONSTRAINT.toUpperCase());
+    }
+
+    @Test
+    @DisplayName("Deve buscar usuários após o id informado em ordem crescente, sem a senha")
+    void shouldFindSummariesAfterIdInAscendingOrder() {
+        // Arrange
+        UserEntity first = userRepository.save(userEntity);
+        UserEntity second = userRepository.save(UserEntity.builder()
+                .nome("Maria Santos").email("maria@email.com").login("mariasantos").senha("hash").build());
+        UserEntity third = userRepository.save(UserEntity.builder()
+                .nome("Pedro Costa").email("pedro@email.com").login("pedrocosta").senha("hash").build());
+
+        // Act
+        List<UserResponseDto> page = userRepository.findSummariesAfterId(first.getId(), Limit.of(5));
+
+        // Assert
+        assertThat(page).containsExactly(
+                new UserResponseDto(second.getId(), "Maria Santos", "maria@email.com", "mariasantos"),
+                new UserResponseDto(third.getId(), "Pedro Costa", "pedro@email.com", "pedrocosta"));
+        assertThat(userRepository.findSummariesAfterId(0L, Limit.of(1)))
+                .extracting(UserResponseDto::id).containsExactly(first.getId());
+    }
+
+    @Test
+    @DisplayName("Deve buscar projeção por ID e paginar por offset")
+    void shouldFindSummaryByIdAndByOffset() {
+        // Arrange
+        UserEntity first = userRepository.save(userEntity);
+        UserEntity second = userRepository.save(UserEntity.builder()
+                .nome("Maria Santos").email("maria@email.com").login("mariasantos").senha("hash").build());
+
+        // Act
+        Optional<UserResponseDto> summary = userRepository.findSummaryById(first.getId());
+        Slice<UserResponseDto> slice = userRepository.findSummaries(PageRequest.of(1, 1));
+
+        // Assert
+        assertThat(summary).contains(new UserResponseDto(first.getId(), "João Silva", "joao@email.com", "joaosilva"));
+        assertThat(userRepository.findSummaryById(-1L)).isEmpty();
+        assertThat(slice.getContent()).extracting(UserResponseDto::id).containsExactly(second.getId());
+        assertThat(slice.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve buscar projeções de vários IDs em uma consulta")
+    void shouldFindSummariesByIds() {
+        // Arrange
+        UserEntity first = userRepository.save(userEntity);
+        UserEntity second = userRepository.save(UserEntity.builder()
+                .nome("Maria Santos").email("maria@email.com").login("mariasantos").senha("hash").build());
+
+        // Act
+        List<UserResponseDto> summaries = userRepository.findSummariesByIds(List.of(second.getId(), first.getId(), -1L));
+
+        // Assert
+        assertThat(summaries).containsExactlyInAnyOrder(
+                new UserResponseDto(first.getId(), "João Silva", "joao@email.com", "joaosilva"),
+                new UserResponseDto(second.getId(), "Maria Santos", "maria@email.com", "mariasantos"));
+    }
 }
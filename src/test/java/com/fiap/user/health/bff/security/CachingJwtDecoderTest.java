@@ -0,0 +1,115 @@
+package com.fiap.user.health.bff.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingJwtDecoder - Testes Unitários")
+class CachingJwtDecoderTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-10T10:00:00Z");
+
+    @Mock
+    private JwtDecoder delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        decoder = new CachingJwtDecoder(delegate, 100, Duration.ofMinutes(5), meterRegistry,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("joao@email.com")
+                .issuedAt(NOW.minusSeconds(60))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve verificar o token uma única vez e servir as próximas chamadas do cache")
+    void shouldDecodeOnceAndServeFromCache() {
+        // Arrange
+        Jwt jwt = jwt("token-a", NOW.plusSeconds(3600));
+        when(delegate.decode("token-a")).thenReturn(jwt);
+
+        // Act
+        Jwt first = decoder.decode("token-a");
+        Jwt second = decoder.decode("token-a");
+
+        // Assert
+        assertThat(first).isSameAs(jwt);
+        assertThat(second).isSameAs(jwt);
+        verify(delegate, times(1)).decode("token-a");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.decoder").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwt.decoder").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve manter em cache token cujo exp já passou")
+    void shouldNotCacheExpiredToken() {
+        // Arrange
+        when(delegate.decode("token-expirado")).thenReturn(jwt("token-expirado", NOW.minusSeconds(1)));
+
+        // Act
+        decoder.decode("token-expirado");
+        decoder.decode("token-expirado");
+
+        // Assert
+        verify(delegate, times(2)).decode("token-expirado");
+    }
+
+    @Test
+    @DisplayName("Não deve guardar tokens inválidos")
+    void shouldNotCacheInvalidTokens() {
+        // Arrange
+        when(delegate.decode("token-invalido")).thenThrow(new BadJwtException("Invalid signature"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> decoder.decode("token-invalido")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("token-invalido")).isInstanceOf(BadJwtException.class);
+        verify(delegate, times(2)).decode("token-invalido");
+        assertThat(decoder.estimatedSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve limitar o tamanho do cache")
+    void shouldBoundCacheSize() {
+        // Arrange
+        CachingJwtDecoder small = new CachingJwtDecoder(delegate, 10, Duration.ofMinutes(5),
+                new SimpleMeterRegistry(), Clock.fixed(NOW, ZoneOffset.UTC));
+        when(delegate.decode(anyString())).thenAnswer(inv -> jwt(inv.getArgument(0), NOW.plusSeconds(3600)));
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            small.decode("token-" + i);
+        }
+
+        // Assert
+        assertThat(small.estimatedSize()).isLessThanOrEqualTo(10);
+    }
+}
@@ -0,0 +1,30 @@
+package com.fiap.user.health.bff.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Digests - Testes Unitários")
+class DigestsTest {
+
+    @Test
+    @DisplayName("Deve gerar o SHA-256 em base64url sem padding")
+    void shouldEncodeSha256AsUnpaddedBase64Url() {
+        // Act
+        String digest = Digests.sha256("abc");
+
+        // Assert - vetor de teste do FIPS 180-2
+        assertThat(digest).isEqualTo("ungWv48Bz-pBQUDeXa4iI7ADYaOWF3qctBD_YfIAFa0");
+    }
+
+    @Test
+    @DisplayName("Deve caber na coluna token_hash para qualquer token")
+    void shouldFitTokenHashColumn() {
+        // Act
+        String digest = Digests.sha256("x".repeat(4096));
+
+        // Assert
+        assertThat(digest).hasSize(43).doesNotContain("=", "+", "/");
+    }
+}
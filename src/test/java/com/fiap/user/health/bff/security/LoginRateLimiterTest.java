@@ -0,0 +1,176 @@
+package com.fiap.user.health.bff.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LoginRateLimiter - Testes Unitários")
+class LoginRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private SimpleMeterRegistry meterRegistry;
+    private LoginRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new LoginRateLimiter(meterRegistry, true,
+                new LoginRateLimiter.BucketPolicy(3, Duration.ofMinutes(1)),
+                new LoginRateLimiter.BucketPolicy(10, Duration.ofMinutes(1)),
+                clock::get);
+    }
+
+    @Test
+    @DisplayName("Deve permitir a rajada configurada e rejeitar a tentativa seguinte do mesmo email")
+    void shouldRejectAfterEmailBurst() {
+        // Act
+        long first = limiter.tryAcquire("10.0.0.1", "joao@email.com");
+        long second = limiter.tryAcquire("10.0.0.2", "joao@email.com");
+        long third = limiter.tryAcquire("10.0.0.3", "JOAO@email.com ");
+        long fourth = limiter.tryAcquire("10.0.0.4", "joao@email.com");
+
+        // Assert
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isZero();
+        assertThat(fourth).isEqualTo(20); // uma tentativa recuperada a cada 20s
+        assertThat(meterRegistry.get("auth.throttle.rejected").tag("key", "email").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve esgotar o bucket do email só com falhas quando os logins bem-sucedidos são devolvidos")
+    void shouldCountOnlyFailuresWhenSuccessIsRefunded() {
+        // Act - logins certos repetidos não bloqueiam o dono da conta
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("10.0.0.1", "ana@email.com")).isZero();
+            limiter.refund("ANA@email.com");
+        }
+
+        // Assert - as falhas continuam limitadas à rajada configurada
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("10.0.0.1", "ana@email.com")).isZero();
+        }
+        assertThat(limiter.tryAcquire("10.0.0.1", "ana@email.com")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Não deve passar da capacidade ao devolver tentativa a um bucket cheio")
+    void shouldNotExceedCapacityWhenRefundingFullBucket() {
+        // Arrange
+        limiter.tryAcquire("10.0.0.1", "bruno@email.com");
+        clock.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        // Act
+        limiter.refund("bruno@email.com");
+        limiter.refund("bruno@email.com");
+
+        // Assert
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("10.0.0.1", "bruno@email.com")).isZero();
+        }
+        assertThat(limiter.tryAcquire("10.0.0.1", "bruno@email.com")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Deve recuperar tentativas com o passar do tempo")
+    void shouldRefillOverTime() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("10.0.0.1", "maria@email.com");
+        }
+        assertThat(limiter.tryAcquire("10.0.0.1", "maria@email.com")).isPositive();
+
+        // Act
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(20));
+
+        // Assert
+        assertThat(limiter.tryAcquire("10.0.0.1", "maria@email.com")).isZero();
+        assertThat(limiter.tryAcquire("10.0.0.1", "maria@email.com")).isPositive();
+    }
+
+    @Test
+    @DisplayName("Deve limitar por IP mesmo com emails diferentes")
+    void shouldRejectWhenIpExceedsLimit() {
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("10.0.0.9", "user" + i + "@email.com")).isZero();
+        }
+        long rejected = limiter.tryAcquire("10.0.0.9", "outro@email.com");
+
+        // Assert
+        assertThat(rejected).isPositive();
+        assertThat(meterRegistry.get("auth.throttle.rejected").tag("key", "ip").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve remover buckets ociosos na varredura")
+    void shouldEvictIdleBuckets() {
+        // Arrange
+        limiter.tryAcquire("10.0.0.1", "joao@email.com");
+        assertThat(limiter.trackedKeys()).isEqualTo(2);
+
+        // Act
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        for (int i = 0; i < 16; i++) {
+            limiter.evictIdleBuckets();
+        }
+
+        // Assert
+        assertThat(limiter.trackedKeys()).isZero();
+    }
+
+    @Test
+    @DisplayName("Não deve conceder mais tentativas que a capacidade sob concorrência")
+    void shouldNotOverGrantUnderContention() throws InterruptedException {
+        // Arrange
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            int ip = i;
+            pool.submit(() -> {
+                start.await();
+                if (limiter.tryAcquire("10.1.0." + ip, "alvo@email.com") == 0) {
+                    granted.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        // Assert
+        assertThat(granted.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Não deve limitar quando desabilitado")
+    void shouldAllowEverythingWhenDisabled() {
+        // Arrange
+        LoginRateLimiter disabled = new LoginRateLimiter(new SimpleMeterRegistry(), false,
+                new LoginRateLimiter.BucketPolicy(1, Duration.ofMinutes(1)),
+                new LoginRateLimiter.BucketPolicy(1, Duration.ofMinutes(1)),
+                clock::get);
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertThat(disabled.tryAcquire("10.0.0.1", "joao@email.com")).isZero();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.fiap.user.health.bff.security;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoginThrottlingFilter - Testes Unitários")
+class LoginThrottlingFilterTest {
+
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
+
+    private LoginThrottlingFilter filter;
+    private MockHttpServletResponse response;
+    private MockFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        filter = new LoginThrottlingFilter(loginRateLimiter, JsonMapper.builder().build());
+        response = new MockHttpServletResponse();
+        chain = new MockFilterChain();
+    }
+
+    private MockHttpServletRequest loginRequest(String json) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        request.setRemoteAddr("192.168.0.10");
+        request.setContentType("application/json");
+        request.setContent(json.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    @Test
+    @DisplayName("Deve repassar a requisição com o corpo intacto quando permitido")
+    void shouldPassThroughWithReplayableBody() throws Exception {
+        // Arrange
+        String json = "{\"password\":\"senha123\",\"email\":\"joao@email.com\"}";
+        when(loginRateLimiter.tryAcquire("192.168.0.10", "joao@email.com")).thenReturn(0L);
+
+        // Act
+        filter.doFilter(loginRequest(json), response, chain);
+
+        // Assert
+        ServletRequest forwarded = chain.getRequest();
+        assertThat(forwarded).isNotNull();
+        assertThat(new String(forwarded.getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(json);
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Deve entregar o corpo reapresentado também na leitura não bloqueante")
+    void shouldReplayBodyThroughReadListener() throws Exception {
+        // Arrange
+        String json = "{\"email\":\"joao@email.com\",\"password\":\"senha123\"}";
+        when(loginRateLimiter.tryAcquire("192.168.0.10", "joao@email.com")).thenReturn(0L);
+        filter.doFilter(loginRequest(json), response, chain);
+        ServletInputStream input = chain.getRequest().getInputStream();
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        boolean[] finished = new boolean[1];
+
+        // Act
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[16];
+                int read;
+                while (input.isReady() && (read = input.read(buffer)) != -1) {
+                    received.write(buffer, 0, read);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                finished[0] = true;
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throw new AssertionError(throwable);
+            }
+        });
+
+        // Assert
+        assertThat(received.toString(StandardCharsets.UTF_8)).isEqualTo(json);
+        assertThat(finished[0]).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve responder 429 com Retry-After sem chamar o restante da cadeia")
+    void shouldRejectWithTooManyRequests() throws Exception {
+        // Arrange
+        when(loginRateLimiter.tryAcquire("192.168.0.10", "joao@email.com")).thenReturn(12L);
+
+        // Act
+        filter.doFilter(loginRequest("{\"email\":\"joao@email.com\",\"password\":\"x\"}"), response, chain);
+
+        // Assert
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("12");
+        assertThat(response.getContentAsString()).contains("Too many authentication attempts");
+    }
+
+    @Test
+    @DisplayName("Deve limitar apenas por IP quando o corpo não é JSON válido")
+    void shouldFallBackToIpWhenBodyIsInvalid() throws Exception {
+        // Arrange
+        when(loginRateLimiter.tryAcquire(eq("192.168.0.10"), isNull())).thenReturn(0L);
+
+        // Act
+        filter.doFilter(loginRequest("not-json"), response, chain);
+
+        // Assert
+        verify(loginRateLimiter).tryAcquire(eq("192.168.0.10"), isNull());
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o limite também na troca de senha")
+    void shouldThrottlePasswordUpdate() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/api/v1/auth/password");
+        request.setRemoteAddr("192.168.0.10");
+        request.setContent("{\"email\":\"maria@email.com\",\"password\":\"novaSenha123\"}".getBytes(StandardCharsets.UTF_8));
+        when(loginRateLimiter.tryAcquire("192.168.0.10", "maria@email.com")).thenReturn(5L);
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Não deve inspecionar outros endpoints")
+    void shouldIgnoreOtherEndpoints() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users");
+
+        // Act
+        filter.doFilter(request, response, chain);
+
+        // Assert
+        verify(loginRateLimiter, never()).tryAcquire(anyString(), any());
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+}
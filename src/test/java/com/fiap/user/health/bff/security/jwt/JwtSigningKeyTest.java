@@ -0,0 +1,173 @@
+package com.fiap.user.health.bff.security.jwt;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JwtSigningKey - Testes Unitários")
+class JwtSigningKeyTest {
+
+    static JwtSigningKey newKey(JwtAlgorithm algorithm) throws GeneralSecurityException {
+        return switch (algorithm) {
+            case RS256 -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+                KeyPair pair = generator.generateKeyPair();
+                yield JwtSigningKey.rsa((RSAPublicKey) pair.getPublic(), (RSAPrivateKey) pair.getPrivate());
+            }
+            case ES256 -> {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                KeyPair pair = generator.generateKeyPair();
+                yield JwtSigningKey.ec((ECPublicKey) pair.getPublic(), (ECPrivateKey) pair.getPrivate());
+            }
+            case EDDSA -> {
+                KeyPair pair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+                yield JwtSigningKey.ed25519(pair.getPublic(), pair.getPrivate());
+            }
+            case HS256 -> JwtSigningKey.hmac(new SecretKeySpec(
+                    "segredo-interno-com-pelo-menos-32-bytes".getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        };
+    }
+
+    private static JwtEncoderParameters tokenParameters() {
+        Instant now = Instant.now();
+        return JwtEncoderParameters.from(JwtClaimsSet.builder()
+                .issuer("user-health-bff")
+                .subject("joao@email.com")
+                .claim("userId", 1L)
+                .claim("email", "joao@email.com")
+                .claim("nome", "João Silva")
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .build());
+    }
+
+    @ParameterizedTest
+    @EnumSource(JwtAlgorithm.class)
+    @DisplayName("Deve assinar com o algoritmo configurado e validar com o decoder correspondente")
+    void shouldRoundTripWithEachAlgorithm(JwtAlgorithm algorithm) throws GeneralSecurityException {
+        // Arrange
+        JwtSigningKey signingKey = newKey(algorithm);
+
+        // Act
+        String token = signingKey.encoder().encode(tokenParameters()).getTokenValue();
+        Jwt decoded = signingKey.decoder().decode(token);
+
+        // Assert
+        assertThat(decoded.getHeaders()).containsEntry("alg", algorithm.getName());
+        assertThat(decoded.getSubject()).isEqualTo("joao@email.com");
+        assertThat(decoded.<Long>getClaim("userId")).isEqualTo(1L);
+        assertThat(decoded.<String>getClaim("nome")).isEqualTo("João Silva");
+        assertThat(decoded.getExpiresAt()).isAfter(Instant.now());
+    }
+
+    @ParameterizedTest
+    @EnumSource(JwtAlgorithm.class)
+    @DisplayName("Deve rejeitar token assinado por outra chave")
+    void shouldRejectTokenFromAnotherKey(JwtAlgorithm algorithm) throws GeneralSecurityException {
+        // Arrange
+        String foreignToken = newKey(algorithm == JwtAlgorithm.HS256 ? JwtAlgorithm.RS256 : algorithm)
+                .encoder().encode(tokenParameters()).getTokenValue();
+
+        // Act & Assert
+        assertThatThrownBy(() -> newKey(algorithm).decoder().decode(foreignToken))
+                .isInstanceOf(BadJwtException.class);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = JwtAlgorithm.class, names = {"RS256", "ES256", "EDDSA"})
+    @DisplayName("Deve emitir kid igual ao thumbprint RFC 7638 publicado no JWKS")
+    void shouldIssueKidMatchingPublishedThumbprint(JwtAlgorithm algorithm) throws Exception {
+        // Arrange
+        JwtSigningKey signingKey = newKey(algorithm);
+
+        // Act
+        Jwt token = signingKey.encoder().encode(tokenParameters());
+        JWKSet jwkSet = signingKey.publicJwkSet();
+
+        // Assert
+        assertThat(token.getHeaders()).containsEntry("kid", signingKey.keyId());
+        assertThat(jwkSet.getKeys()).hasSize(1);
+        JWK published = jwkSet.getKeys().get(0);
+        assertThat(published.getKeyID()).isEqualTo(signingKey.keyId());
+        assertThat(published.computeThumbprint().toString()).isEqualTo(signingKey.keyId());
+        assertThat(published.isPrivate()).isFalse();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = JwtAlgorithm.class, names = {"RS256", "ES256", "EDDSA"})
+    @DisplayName("Deve aceitar tokens da chave aposentada durante a rotação")
+    void shouldAcceptTokensFromRetiredKeyDuringRotation(JwtAlgorithm algorithm) throws GeneralSecurityException {
+        // Arrange
+        JwtSigningKey previous = newKey(algorithm);
+        String oldToken = previous.encoder().encode(tokenParameters()).getTokenValue();
+        JwtSigningKey current = newKey(algorithm).withRetiredPublicKeys(List.of(previous.publicKey()));
+
+        // Act
+        Jwt decoded = current.decoder().decode(oldToken);
+
+        // Assert
+        assertThat(decoded.getHeaders()).containsEntry("kid", previous.keyId());
+        assertThat(current.publicJwkSet().getKeys())
+                .extracting(JWK::getKeyID)
+                .containsExactly(current.keyId(), previous.keyId());
+    }
+
+    @Test
+    @DisplayName("Não deve publicar o segredo HS256 no JWKS")
+    void shouldNotPublishHmacSecret() throws GeneralSecurityException {
+        // Act & Assert
+        assertThat(newKey(JwtAlgorithm.HS256).publicJwkSet().getKeys()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve ler chaves PEM de Ed25519")
+    void shouldReadPemKeys() throws GeneralSecurityException {
+        // Arrange
+        KeyPair pair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        String pem = "-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(pair.getPublic().getEncoded())
+                + "\n-----END PUBLIC KEY-----\n";
+
+        // Act
+        PublicKey read = PemKeys.readPublicKey(new ByteArrayResource(pem.getBytes(StandardCharsets.US_ASCII)), "Ed25519");
+
+        // Assert
+        assertThat(read.getEncoded()).isEqualTo(pair.getPublic().getEncoded());
+    }
+
+    @Test
+    @DisplayName("Deve recusar segredo HS256 com menos de 256 bits")
+    void shouldRejectShortHmacSecret() {
+        // Act & Assert
+        assertThatThrownBy(() -> JwtSigningKey.hmac(new SecretKeySpec(new byte[16], "HmacSHA256")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,107 @@
+package com.fiap.user.health.bff.security.jwt;
+
+import com.fiap.user.health.bff.persistence.entity.UserEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TokenIssuer - Testes Unitários")
+class TokenIssuerTest {
+
+    private static final Instant NOW = Instant.now();
+
+    private static UserEntity user(String nome, String email) {
+        return UserEntity.builder().id(42L).nome(nome).email(email).login("login").senha("x").build();
+    }
+
+    // Mesmo JwtClaimsSet montado antes pelo AuthServiceImpl.generateToken
+    private static String nimbusToken(JwtSigningKey signingKey, UserEntity user, String jti) {
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .id(jti)
+                .issuer("user-health-bff")
+                .subject(user.getEmail())
+                .claim("userId", user.getId())
+                .claim("email", user.getEmail())
+                .claim("nome", user.getNome())
+                .issuedAt(NOW)
+                .expiresAt(NOW.plusSeconds(3600))
+                .build();
+        return signingKey.encoder().encode(JwtEncoderParameters.from(claims)).getTokenValue();
+    }
+
+    // O jti é aleatório: o token de referência reaproveita o do token emitido
+    private static String jti(String token) {
+        String payload = new String(Base64.getUrlDecoder().decode(token.split("\\.")[1]), StandardCharsets.UTF_8);
+        int start = payload.indexOf("\"jti\":\"") + 7;
+        return payload.substring(start, payload.indexOf('"', start));
+    }
+
+    private static String signingInput(String token) {
+        return token.substring(0, token.lastIndexOf('.'));
+    }
+
+    @ParameterizedTest
+    @EnumSource(JwtAlgorithm.class)
+    @DisplayName("Deve gerar o mesmo header e payload do NimbusJwtEncoder, com assinatura válida")
+    void shouldMatchNimbusOutput(JwtAlgorithm algorithm) throws GeneralSecurityException {
+        // Arrange
+        JwtSigningKey signingKey = JwtSigningKeyTest.newKey(algorithm);
+        TokenIssuer issuer = new TokenIssuer(signingKey, "user-health-bff");
+        UserEntity user = user("João \"Jota\" <Silva> & Cia\\\n\t\u0001 ", "joão+tag@email.com");
+
+        // Act
+        String issued = issuer.issue(user, NOW, NOW.plusSeconds(3600));
+        String expected = nimbusToken(signingKey, user, jti(issued));
+
+        // Assert - ECDSA é aleatório; os demais algoritmos são determinísticos e devem bater byte a byte
+        assertThat(signingInput(issued)).isEqualTo(signingInput(expected));
+        if (algorithm != JwtAlgorithm.ES256) {
+            assertThat(issued).isEqualTo(expected);
+        }
+        Jwt decoded = signingKey.decoder().decode(issued);
+        assertThat(decoded.<String>getClaim("nome")).isEqualTo(user.getNome());
+        assertThat(decoded.<Long>getClaim("userId")).isEqualTo(42L);
+        assertThat(decoded.getId()).isEqualTo(jti(issued));
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar o Signature por thread sem misturar tokens concorrentes")
+    void shouldIssueConsistentTokensConcurrently() throws Exception {
+        // Arrange
+        JwtSigningKey signingKey = JwtSigningKeyTest.newKey(JwtAlgorithm.RS256);
+        TokenIssuer issuer = new TokenIssuer(signingKey, "user-health-bff");
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+
+        // Act
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            UserEntity user = user("Usuário " + i, "user" + i + "@email.com");
+            results.add(pool.submit(() -> {
+                String issued = issuer.issue(user, NOW, NOW.plusSeconds(3600));
+                return issued.equals(nimbusToken(signingKey, user, jti(issued)));
+            }));
+        }
+        pool.shutdown();
+
+        // Assert
+        for (Future<Boolean> result : results) {
+            assertThat(result.get()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.fiap.user.health.bff.security.revocation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BloomFilter - Testes Unitários")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Deve encontrar todas as chaves inseridas e manter a taxa de falso positivo perto da configurada")
+    void shouldHaveNoFalseNegativesAndBoundedFalsePositives() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("jti:inserido-" + i);
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("jti:ausente-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("jti:inserido-" + i)).isTrue();
+        }
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+}
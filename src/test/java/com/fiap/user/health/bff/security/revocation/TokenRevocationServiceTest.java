@@ -0,0 +1,224 @@
+package com.fiap.user.health.bff.security.revocation;
+
+import com.fiap.user.health.bff.persistence.entity.RevokedTokenEntity;
+import com.fiap.user.health.bff.persistence.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationService - Testes Unitários")
+class TokenRevocationServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-10T10:00:00.750Z");
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TokenRevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        revocationService = new TokenRevocationService(revokedTokenRepository, eventPublisher, Duration.ofHours(1),
+                Duration.ofSeconds(30), 1000, 0.01, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private Jwt jwt(String jti, long userId, Instant issuedAt) {
+        return Jwt.withTokenValue("token-" + jti)
+                .header("alg", "RS256")
+                .subject("joao@email.com")
+                .jti(jti)
+                .claim("userId", userId)
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plusSeconds(3600))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve revogar apenas o token com o jti informado")
+    void shouldRevokeOnlyTokenWithGivenJti() {
+        // Act
+        revocationService.revokeToken("jti-revogado", NOW.plusSeconds(600));
+
+        // Assert
+        assertThat(revocationService.isRevoked(jwt("jti-revogado", 1L, NOW))).isTrue();
+        assertThat(revocationService.isRevoked(jwt("outro-jti", 1L, NOW))).isFalse();
+        verify(revokedTokenRepository).save(any(RevokedTokenEntity.class));
+    }
+
+    @Test
+    @DisplayName("Deve revogar tokens do usuário emitidos antes da marca d'água e aceitar os emitidos depois")
+    void shouldRevokeUserTokensIssuedBeforeWatermark() {
+        // Act
+        revocationService.revokeUser(1L);
+
+        // Assert - marca d'água no segundo seguinte ao da revogação
+        assertThat(revocationService.isRevoked(jwt("antigo", 1L, Instant.parse("2026-01-10T09:59:59Z")))).isTrue();
+        assertThat(revocationService.isRevoked(jwt("novo", 1L, Instant.parse("2026-01-10T10:00:01Z")))).isFalse();
+        assertThat(revocationService.isRevoked(jwt("outro-usuario", 2L, Instant.parse("2026-01-10T09:00:00Z")))).isFalse();
+
+        ArgumentCaptor<RevokedTokenEntity> captor = ArgumentCaptor.forClass(RevokedTokenEntity.class);
+        verify(revokedTokenRepository).save(captor.capture());
+        assertThat(captor.getValue().getRevocationKey()).isEqualTo("sub:1");
+        assertThat(captor.getValue().getExpiresAt()).isEqualTo(Instant.parse("2026-01-10T11:00:01Z"));
+    }
+
+    @Test
+    @DisplayName("Deve revogar o token emitido no mesmo segundo da revogação")
+    void shouldRevokeTokenIssuedInSameSecond() {
+        // Arrange - o iat do token é o segundo da revogação (10:00:00), que acontece em 10:00:00.750
+        Jwt sameSecond = jwt("mesmo-segundo", 1L, Instant.parse("2026-01-10T10:00:00Z"));
+
+        // Act
+        revocationService.revokeUser(1L);
+        revocationService.revokeUsers(List.of(2L));
+
+        // Assert
+        assertThat(revocationService.isRevoked(sameSecond)).isTrue();
+        assertThat(revocationService.isRevoked(jwt("lote", 2L, Instant.parse("2026-01-10T10:00:00Z")))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve revogar na segunda revogação do mesmo segundo o token emitido com iat na primeira marca d'água")
+    void shouldAdvanceWatermarkOnSecondRevocationInSameSecond() {
+        // Arrange - troca de senha e novo login no mesmo segundo: o token novo leva iat = marca d'água
+        revocationService.revokeUser(1L);
+        Jwt afterPasswordChange = jwt("pos-troca", 1L, revocationService.userWatermark(1L).orElseThrow());
+        assertThat(revocationService.isRevoked(afterPasswordChange)).isFalse();
+
+        // Act - exclusão da conta ainda no mesmo segundo
+        revocationService.revokeUsers(List.of(1L));
+
+        // Assert
+        assertThat(revocationService.isRevoked(afterPasswordChange)).isTrue();
+        assertThat(revocationService.userWatermark(1L)).contains(Instant.parse("2026-01-10T10:00:02Z"));
+    }
+
+    @Test
+    @DisplayName("Deve informar a marca d'água vigente do usuário revogado")
+    void shouldExposeUserWatermark() {
+        // Act
+        revocationService.revokeUser(1L);
+        revocationService.revokeToken("jti-avulso", NOW.plusSeconds(600));
+
+        // Assert
+        assertThat(revocationService.userWatermark(1L)).contains(Instant.parse("2026-01-10T10:00:01Z"));
+        assertThat(revocationService.userWatermark(2L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve revogar tokens de vários usuários com um único saveAll")
+    void shouldRevokeSeveralUsersWithSingleSaveAll() {
+        // Act
+        revocationService.revokeUsers(List.of(1L, 2L));
+
+        // Assert
+        assertThat(revocationService.isRevoked(jwt("a", 1L, Instant.parse("2026-01-10T09:59:59Z")))).isTrue();
+        assertThat(revocationService.isRevoked(jwt("b", 2L, Instant.parse("2026-01-10T09:59:59Z")))).isTrue();
+        assertThat(revocationService.isRevoked(jwt("c", 3L, Instant.parse("2026-01-10T09:59:59Z")))).isFalse();
+        verify(revokedTokenRepository).saveAll(anyList());
+        verify(revokedTokenRepository, never()).save(any(RevokedTokenEntity.class));
+    }
+
+    @Test
+    @DisplayName("Deve carregar revogações de outras instâncias e descartar as vencidas na sincronização")
+    void shouldLoadRemoteRevocationsAndDropExpiredOnSynchronize() {
+        // Arrange
+        when(revokedTokenRepository.findByCreatedAtGreaterThanEqualOrderByCreatedAtAsc(Instant.EPOCH.minusSeconds(30)))
+                .thenReturn(List.of(
+                        new RevokedTokenEntity(1L, "jti:remoto", null, NOW.plusSeconds(60), NOW.minusSeconds(5)),
+                        new RevokedTokenEntity(2L, "jti:vencido", null, NOW.minusSeconds(1), NOW.minusSeconds(3))));
+
+        // Act
+        revocationService.synchronize();
+
+        // Assert
+        assertThat(revocationService.isRevoked(jwt("remoto", 1L, NOW))).isTrue();
+        assertThat(revocationService.size()).isEqualTo(1);
+        verify(revokedTokenRepository).deleteExpired(NOW);
+
+        // Próxima sincronização relê a janela de folga antes da última gravação vista
+        revocationService.synchronize();
+        verify(revokedTokenRepository).findByCreatedAtGreaterThanEqualOrderByCreatedAtAsc(NOW.minusSeconds(33));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Deve publicar os usuários revogados por outras instâncias na sincronização")
+    void shouldPublishRevokedUsersOnSynchronize() {
+        // Arrange
+        when(revokedTokenRepository.findByCreatedAtGreaterThanEqualOrderByCreatedAtAsc(any(Instant.class)))
+                .thenReturn(List.of(
+                        new RevokedTokenEntity(1L, "sub:7", NOW, NOW.plusSeconds(3600), NOW),
+                        new RevokedTokenEntity(2L, "jti:remoto", null, NOW.plusSeconds(60), NOW),
+                        new RevokedTokenEntity(3L, "sub:8", NOW, NOW.plusSeconds(3600), NOW)));
+
+        // Act
+        revocationService.synchronize();
+
+        // Assert
+        verify(eventPublisher).publishEvent(new UsersRevokedEvent(Set.of(7L, 8L)));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar a revogação confirmada fora de ordem e não republicar as já aplicadas")
+    void shouldApplyRevocationCommittedOutOfOrder() {
+        // Arrange - o id 4 foi reservado antes do 5, mas só fica visível na sincronização seguinte
+        RevokedTokenEntity later = new RevokedTokenEntity(5L, "sub:9", NOW, NOW.plusSeconds(3600), NOW.minusSeconds(1));
+        RevokedTokenEntity delayed = new RevokedTokenEntity(4L, "sub:8", NOW, NOW.plusSeconds(3600), NOW.minusSeconds(2));
+        when(revokedTokenRepository.findByCreatedAtGreaterThanEqualOrderByCreatedAtAsc(any(Instant.class)))
+                .thenReturn(List.of(later))
+                .thenReturn(List.of(delayed, later));
+
+        // Act
+        revocationService.synchronize();
+        revocationService.synchronize();
+
+        // Assert
+        assertThat(revocationService.isRevoked(jwt("a", 8L, Instant.parse("2026-01-10T09:00:00Z")))).isTrue();
+        verify(revokedTokenRepository).findByCreatedAtGreaterThanEqualOrderByCreatedAtAsc(NOW.minusSeconds(31));
+        verify(eventPublisher).publishEvent(new UsersRevokedEvent(Set.of(9L)));
+        verify(eventPublisher).publishEvent(new UsersRevokedEvent(Set.of(8L)));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar no decoder o token revogado mesmo após verificação bem-sucedida")
+    void shouldRejectRevokedTokenInDecoderChain() {
+        // Arrange
+        Jwt revoked = jwt("jti-revogado", 1L, NOW);
+        JwtDecoder delegate = token -> revoked;
+        RevocationCheckingJwtDecoder decoder = new RevocationCheckingJwtDecoder(delegate, revocationService);
+        assertThat(decoder.decode("token")).isSameAs(revoked);
+
+        // Act
+        revocationService.revokeToken("jti-revogado", NOW.plusSeconds(600));
+
+        // Assert
+        assertThatThrownBy(() -> decoder.decode("token"))
+                .isInstanceOf(BadJwtException.class)
+                .hasMessageContaining("revoked");
+    }
+}
@@ -1,28 +1,43 @@
 package com.fiap.user.health.bff.service.auth;
 
+import com.fiap.user.health.bff.dto.request.RefreshTokenRequestDto;
 import com.fiap.user.health.bff.dto.request.UserAuthRequestDto;
 import com.fiap.user.health.bff.dto.request.UserCredentialsRequestDto;
+import com.fiap.user.health.bff.exception.PasswordHashingUnavailableException;
 import com.fiap.user.health.bff.exception.UserNotFoundException;
 import com.fiap.user.health.bff.persistence.entity.UserEntity;
 import com.fiap.user.health.bff.persistence.repository.UserRepository;
+import com.fiap.user.health.bff.security.LoginRateLimiter;
+import com.fiap.user.health.bff.security.jwt.TokenIssuer;
+import com.fiap.user.health.bff.security.revocation.TokenRevocationService;
+import com.fiap.user.health.bff.service.io.BlockingIoExecutor;
+import com.fiap.user.health.bff.service.password.CredentialVerificationCache;
+import com.fiap.user.health.bff.service.password.PasswordHashingExecutor;
+import com.fiap.user.health.bff.service.user.UserLookupCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 
-import java.util.Objects;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,10 +48,30 @@ class AuthServiceImplTest {
     private UserRepository userRepository;
 
     @Mock
-    private JwtEncoder jwtEncoder;
+    private TokenIssuer tokenIssuer;
 
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    // Pool real: as continuações rodam fora da thread do teste, como em produção
+    @Spy
+    private BlockingIoExecutor blockingIoExecutor = new BlockingIoExecutor(new SimpleMeterRegistry(), 2, 100, 1);
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private CredentialVerificationCache credentialVerificationCache;
+
+    // Cache desligado: as buscas vão direto aos mocks do repositório
+    @Spy
+    private UserLookupCache userLookupCache = new UserLookupCache(new SimpleMeterRegistry(), false, Duration.ofSeconds(30), 100);
+
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
 
     @InjectMocks
     private AuthServiceImpl authService;
@@ -65,24 +100,101 @@ class AuthServiceImplTest {
     void shouldLoginSuccessfullyWithValidCredentials() {
         // Arrange
         when(userRepository.findByEmail(validCredentials.email())).thenReturn(Optional.of(userEntity));
-        when(passwordEncoder.matches(validCredentials.password(), userEntity.getSenha())).thenReturn(true);
-
-        // Mock do JWT
-        Jwt jwt = mock(Jwt.class);
-        when(jwt.getTokenValue()).thenReturn("mock.jwt.token");
-        when(jwtEncoder.encode(any(JwtEncoderParameters.class))).thenReturn(jwt);
+        when(passwordHashingExecutor.matches(validCredentials.password(), userEntity.getSenha())).thenReturn(CompletableFuture.completedFuture(true));
+        // Mock do emissor de token
+        when(tokenIssuer.issue(eq(userEntity), any(Instant.class), any(Instant.class))).thenReturn("mock.jwt.token");
+        when(refreshTokenService.issue(1L)).thenReturn("mock.refresh.token");
 
         // Act
-        UserAuthRequestDto authResponse = authService.login(validCredentials);
+        UserAuthRequestDto authResponse = authService.login(validCredentials).join();
 
         // Assert
         assertThat(authResponse).isNotNull();
         assertThat(authResponse.accessToken()).isEqualTo("mock.jwt.token");
         assertThat(authResponse.expiresIn()).isEqualTo(3600L);
+        assertThat(authResponse.refreshToken()).isEqualTo("mock.refresh.token");
 
         verify(userRepository).findByEmail(validCredentials.email());
-        verify(passwordEncoder).matches(validCredentials.password(), userEntity.getSenha());
-        verify(jwtEncoder).encode(any(JwtEncoderParameters.class));
+        verify(passwordHashingExecutor).matches(validCredentials.password(), userEntity.getSenha());
+        verify(tokenIssuer).issue(eq(userEntity), any(Instant.class), any(Instant.class));
+        verify(passwordHashingExecutor, never()).encode(anyString());
+        verify(credentialVerificationCache).markVerified("joao@email.com", "senha123", "$2a$10$encodedPassword");
+        verify(loginRateLimiter).refund("joao@email.com");
+    }
+
+    @Test
+    @DisplayName("Deve pular o BCrypt quando a credencial foi verificada há pouco")
+    void shouldSkipPasswordHashingOnCredentialCacheHit() {
+        // Arrange
+        when(userRepository.findByEmail(validCredentials.email())).thenReturn(Optional.of(userEntity));
+        when(credentialVerificationCache.isVerified("joao@email.com", "senha123", "$2a$10$encodedPassword")).thenReturn(true);
+        when(tokenIssuer.issue(eq(userEntity), any(Instant.class), any(Instant.class))).thenReturn("mock.jwt.token");
+
+        // Act
+        UserAuthRequestDto authResponse = authService.login(validCredentials).join();
+
+        // Assert
+        assertThat(authResponse.accessToken()).isEqualTo("mock.jwt.token");
+        verify(passwordHashingExecutor, never()).matches(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Deve refazer o hash no login quando o custo gravado está desatualizado")
+    void shouldRehashPasswordWhenEncodingIsOutdated() {
+        // Arrange
+        when(userRepository.findByEmail(validCredentials.email())).thenReturn(Optional.of(userEntity));
+        when(passwordHashingExecutor.matches(validCredentials.password(), userEntity.getSenha())).thenReturn(CompletableFuture.completedFuture(true));
+        when(passwordHashingExecutor.upgradeEncoding("$2a$10$encodedPassword")).thenReturn(true);
+        when(passwordHashingExecutor.encode(validCredentials.password())).thenReturn(CompletableFuture.completedFuture("{bcrypt}$2a$12$novoHash"));
+
+        when(tokenIssuer.issue(eq(userEntity), any(Instant.class), any(Instant.class))).thenReturn("mock.jwt.token");
+
+        // Act
+        UserAuthRequestDto authResponse = authService.login(validCredentials).join();
+
+        // Assert
+        assertThat(authResponse.accessToken()).isEqualTo("mock.jwt.token");
+        // O re-hash grava em segundo plano, no BlockingIoExecutor
+        verify(userRepository, timeout(1000)).updateSenhaIfUnchanged(1L, "$2a$10$encodedPassword", "{bcrypt}$2a$12$novoHash");
+    }
+
+    @Test
+    @DisplayName("Deve assinar o token e gravar o refresh token fora do pool de hash")
+    void shouldIssueTokensOnBlockingIoExecutor() {
+        // Arrange
+        when(userRepository.findByEmail(validCredentials.email())).thenReturn(Optional.of(userEntity));
+        when(passwordHashingExecutor.matches(validCredentials.password(), userEntity.getSenha())).thenReturn(CompletableFuture.completedFuture(true));
+        AtomicReference<String> signingThread = new AtomicReference<>();
+        when(tokenIssuer.issue(eq(userEntity), any(Instant.class), any(Instant.class))).thenAnswer(invocation -> {
+            signingThread.set(Thread.currentThread().getName());
+            return "mock.jwt.token";
+        });
+
+        // Act
+        authService.login(validCredentials).join();
+
+        // Assert
+        assertThat(signingThread.get()).startsWith("blocking-io-");
+    }
+
+    @Test
+    @DisplayName("Deve concluir o login mesmo quando o re-hash é rejeitado")
+    void shouldLoginWhenRehashIsRejected() {
+        // Arrange
+        when(userRepository.findByEmail(validCredentials.email())).thenReturn(Optional.of(userEntity));
+        when(passwordHashingExecutor.matches(validCredentials.password(), userEntity.getSenha())).thenReturn(CompletableFuture.completedFuture(true));
+        when(passwordHashingExecutor.upgradeEncoding(userEntity.getSenha())).thenReturn(true);
+        when(passwordHashingExecutor.encode(validCredentials.password()))
+                .thenReturn(CompletableFuture.failedFuture(new PasswordHashingUnavailableException(1)));
+
+        when(tokenIssuer.issue(eq(userEntity), any(Instant.class), any(Instant.class))).thenReturn("mock.jwt.token");
+
+        // Act
+        UserAuthRequestDto authResponse = authService.login(validCredentials).join();
+
+        // Assert
+        assertThat(authResponse.accessToken()).isEqualTo("mock.jwt.token");
+        verify(userRepository, never()).updateSenhaIfUnchanged(any(), any(), any());
     }
 
     @Test
@@ -102,8 +214,43 @@ class AuthServiceImplTest {
                 .hasMessage("Invalid email or password");
 
         verify(userRepository).findByEmail(invalidCredentials.email());
-        verify(passwordEncoder, never()).matches(anyString(), anyString());
-        verify(jwtEncoder, never()).encode(any());
+        verify(passwordHashingExecutor, never()).matches(anyString(), anyString());
+        verify(tokenIssuer, never()).issue(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve renovar o access token com refresh token válido sem verificar senha")
+    void shouldRefreshTokenWithoutPasswordVerification() {
+        // Arrange
+        when(refreshTokenService.rotate("refresh-atual"))
+                .thenReturn(new RefreshTokenService.Rotation(1L, "refresh-novo"));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
+        when(tokenIssuer.issue(eq(userEntity), any(Instant.class), any(Instant.class))).thenReturn("mock.jwt.token");
+
+        // Act
+        UserAuthRequestDto authResponse = authService.refresh(new RefreshTokenRequestDto("refresh-atual"));
+
+        // Assert
+        assertThat(authResponse.accessToken()).isEqualTo("mock.jwt.token");
+        assertThat(authResponse.expiresIn()).isEqualTo(3600L);
+        assertThat(authResponse.refreshToken()).isEqualTo("refresh-novo");
+        verifyNoInteractions(passwordHashingExecutor);
+    }
+
+    @Test
+    @DisplayName("Deve lançar BadCredentialsException ao renovar token de usuário removido")
+    void shouldThrowBadCredentialsExceptionWhenRefreshingTokenOfRemovedUser() {
+        // Arrange
+        when(refreshTokenService.rotate("refresh-atual"))
+                .thenReturn(new RefreshTokenService.Rotation(99L, "refresh-novo"));
+        when(userRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> authService.refresh(new RefreshTokenRequestDto("refresh-atual")))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessage("Invalid refresh token");
+
+        verify(tokenIssuer, never()).issue(any(), any(), any());
     }
 
     @Test
@@ -116,16 +263,19 @@ class AuthServiceImplTest {
         );
 
         when(userRepository.findByEmail(wrongPasswordCredentials.email())).thenReturn(Optional.of(userEntity));
-        when(passwordEncoder.matches(wrongPasswordCredentials.password(), userEntity.getSenha())).thenReturn(false);
+        when(passwordHashingExecutor.matches(wrongPasswordCredentials.password(), userEntity.getSenha())).thenReturn(CompletableFuture.completedFuture(false));
 
         // Act & Assert
-        assertThatThrownBy(() -> authService.login(wrongPasswordCredentials))
-                .isInstanceOf(BadCredentialsException.class)
-                .hasMessage("Invalid email or password");
+        assertThatThrownBy(() -> authService.login(wrongPasswordCredentials).join())
+                .isInstanceOf(CompletionException.class)
+                .hasRootCauseInstanceOf(BadCredentialsException.class)
+                .hasRootCauseMessage("Invalid email or password");
 
         verify(userRepository).findByEmail(wrongPasswordCredentials.email());
-        verify(passwordEncoder).matches(wrongPasswordCredentials.password(), userEntity.getSenha());
-        verify(jwtEncoder, never()).encode(any());
+        verify(passwordHashingExecutor).matches(wrongPasswordCredentials.password(), userEntity.getSenha());
+        verify(tokenIssuer, never()).issue(any(), any(), any());
+        verify(credentialVerificationCache, never()).markVerified(any(), any(), any());
+        verify(loginRateLimiter, never()).refund(any());
     }
 
     @Test
@@ -135,18 +285,37 @@ class AuthServiceImplTest {
         String newPassword = "novaSenha123";
         String encodedNewPassword = "$2a$10$newEncodedPassword";
 
-        when(userRepository.findByEmail(userEntity.getEmail())).thenReturn(Optional.of(userEntity));
-        when(passwordEncoder.encode(newPassword)).thenReturn(encodedNewPassword);
-        when(userRepository.save(userEntity)).thenReturn(userEntity);
+        when(userRepository.findByEmailUncached(userEntity.getEmail())).thenReturn(Optional.of(userEntity));
+        when(passwordHashingExecutor.encode(newPassword)).thenReturn(CompletableFuture.completedFuture(encodedNewPassword));
+        when(userRepository.updateSenha(1L, encodedNewPassword)).thenReturn(1);
 
         // Act
-        authService.updatePassword(userEntity.getEmail(), newPassword);
+        authService.updatePassword(userEntity.getEmail(), newPassword).join();
 
-        // Assert
-        verify(userRepository).findByEmail(userEntity.getEmail());
-        verify(passwordEncoder).encode(newPassword);
-        verify(userRepository).save(userEntity);
-        assertThat(userEntity.getSenha()).isEqualTo(encodedNewPassword);
+        // Assert - só a senha é gravada, na linha relida depois do hash; a cópia lida antes não volta ao banco
+        InOrder order = inOrder(passwordHashingExecutor, userRepository);
+        order.verify(passwordHashingExecutor).encode(newPassword);
+        order.verify(userRepository).updateSenha(1L, encodedNewPassword);
+        verify(userRepository, never()).save(any(UserEntity.class));
+        verify(refreshTokenService).revokeAll(1L);
+        verify(tokenRevocationService).revokeUser(1L);
+        verify(credentialVerificationCache).invalidate("joao@email.com");
+    }
+
+    @Test
+    @DisplayName("Deve lançar UserNotFoundException quando o usuário é excluído durante o hash da nova senha")
+    void shouldThrowUserNotFoundWhenUserDeletedDuringPasswordHash() {
+        // Arrange
+        when(userRepository.findByEmailUncached(userEntity.getEmail())).thenReturn(Optional.of(userEntity));
+        when(passwordHashingExecutor.encode("novaSenha123")).thenReturn(CompletableFuture.completedFuture("$2a$10$novo"));
+        when(userRepository.updateSenha(1L, "$2a$10$novo")).thenReturn(0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> authService.updatePassword(userEntity.getEmail(), "novaSenha123").join())
+                .cause()
+                .isInstanceOf(UserNotFoundException.class);
+
+        verify(tokenRevocationService, never()).revokeUser(any());
     }
 
     @Test
@@ -156,15 +325,15 @@ class AuthServiceImplTest {
         String email = "naoexiste@email.com";
         String newPassword = "novaSenha123";
 
-        when(userRepository.findByEmail(email)).thenReturn(Optional.empty());
+        when(userRepository.findByEmailUncached(email)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> authService.updatePassword(email, newPassword))
                 .isInstanceOf(UserNotFoundException.class)
                 .hasMessageContaining("User not found with email: " + email);
 
-        verify(userRepository).findByEmail(email);
-        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository).findByEmailUncached(email);
+        verify(passwordHashingExecutor, never()).encode(anyString());
         verify(userRepository, never()).save(any(UserEntity.class));
     }
 
@@ -173,22 +342,39 @@ class AuthServiceImplTest {
     void shouldGenerateJwtTokenWithCorrectClaims() {
         // Arrange
         when(userRepository.findByEmail(validCredentials.email())).thenReturn(Optional.of(userEntity));
-        when(passwordEncoder.matches(validCredentials.password(), userEntity.getSenha())).thenReturn(true);
+        when(passwordHashingExecutor.matches(validCredentials.password(), userEntity.getSenha())).thenReturn(CompletableFuture.completedFuture(true));
 
-        Jwt jwt = mock(Jwt.class);
-        when(jwt.getTokenValue()).thenReturn("eyJhbGciOiJSUzI1NiJ9.eyJzdWIiOiJqb2FvQGVtYWlsLmNvbSJ9.signature");
-        when(jwtEncoder.encode(any(JwtEncoderParameters.class))).thenReturn(jwt);
+        when(tokenIssuer.issue(eq(userEntity), any(Instant.class), any(Instant.class))).thenReturn("eyJhbGciOiJSUzI1NiJ9.eyJzdWIiOiJqb2FvQGVtYWlsLmNvbSJ9.signature");
 
         // Act
-        UserAuthRequestDto authResponse = authService.login(validCredentials);
+        UserAuthRequestDto authResponse = authService.login(validCredentials).join();
 
         // Assert
         assertThat(authResponse.accessToken()).isNotNull();
         assertThat(authResponse.accessToken()).startsWith("eyJ"); // JWT padrão começa com "eyJ"
 
-        // Verifica que o encoder foi chamado com parâmetros
-        // Verificação básica de que o encoder foi chamado
-        verify(jwtEncoder).encode(argThat(Objects::nonNull));
+        // Token emitido com expiração de 1 hora a partir da emissão
+        ArgumentCaptor<Instant> issuedAt = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> expiresAt = ArgumentCaptor.forClass(Instant.class);
+        verify(tokenIssuer).issue(eq(userEntity), issuedAt.capture(), expiresAt.capture());
+        assertThat(Duration.between(issuedAt.getValue(), expiresAt.getValue())).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Deve emitir o token com iat na marca d'água quando o usuário acabou de ser revogado")
+    void shouldIssueTokenAtWatermarkRightAfterRevocation() {
+        // Arrange - a troca de senha deixou a marca d'água no segundo seguinte
+        Instant watermark = Instant.now().plusSeconds(1);
+        when(userRepository.findByEmail(validCredentials.email())).thenReturn(Optional.of(userEntity));
+        when(passwordHashingExecutor.matches(validCredentials.password(), userEntity.getSenha())).thenReturn(CompletableFuture.completedFuture(true));
+        when(tokenRevocationService.userWatermark(userEntity.getId())).thenReturn(Optional.of(watermark));
+        when(tokenIssuer.issue(eq(userEntity), any(Instant.class), any(Instant.class))).thenReturn("mock.jwt.token");
+
+        // Act
+        authService.login(validCredentials).join();
+
+        // Assert
+        verify(tokenIssuer).issue(userEntity, watermark, watermark.plusSeconds(3600));
     }
 
     @Test
@@ -196,16 +382,35 @@ class AuthServiceImplTest {
     void shouldReturnCorrectExpirationTime() {
         // Arrange
         when(userRepository.findByEmail(validCredentials.email())).thenReturn(Optional.of(userEntity));
-        when(passwordEncoder.matches(validCredentials.password(), userEntity.getSenha())).thenReturn(true);
+        when(passwordHashingExecutor.matches(validCredentials.password(), userEntity.getSenha())).thenReturn(CompletableFuture.completedFuture(true));
 
-        Jwt jwt = mock(Jwt.class);
-        when(jwt.getTokenValue()).thenReturn("mock.jwt.token");
-        when(jwtEncoder.encode(any(JwtEncoderParameters.class))).thenReturn(jwt);
+        when(tokenIssuer.issue(eq(userEntity), any(Instant.class), any(Instant.class))).thenReturn("mock.jwt.token");
 
         // Act
-        UserAuthRequestDto authResponse = authService.login(validCredentials);
+        UserAuthRequestDto authResponse = authService.login(validCredentials).join();
 
         // Assert
         assertThat(authResponse.expiresIn()).isEqualTo(3600L); // 1 hora em segundos
     }
+
+    @Test
+    @DisplayName("Deve revogar o access token e a sessão do refresh token no logout")
+    void shouldRevokeAccessTokenAndSessionOnLogout() {
+        // Arrange
+        Instant expiresAt = Instant.parse("2026-01-10T11:00:00Z");
+        Jwt accessToken = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .jti("jti-da-sessao")
+                .claim("userId", 1L)
+                .expiresAt(expiresAt)
+                .build();
+
+        // Act
+        authService.logout(accessToken, new RefreshTokenRequestDto("refresh-da-sessao"));
+
+        // Assert
+        verify(refreshTokenService).revokeFamily("refresh-da-sessao", 1L);
+        verify(tokenRevocationService).revokeToken("jti-da-sessao", expiresAt);
+        verify(refreshTokenService, never()).revokeAll(any());
+    }
 }
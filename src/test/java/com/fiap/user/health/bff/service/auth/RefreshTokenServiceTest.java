@@ -0,0 +1,182 @@
+package com.fiap.user.health.bff.service.auth;
+
+import com.fiap.user.health.bff.persistence.entity.RefreshTokenEntity;
+import com.fiap.user.health.bff.persistence.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService - Testes Unitários")
+class RefreshTokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-10T10:00:00Z");
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, Duration.ofDays(14), 2,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private RefreshTokenEntity stored(UUID familyId, Instant expiresAt) {
+        return RefreshTokenEntity.builder()
+                .id(10L)
+                .tokenHash("hash")
+                .userId(1L)
+                .familyId(familyId)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve gravar apenas o hash do refresh token emitido")
+    void shouldStoreOnlyTokenHash() {
+        // Act
+        String token = refreshTokenService.issue(1L);
+
+        // Assert
+        ArgumentCaptor<RefreshTokenEntity> captor = ArgumentCaptor.forClass(RefreshTokenEntity.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        RefreshTokenEntity saved = captor.getValue();
+        assertThat(token).hasSize(43);
+        assertThat(saved.getTokenHash()).hasSize(43).isNotEqualTo(token);
+        assertThat(saved.getUserId()).isEqualTo(1L);
+        assertThat(saved.getFamilyId()).isNotNull();
+        assertThat(saved.getExpiresAt()).isEqualTo(NOW.plus(Duration.ofDays(14)));
+        assertThat(saved.isUsed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve trocar o refresh token por um novo da mesma família")
+    void shouldRotateTokenWithinSameFamily() {
+        // Arrange
+        UUID familyId = UUID.randomUUID();
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored(familyId, NOW.plusSeconds(60))));
+        when(refreshTokenRepository.markUsed(10L)).thenReturn(1);
+
+        // Act
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("token-atual");
+
+        // Assert
+        ArgumentCaptor<RefreshTokenEntity> captor = ArgumentCaptor.forClass(RefreshTokenEntity.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertThat(rotation.userId()).isEqualTo(1L);
+        assertThat(rotation.refreshToken()).isNotEqualTo("token-atual");
+        assertThat(captor.getValue().getFamilyId()).isEqualTo(familyId);
+        verify(refreshTokenRepository, never()).deleteByFamilyId(any());
+    }
+
+    @Test
+    @DisplayName("Deve revogar a família inteira quando um refresh token já usado é reapresentado")
+    void shouldRevokeFamilyWhenTokenIsReused() {
+        // Arrange
+        UUID familyId = UUID.randomUUID();
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored(familyId, NOW.plusSeconds(60))));
+        when(refreshTokenRepository.markUsed(10L)).thenReturn(0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> refreshTokenService.rotate("token-reutilizado"))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessage("Invalid refresh token");
+
+        verify(refreshTokenRepository).deleteByFamilyId(familyId);
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve apagar no logout só a família do refresh token apresentado")
+    void shouldRevokeSessionFamilyOnLogout() {
+        // Arrange
+        UUID familyId = UUID.randomUUID();
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored(familyId, NOW.plusSeconds(60))));
+
+        // Act
+        refreshTokenService.revokeFamily("token-da-sessao", 1L);
+
+        // Assert
+        verify(refreshTokenRepository).deleteByFamilyId(familyId);
+        verify(refreshTokenRepository, never()).deleteByUserId(any());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar no logout refresh token de outro usuário")
+    void shouldIgnoreRefreshTokenOfAnotherUserOnLogout() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored(UUID.randomUUID(), NOW.plusSeconds(60))));
+
+        // Act
+        refreshTokenService.revokeFamily("token-alheio", 2L);
+
+        // Assert
+        verify(refreshTokenRepository, never()).deleteByFamilyId(any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar refresh token expirado sem marcá-lo como usado")
+    void shouldRejectExpiredToken() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(stored(UUID.randomUUID(), NOW)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> refreshTokenService.rotate("token-expirado"))
+                .isInstanceOf(BadCredentialsException.class);
+
+        verify(refreshTokenRepository, never()).markUsed(any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar refresh token desconhecido")
+    void shouldRejectUnknownToken() {
+        // Arrange
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> refreshTokenService.rotate("desconhecido"))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessage("Invalid refresh token");
+    }
+
+    @Test
+    @DisplayName("Deve remover tokens expirados em lotes até esgotar")
+    void shouldPurgeExpiredTokensInBatches() {
+        // Arrange
+        when(refreshTokenRepository.findExpiredIds(eq(NOW), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L));
+
+        // Act
+        refreshTokenService.purgeExpired();
+
+        // Assert
+        verify(refreshTokenRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(refreshTokenRepository).deleteAllByIdInBatch(List.of(3L));
+        verify(refreshTokenRepository, times(2)).findExpiredIds(eq(NOW), any(Pageable.class));
+    }
+}
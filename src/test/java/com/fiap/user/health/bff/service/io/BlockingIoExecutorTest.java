@@ -0,0 +1,77 @@
+package com.fiap.user.health.bff.service.io;
+
+import com.fiap.user.health.bff.exception.BlockingIoUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BlockingIoExecutor - Testes Unitários")
+class BlockingIoExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private BlockingIoExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new BlockingIoExecutor(meterRegistry, 1, 1, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    // Continuação que bloqueia até o teste liberar, simulando uma consulta lenta
+    private String slowQuery(String value) {
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "row:" + value;
+    }
+
+    @Test
+    @DisplayName("Deve completar a continuação com Retry-After quando a fila está cheia")
+    void shouldRejectContinuationWhenQueueIsFull() throws InterruptedException {
+        // Arrange - uma continuação ocupando a única thread e outra ocupando a única vaga da fila
+        CompletableFuture<String> running = CompletableFuture.completedFuture("primeira")
+                .thenApplyAsync(this::slowQuery, executor);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.completedFuture("segunda")
+                .thenApplyAsync(this::slowQuery, executor);
+
+        // Act
+        CompletableFuture<String> rejected = CompletableFuture.completedFuture("terceira")
+                .thenApplyAsync(this::slowQuery, executor);
+
+        // Assert
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(BlockingIoUnavailableException.class)
+                .satisfies(ex -> assertThat(((BlockingIoUnavailableException) ex.getCause()).getRetryAfterSeconds())
+                        .isEqualTo(3));
+        assertThat(meterRegistry.get("blocking.io.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.join()).isEqualTo("row:primeira");
+        assertThat(queued.join()).isEqualTo("row:segunda");
+    }
+}
@@ -0,0 +1,108 @@
+package com.fiap.user.health.bff.service.password;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Encoders adaptativos e calibração - Testes Unitários")
+class AdaptivePasswordEncodersTest {
+
+    @Test
+    @DisplayName("Deve pedir re-hash BCrypt com custo fixo quando o custo gravado é maior ou menor")
+    void shouldRehashBCryptInBothDirectionsWhenStrengthIsPinned() {
+        // Arrange
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+
+        // Act & Assert - custo fixo baixado de 6 para 5: os hashes de custo 6 voltam para 5
+        assertThat(encoder.upgradeEncoding(new AdaptiveBCryptPasswordEncoder(4).encode("senha123"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new AdaptiveBCryptPasswordEncoder(6).encode("senha123"))).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("senha123"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve pedir re-hash BCrypt calibrado só quando o custo gravado é menor que o atual")
+    void shouldUpgradeCalibratedBCryptOnlyWhenStoredCostIsLower() {
+        // Arrange
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5, true);
+
+        // Act & Assert
+        assertThat(encoder.upgradeEncoding(new AdaptiveBCryptPasswordEncoder(4).encode("senha123"))).isTrue();
+        // Hash de um nó calibrado com custo maior: não volta para o custo deste nó
+        assertThat(encoder.upgradeEncoding(new AdaptiveBCryptPasswordEncoder(6).encode("senha123"))).isFalse();
+        assertThat(encoder.upgradeEncoding(encoder.encode("senha123"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve pedir re-hash Argon2 com parâmetros fixos quando memória ou iterações gravadas são diferentes")
+    void shouldRehashArgon2InBothDirectionsWhenParametersArePinned() {
+        // Arrange
+        AdaptiveArgon2PasswordEncoder encoder = new AdaptiveArgon2PasswordEncoder(1024, 2, 1);
+        String current = encoder.encode("senha123");
+
+        // Act & Assert
+        assertThat(encoder.upgradeEncoding(current)).isFalse();
+        assertThat(encoder.upgradeEncoding(new AdaptiveArgon2PasswordEncoder(1024, 1, 1).encode("senha123"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new AdaptiveArgon2PasswordEncoder(1024, 3, 1).encode("senha123"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new AdaptiveArgon2PasswordEncoder(2048, 2, 1).encode("senha123"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new AdaptiveArgon2PasswordEncoder(1024, 2, 2).encode("senha123"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve pedir re-hash Argon2 calibrado só quando memória ou iterações gravadas são menores")
+    void shouldUpgradeCalibratedArgon2OnlyWhenStoredParametersAreLower() {
+        // Arrange
+        AdaptiveArgon2PasswordEncoder encoder = new AdaptiveArgon2PasswordEncoder(1024, 2, 1, true);
+        String current = encoder.encode("senha123");
+
+        // Act & Assert
+        assertThat(current).startsWith("$argon2id$");
+        assertThat(encoder.matches("senha123", current)).isTrue();
+        assertThat(encoder.upgradeEncoding(current)).isFalse();
+        assertThat(encoder.upgradeEncoding(new AdaptiveArgon2PasswordEncoder(1024, 1, 1).encode("senha123"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new AdaptiveArgon2PasswordEncoder(512, 2, 1).encode("senha123"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new AdaptiveArgon2PasswordEncoder(1024, 3, 1).encode("senha123"))).isFalse();
+        assertThat(encoder.upgradeEncoding(new AdaptiveArgon2PasswordEncoder(2048, 2, 1).encode("senha123"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve escolher o maior custo que cabe no tempo alvo")
+    void shouldCalibrateHighestCostWithinTarget() {
+        // Act - cada unidade de custo leva ~10ms
+        int cost = PasswordHashCalibrator.calibrate("fake", SleepingEncoder::new, 1, 10, Duration.ofMillis(45));
+
+        // Assert
+        assertThat(cost).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Deve manter o custo mínimo mesmo quando o hardware não atinge o alvo")
+    void shouldNeverCalibrateBelowMinimum() {
+        // Act
+        int cost = PasswordHashCalibrator.calibrate("fake", SleepingEncoder::new, 3, 10, Duration.ofMillis(5));
+
+        // Assert
+        assertThat(cost).isEqualTo(3);
+    }
+
+    private record SleepingEncoder(int cost) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                Thread.sleep(cost * 10L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "fake:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("fake:" + rawPassword);
+        }
+    }
+}
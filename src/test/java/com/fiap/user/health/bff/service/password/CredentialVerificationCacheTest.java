@@ -0,0 +1,124 @@
+package com.fiap.user.health.bff.service.password;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("CredentialVerificationCache - Testes Unitários")
+class CredentialVerificationCacheTest {
+
+    private static final String EMAIL = "joao@email.com";
+    private static final String HASH = "{bcrypt}$2a$10$hashGravado";
+
+    private SimpleMeterRegistry meterRegistry;
+    private CredentialVerificationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CredentialVerificationCache(meterRegistry, true, Duration.ofMinutes(1), 100);
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer apenas a mesma senha contra o mesmo hash gravado")
+    void shouldHitOnlyForSamePasswordAndStoredHash() {
+        // Act
+        cache.markVerified(EMAIL, "senha123", HASH);
+
+        // Assert
+        assertThat(cache.isVerified(EMAIL, "senha123", HASH)).isTrue();
+        assertThat(cache.isVerified(EMAIL, "senhaErrada", HASH)).isFalse();
+        assertThat(cache.isVerified(EMAIL, "senha123", "{bcrypt}$2a$10$outroHash")).isFalse();
+        assertThat(cache.isVerified("outro@email.com", "senha123", HASH)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve esquecer a credencial quando invalidada")
+    void shouldForgetCredentialWhenInvalidated() {
+        // Arrange
+        cache.markVerified(EMAIL, "senha123", HASH);
+
+        // Act
+        cache.invalidate(EMAIL);
+
+        // Assert
+        assertThat(cache.isVerified(EMAIL, "senha123", HASH)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Não deve guardar nada quando desabilitado")
+    void shouldNeverHitWhenDisabled() {
+        // Arrange
+        CredentialVerificationCache disabled = new CredentialVerificationCache(meterRegistry, false, Duration.ofMinutes(1), 100);
+
+        // Act
+        disabled.markVerified(EMAIL, "senha123", HASH);
+
+        // Assert
+        assertThat(disabled.isVerified(EMAIL, "senha123", HASH)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve reportar o tempo de hash economizado pelos acertos")
+    void shouldReportCpuTimeSavedByHits() {
+        // Arrange
+        Timer.builder("password.hashing.duration").tag("operation", "matches").register(meterRegistry)
+                .record(200, TimeUnit.MILLISECONDS);
+        cache.markVerified(EMAIL, "senha123", HASH);
+
+        // Act
+        cache.isVerified(EMAIL, "senha123", HASH);
+        cache.isVerified(EMAIL, "senha123", HASH);
+
+        // Assert
+        Counter saved = meterRegistry.get("credential.verification.cpu.saved").counter();
+        assertThat(saved.count()).isCloseTo(0.4, within(0.001));
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "credential.verification").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Não deve reduzir o tempo economizado quando a duração média do hash cai")
+    void shouldKeepCpuSavedMonotonicWhenAverageDrops() {
+        // Arrange
+        Timer matches = Timer.builder("password.hashing.duration").tag("operation", "matches").register(meterRegistry);
+        matches.record(200, TimeUnit.MILLISECONDS);
+        cache.markVerified(EMAIL, "senha123", HASH);
+        cache.isVerified(EMAIL, "senha123", HASH);
+        Counter saved = meterRegistry.get("credential.verification.cpu.saved").counter();
+        double before = saved.count();
+
+        // Act - hashes mais baratos derrubam a média
+        for (int i = 0; i < 9; i++) {
+            matches.record(10, TimeUnit.MILLISECONDS);
+        }
+        cache.isVerified(EMAIL, "senha123", HASH);
+
+        // Assert - 0,2s do primeiro acerto mais a nova média (29ms) do segundo
+        assertThat(saved.count()).isGreaterThan(before).isCloseTo(0.229, within(0.001));
+    }
+
+    @Test
+    @DisplayName("Não deve contar tempo economizado em senha que não confere")
+    void shouldNotCountCpuSavedOnMismatch() {
+        // Arrange
+        Timer.builder("password.hashing.duration").tag("operation", "matches").register(meterRegistry)
+                .record(200, TimeUnit.MILLISECONDS);
+        cache.markVerified(EMAIL, "senha123", HASH);
+
+        // Act
+        cache.isVerified(EMAIL, "outraSenha", HASH);
+
+        // Assert
+        assertThat(meterRegistry.get("credential.verification.cpu.saved").counter().count()).isZero();
+    }
+}
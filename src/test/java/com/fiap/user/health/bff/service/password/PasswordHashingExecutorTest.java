@@ -0,0 +1,130 @@
+package com.fiap.user.health.bff.service.password;
+
+import com.fiap.user.health.bff.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PasswordHashingExecutor - Testes Unitários")
+class PasswordHashingExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingExecutor executor;
+
+    // Encoder que bloqueia até o teste liberar, simulando um BCrypt lento
+    private final PasswordEncoder slowEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new PasswordHashingExecutor(slowEncoder, meterRegistry, 1, 1, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve executar encode e matches fora da thread chamadora")
+    void shouldEncodeAndMatchOnHashingPool() {
+        // Arrange
+        release.countDown();
+
+        // Act
+        String encoded = executor.encode("senha123").join();
+        boolean matches = executor.matches("senha123", encoded).join();
+
+        // Assert
+        assertThat(encoded).isEqualTo("hash:senha123");
+        assertThat(matches).isTrue();
+        assertThat(meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing.queue.wait").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar imediatamente com Retry-After quando a fila está cheia")
+    void shouldRejectWhenQueueIsFull() throws InterruptedException {
+        // Arrange - uma tarefa ocupando a única thread e outra ocupando a única vaga da fila
+        CompletableFuture<String> running = executor.encode("primeira");
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = executor.encode("segunda");
+
+        // Act
+        CompletableFuture<String> rejected = executor.encode("terceira");
+
+        // Assert
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(PasswordHashingUnavailableException.class);
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing.queue.size").gauge().value()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.join()).isEqualTo("hash:primeira");
+        assertThat(queued.join()).isEqualTo("hash:segunda");
+    }
+
+    @Test
+    @DisplayName("Deve informar o Retry-After configurado na exceção de rejeição")
+    void shouldExposeConfiguredRetryAfter() throws InterruptedException {
+        // Arrange
+        executor.encode("primeira");
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.encode("segunda");
+
+        // Act & Assert
+        assertThatThrownBy(() -> executor.encode("terceira").join())
+                .hasCauseInstanceOf(PasswordHashingUnavailableException.class)
+                .satisfies(ex -> assertThat(((PasswordHashingUnavailableException) ex.getCause()).getRetryAfterSeconds())
+                        .isEqualTo(3));
+    }
+
+    @Test
+    @DisplayName("Deve codificar um lote sem exceder as threads do pool nem ser rejeitado")
+    void shouldEncodeAllWithoutFillingQueue() {
+        // Arrange - pool com uma thread e uma vaga de fila, menor que o lote
+        release.countDown();
+
+        // Act
+        List<String> encoded = executor.encodeAll(List.of("a", "b", "c", "d")).join();
+
+        // Assert
+        assertThat(encoded).containsExactly("hash:a", "hash:b", "hash:c", "hash:d");
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isZero();
+    }
+}
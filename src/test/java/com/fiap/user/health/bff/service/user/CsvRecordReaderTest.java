@@ -0,0 +1,65 @@
+package com.fiap.user.health.bff.service.user;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CsvRecordReader - Testes Unitários")
+class CsvRecordReaderTest {
+
+    @Test
+    @DisplayName("Deve ler campos entre aspas com vírgula, aspas escapadas e quebra de linha")
+    void shouldReadQuotedFields() throws IOException {
+        // Arrange
+        String csv = "nome,email\r\n\"Silva, Ana\",\"ana\"\"x\"\"@email.com\"\n\"linha\nquebrada\",b\n";
+
+        // Act
+        try (CsvRecordReader reader = new CsvRecordReader(new StringReader(csv))) {
+            // Assert
+            assertThat(reader.next()).containsExactly("nome", "email");
+            assertThat(reader.next()).containsExactly("Silva, Ana", "ana\"x\"@email.com");
+            assertThat(reader.next()).containsExactly("linha\nquebrada", "b");
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ignorar BOM, linhas em branco e ler o último registro sem quebra de linha")
+    void shouldSkipBomAndBlankLines() throws IOException {
+        // Arrange
+        String csv = "\uFEFFa,b\n\n\r\nc,\n,d";
+
+        // Act
+        try (CsvRecordReader reader = new CsvRecordReader(new StringReader(csv))) {
+            // Assert
+            assertThat(reader.next()).containsExactly("a", "b");
+            assertThat(reader.next()).containsExactly("c", "");
+            assertThat(reader.next()).containsExactly("", "d");
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve falhar em aspas sem fechamento sem carregar o restante do arquivo")
+    void shouldRejectUnterminatedQuote() throws IOException {
+        // Arrange
+        String csv = "a,\"" + "x".repeat(CsvRecordReader.MAX_RECORD_CHARS * 2);
+
+        // Act & Assert
+        try (CsvRecordReader reader = new CsvRecordReader(new StringReader(csv))) {
+            assertThatThrownBy(reader::next)
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("exceeds");
+        }
+        try (CsvRecordReader reader = new CsvRecordReader(new StringReader("a,\"b"))) {
+            assertThatThrownBy(reader::next)
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("not closed");
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.fiap.user.health.bff.service.user;
+
+import com.fiap.user.health.bff.dto.response.UserResponseDto;
+import com.fiap.user.health.bff.persistence.entity.UserEntity;
+import com.fiap.user.health.bff.security.revocation.UsersRevokedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UserLookupCache - Testes Unitários")
+class UserLookupCacheTest {
+
+    private static final UserResponseDto JOAO = new UserResponseDto(1L, "João Silva", "joao@email.com", "joaosilva");
+    private static final UserResponseDto MARIA = new UserResponseDto(2L, "Maria Santos", "maria@email.com", "mariasantos");
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserLookupCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserLookupCache(meterRegistry, true, Duration.ofMinutes(1), 100);
+    }
+
+    private static UserEntity account(Long id, String email, String senha) {
+        return UserEntity.builder().id(id).nome("João Silva").email(email).login("joaosilva").senha(senha).build();
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco só na primeira busca por id e não guardar ausências")
+    void shouldLoadSummaryOnceAndNotCacheMisses() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        cache.getSummary(1L, id -> { loads.incrementAndGet(); return Optional.of(JOAO); });
+        Optional<UserResponseDto> cached = cache.getSummary(1L, id -> { loads.incrementAndGet(); return Optional.of(JOAO); });
+        cache.getSummary(999L, id -> { loads.incrementAndGet(); return Optional.empty(); });
+        cache.getSummary(999L, id -> { loads.incrementAndGet(); return Optional.empty(); });
+
+        // Assert
+        assertThat(cached).contains(JOAO);
+        assertThat(loads).hasValue(3);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "users.by-id").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Deve levar ao banco apenas os ids que faltam no cache, em uma chamada")
+    void shouldLoadOnlyMissingIdsInSingleCall() {
+        // Arrange
+        cache.getSummary(1L, id -> Optional.of(JOAO));
+        List<Collection<Long>> calls = new ArrayList<>();
+
+        // Act
+        Map<Long, UserResponseDto> found = cache.getSummaries(List.of(1L, 2L, 999L), ids -> {
+            calls.add(ids);
+            return List.of(MARIA);
+        });
+
+        // Assert
+        assertThat(found).containsOnlyKeys(1L, 2L);
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0)).containsExactlyInAnyOrder(2L, 999L);
+    }
+
+    @Test
+    @DisplayName("Deve entregar cópias da conta, sem expor a entidade guardada")
+    void shouldReturnCopiesOfCachedAccount() {
+        // Arrange
+        cache.getAccount("joao@email.com", email -> Optional.of(account(1L, email, "{bcrypt}hash")));
+
+        // Act
+        cache.getAccount("joao@email.com", email -> Optional.empty()).orElseThrow().setSenha("alterada");
+        Optional<UserEntity> cached = cache.getAccount("joao@email.com", email -> Optional.empty());
+
+        // Assert
+        assertThat(cached).map(UserEntity::getSenha).contains("{bcrypt}hash");
+    }
+
+    @Test
+    @DisplayName("Deve invalidar por id e email e, na exclusão, localizar as contas pelo id")
+    void shouldInvalidateByIdEmailAndDeletedIds() {
+        // Arrange
+        cache.getSummary(1L, id -> Optional.of(JOAO));
+        cache.getAccount("joao@email.com", email -> Optional.of(account(1L, email, "hash")));
+        cache.getAccount("maria@email.com", email -> Optional.of(account(2L, email, "hash")));
+
+        // Act
+        cache.invalidate(1L, null);
+        cache.invalidateIds(List.of(2L));
+
+        // Assert
+        assertThat(cache.getSummary(1L, id -> Optional.empty())).isEmpty();
+        assertThat(cache.getAccount("joao@email.com", email -> Optional.empty())).isPresent();
+        assertThat(cache.getAccount("maria@email.com", email -> Optional.empty())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve ir sempre ao banco quando desligado")
+    void shouldAlwaysLoadWhenDisabled() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UserLookupCache disabled = new UserLookupCache(registry, false, Duration.ofMinutes(1), 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        disabled.getSummary(1L, id -> { loads.incrementAndGet(); return Optional.of(JOAO); });
+        disabled.getSummary(1L, id -> { loads.incrementAndGet(); return Optional.of(JOAO); });
+
+        // Assert
+        assertThat(loads).hasValue(2);
+        assertThat(registry.find("cache.gets").functionCounter()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve descartar a conta do usuário revogado em qualquer instância")
+    void shouldEvictAccountOnUsersRevokedEvent() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        cache.getAccount("joao@email.com", email -> { loads.incrementAndGet(); return Optional.of(account(1L, email, "hash-antigo")); });
+
+        // Act
+        cache.onUsersRevoked(new UsersRevokedEvent(Set.of(1L)));
+        Optional<UserEntity> reloaded = cache.getAccount("joao@email.com",
+                email -> { loads.incrementAndGet(); return Optional.of(account(1L, email, "hash-novo")); });
+
+        // Assert
+        assertThat(loads).hasValue(2);
+        assertThat(reloaded).map(UserEntity::getSenha).contains("hash-novo");
+    }
+}
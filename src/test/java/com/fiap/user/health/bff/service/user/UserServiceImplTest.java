@@ -1,23 +1,45 @@
 package com.fiap.user.health.bff.service.user;
 
+import com.fiap.user.health.bff.dto.response.UserBatchItemResponseDto;
+import com.fiap.user.health.bff.dto.response.UserBatchResponseDto;
+import com.fiap.user.health.bff.dto.response.UserMultiGetResponseDto;
+import com.fiap.user.health.bff.dto.response.UserPageResponseDto;
+import com.fiap.user.health.bff.dto.response.UserResponseDto;
 import com.fiap.user.health.bff.exception.EmailAlreadyExistsException;
+import com.fiap.user.health.bff.exception.InvalidCursorException;
 import com.fiap.user.health.bff.exception.UserNotFoundException;
 import com.fiap.user.health.bff.mapper.UserMapper;
 import com.fiap.user.health.bff.model.User;
 import com.fiap.user.health.bff.persistence.entity.UserEntity;
 import com.fiap.user.health.bff.persistence.repository.UserRepository;
+import com.fiap.user.health.bff.security.revocation.TokenRevocationService;
+import com.fiap.user.health.bff.service.auth.RefreshTokenService;
+import com.fiap.user.health.bff.service.io.BlockingIoExecutor;
+import com.fiap.user.health.bff.service.password.CredentialVerificationCache;
+import com.fiap.user.health.bff.service.password.PasswordHashingExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-
-import java.util.Arrays;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -34,7 +56,28 @@ class UserServiceImplTest {
     private UserMapper userMapper;
 
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    // Pool real: as continuações rodam fora da thread do teste, como em produção
+    @Spy
+    private BlockingIoExecutor blockingIoExecutor = new BlockingIoExecutor(new SimpleMeterRegistry(), 2, 100, 1);
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private CredentialVerificationCache credentialVerificationCache;
+
+    // Cache desligado: as buscas vão direto aos mocks do repositório
+    @Spy
+    private UserLookupCache userLookupCache = new UserLookupCache(new SimpleMeterRegistry(), false, Duration.ofSeconds(30), 100);
+
+    // Executa o callback direto, sem transação
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
 
     @InjectMocks
     private UserServiceImpl userService;
@@ -67,14 +110,13 @@ class UserServiceImplTest {
     @SuppressWarnings("DataFlowIssue")
     void shouldCreateUserSuccessfully() {
         // Arrange - Configuração do cenário de teste
-        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$encodedPassword");
+        when(passwordHashingExecutor.encode(anyString())).thenReturn(CompletableFuture.completedFuture("$2a$10$encodedPassword"));
         when(userMapper.toEntity(any(User.class))).thenReturn(userEntity);
         when(userRepository.save(userEntity)).thenReturn(userEntity);
         when(userMapper.toModel(userEntity)).thenReturn(user);
 
         // Act - Execução do método testado
-        User createdUser = userService.createUser(user);
+        User createdUser = userService.createUser(user).join();
 
         // Assert - Verificação dos resultados
         assertThat(createdUser).isNotNull();
@@ -82,26 +124,80 @@ class UserServiceImplTest {
         assertThat(createdUser.getNome()).isEqualTo("João Silva");
 
         // Verificação de interações com mocks
-        verify(userRepository).findByEmail(user.getEmail());
-        verify(passwordEncoder).encode("senha123");
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(passwordHashingExecutor).encode("senha123");
         verify(userRepository).save(any(UserEntity.class));
         verify(userMapper).toEntity(any(User.class));
         verify(userMapper).toModel(userEntity);
     }
 
+    @Test
+    @DisplayName("Deve criar lote marcando conflito para email já cadastrado e repetido no próprio lote")
+    void shouldCreateUsersInBatchReportingConflicts() {
+        // Arrange
+        List<User> users = List.of(batchUser("ana@email.com"), batchUser("joao@email.com"), batchUser("ana@email.com"));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("joao@email.com"));
+        when(passwordHashingExecutor.encodeAll(List.of("senha123")))
+                .thenReturn(CompletableFuture.completedFuture(List.of("$2a$10$encodedPassword")));
+        when(userMapper.toEntity(any(User.class))).thenAnswer(inv -> toEntity(inv.getArgument(0)));
+        when(userRepository.saveAll(anyList())).thenAnswer(inv -> withIds(inv.getArgument(0)));
+
+        // Act
+        UserBatchResponseDto response = userService.createUsers(users).join();
+
+        // Assert
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.conflicts()).isEqualTo(2);
+        assertThat(response.items()).extracting(UserBatchItemResponseDto::status).containsExactly(
+                UserBatchItemResponseDto.Status.CREATED,
+                UserBatchItemResponseDto.Status.CONFLICT,
+                UserBatchItemResponseDto.Status.CONFLICT);
+        assertThat(response.items().getFirst().id()).isEqualTo(100L);
+        verify(userRepository).findExistingEmails(List.of("ana@email.com", "joao@email.com", "ana@email.com"));
+        verify(userRepository, never()).save(any(UserEntity.class));
+    }
+
+    @Test
+    @DisplayName("Deve refazer o lote item a item quando um email é cadastrado concorrentemente")
+    void shouldFallBackToSingleInsertsOnConcurrentEmail() {
+        // Arrange
+        List<User> users = List.of(batchUser("ana@email.com"), batchUser("bia@email.com"));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+        when(passwordHashingExecutor.encodeAll(anyList()))
+                .thenReturn(CompletableFuture.completedFuture(List.of("$2a$10$a", "$2a$10$b")));
+        when(userMapper.toEntity(any(User.class))).thenAnswer(inv -> toEntity(inv.getArgument(0)));
+        when(userRepository.saveAll(anyList())).thenThrow(emailConstraintViolation());
+        when(userRepository.save(argThat(e -> e != null && "ana@email.com".equals(e.getEmail()))))
+                .thenThrow(emailConstraintViolation());
+        when(userRepository.save(argThat(e -> e != null && "bia@email.com".equals(e.getEmail()))))
+                .thenAnswer(inv -> withIds(List.of(inv.<UserEntity>getArgument(0))).getFirst());
+
+        // Act
+        UserBatchResponseDto response = userService.createUsers(users).join();
+
+        // Assert
+        assertThat(response.items()).extracting(UserBatchItemResponseDto::status).containsExactly(
+                UserBatchItemResponseDto.Status.CONFLICT,
+                UserBatchItemResponseDto.Status.CREATED);
+        assertThat(response.items().get(1).id()).isEqualTo(100L);
+    }
+
     @Test
     @DisplayName("Deve lançar exceção ao tentar criar usuário com email já existente")
     void shouldThrowExceptionWhenEmailAlreadyExists() {
         // Arrange
-        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(userEntity));
+        when(passwordHashingExecutor.encode(anyString())).thenReturn(CompletableFuture.completedFuture("$2a$10$encodedPassword"));
+        when(userMapper.toEntity(any(User.class))).thenReturn(userEntity);
+        when(userRepository.save(userEntity)).thenThrow(emailConstraintViolation());
 
         // Act & Assert
-        assertThatThrownBy(() -> userService.createUser(user))
+        assertThatThrownBy(() -> userService.createUser(user).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
                 .isInstanceOf(EmailAlreadyExistsException.class)
                 .hasMessageContaining(user.getEmail());
 
-        // Verificação que o save não foi chamado
-        verify(userRepository, never()).save(any(UserEntity.class));
+        verify(userRepository, never()).findByEmail(anyString());
     }
 
     @Test
@@ -115,32 +211,161 @@ class UserServiceImplTest {
                 .build();
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
-        when(userRepository.findByEmail(updatedUser.getEmail())).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(anyString())).thenReturn("$2a$10$newEncodedPassword");
-        when(userRepository.save(any(UserEntity.class))).thenReturn(userEntity);
+        when(passwordHashingExecutor.encode(anyString())).thenReturn(CompletableFuture.completedFuture("$2a$10$newEncodedPassword"));
+        when(userRepository.saveAndFlush(userEntity)).thenReturn(userEntity);
+        when(userMapper.toModel(userEntity)).thenReturn(user);
+
+        // Act
+        Optional<User> result = userService.updateUser(1L, updatedUser).join();
+
+        // Assert - a entidade é lida depois do hash, dentro da transação
+        assertThat(result).isPresent();
+        InOrder order = inOrder(passwordHashingExecutor, transactionOperations, userRepository);
+        order.verify(passwordHashingExecutor).encode("novaSenha123");
+        order.verify(transactionOperations).execute(any());
+        order.verify(userRepository).findById(1L);
+        order.verify(userRepository).saveAndFlush(userEntity);
+        assertThat(userEntity.getSenha()).isEqualTo("$2a$10$newEncodedPassword");
+        verify(tokenRevocationService).revokeUser(1L);
+        verify(refreshTokenService).revokeAll(1L);
+        verify(credentialVerificationCache).invalidate("joao@email.com");
+        verify(userLookupCache).invalidate(1L, "joao@email.com");
+        verify(userLookupCache).invalidate(null, "novoemail@email.com");
+    }
+
+    @Test
+    @DisplayName("Deve atualizar parcialmente o email sem refazer o hash da senha")
+    void shouldPatchEmailWithoutHashing() {
+        // Arrange
+        User changes = User.builder().email("novo@email.com").build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
+        when(userRepository.saveAndFlush(userEntity)).thenReturn(userEntity);
         when(userMapper.toModel(userEntity)).thenReturn(user);
 
         // Act
-        Optional<User> result = userService.updateUser(1L, updatedUser);
+        Optional<User> result = userService.patchUser(1L, changes).join();
 
         // Assert
         assertThat(result).isPresent();
-        verify(userRepository).findById(1L);
-        verify(passwordEncoder).encode("novaSenha123");
-        verify(userRepository).save(any(UserEntity.class));
+        assertThat(userEntity.getEmail()).isEqualTo("novo@email.com");
+        assertThat(userEntity.getSenha()).isEqualTo("$2a$10$encodedPassword");
+        verify(passwordHashingExecutor, never()).encode(anyString());
+        verify(tokenRevocationService).revokeUser(1L);
+        verify(refreshTokenService).revokeAll(1L);
+        verify(credentialVerificationCache).invalidate("joao@email.com");
+        verify(credentialVerificationCache).invalidate("novo@email.com");
+    }
+
+    @Test
+    @DisplayName("Deve atualizar parcialmente o login sem revogar tokens")
+    void shouldPatchLoginWithoutRevokingTokens() {
+        // Arrange
+        User changes = User.builder().login("novologin").build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
+        when(userRepository.saveAndFlush(userEntity)).thenReturn(userEntity);
+        when(userMapper.toModel(userEntity)).thenReturn(user);
+
+        // Act
+        userService.patchUser(1L, changes).join();
+
+        // Assert
+        assertThat(userEntity.getLogin()).isEqualTo("novologin");
+        assertThat(userEntity.getEmail()).isEqualTo("joao@email.com");
+        verify(passwordHashingExecutor, never()).encode(anyString());
+        verifyNoInteractions(tokenRevocationService, refreshTokenService, credentialVerificationCache);
+    }
+
+    @Test
+    @DisplayName("Deve refazer o hash apenas quando uma nova senha é enviada no PATCH")
+    void shouldHashOnlyWhenPasswordIsPatched() {
+        // Arrange
+        User changes = User.builder().senha("novaSenha123").build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
+        when(passwordHashingExecutor.encode("novaSenha123"))
+                .thenReturn(CompletableFuture.completedFuture("$2a$10$newEncodedPassword"));
+        when(userRepository.saveAndFlush(userEntity)).thenReturn(userEntity);
+        when(userMapper.toModel(userEntity)).thenReturn(user);
+
+        // Act
+        userService.patchUser(1L, changes).join();
+
+        // Assert
+        assertThat(userEntity.getSenha()).isEqualTo("$2a$10$newEncodedPassword");
+        assertThat(userEntity.getLogin()).isEqualTo("joaosilva");
+        verify(tokenRevocationService).revokeUser(1L);
+        verify(refreshTokenService).revokeAll(1L);
+    }
+
+    @Test
+    @DisplayName("Não deve gravar nada quando o PATCH não altera nenhum campo")
+    void shouldNotSaveWhenPatchChangesNothing() {
+        // Arrange
+        User changes = User.builder().email("joao@email.com").login("joaosilva").build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
+        when(userMapper.toModel(userEntity)).thenReturn(user);
+
+        // Act
+        Optional<User> result = userService.patchUser(1L, changes).join();
+
+        // Assert
+        assertThat(result).contains(user);
+        verify(userRepository, never()).saveAndFlush(any(UserEntity.class));
+        verifyNoInteractions(passwordHashingExecutor, tokenRevocationService);
+    }
+
+    @Test
+    @DisplayName("Deve carregar o usuário só depois do hash no PATCH, preservando alteração concorrente")
+    void shouldLoadUserOnlyAfterHashOnPatch() {
+        // Arrange
+        CompletableFuture<String> hashing = new CompletableFuture<>();
+        when(passwordHashingExecutor.encode("novaSenha123")).thenReturn(hashing);
+        User changes = User.builder().senha("novaSenha123").build();
+
+        // Act
+        CompletableFuture<Optional<User>> result = userService.patchUser(1L, changes);
+        verify(userRepository, never()).findById(any());
+        // Outra requisição troca o login enquanto o hash roda
+        userEntity.setLogin("loginconcorrente");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
+        when(userRepository.saveAndFlush(userEntity)).thenReturn(userEntity);
+        when(userMapper.toModel(userEntity)).thenReturn(user);
+        hashing.complete("$2a$10$newEncodedPassword");
+        result.join();
+
+        // Assert
+        assertThat(userEntity.getSenha()).isEqualTo("$2a$10$newEncodedPassword");
+        assertThat(userEntity.getLogin()).isEqualTo("loginconcorrente");
+        verify(transactionOperations).execute(any());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção ao atualizar parcialmente usuário inexistente")
+    void shouldThrowExceptionWhenPatchingNonExistentUser() {
+        // Arrange
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.patchUser(999L, User.builder().login("novologin").build()).join())
+                .cause()
+                .isInstanceOf(UserNotFoundException.class);
+
+        verify(userRepository, never()).saveAndFlush(any(UserEntity.class));
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao atualizar usuário inexistente")
     void shouldThrowExceptionWhenUpdatingNonExistentUser() {
         // Arrange
+        when(passwordHashingExecutor.encode(anyString())).thenReturn(CompletableFuture.completedFuture("$2a$10$newEncodedPassword"));
         when(userRepository.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThatThrownBy(() -> userService.updateUser(999L, user))
+        assertThatThrownBy(() -> userService.updateUser(999L, user).join())
+                .cause()
                 .isInstanceOf(UserNotFoundException.class);
 
-        verify(userRepository, never()).save(any(UserEntity.class));
+        verify(userRepository, never()).saveAndFlush(any(UserEntity.class));
+        verify(tokenRevocationService, never()).revokeUser(any());
     }
 
     @Test
@@ -153,131 +378,230 @@ class UserServiceImplTest {
                 .senha("novaSenha123")
                 .build();
 
-        UserEntity anotherUserEntity = UserEntity.builder()
-                .id(2L)
-                .email("existente@email.com")
-                .build();
-
         when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
-        when(userRepository.findByEmail("existente@email.com")).thenReturn(Optional.of(anotherUserEntity));
+        when(passwordHashingExecutor.encode(anyString())).thenReturn(CompletableFuture.completedFuture("$2a$10$newEncodedPassword"));
+        when(userRepository.saveAndFlush(userEntity)).thenThrow(emailConstraintViolation());
 
         // Act & Assert
-        assertThatThrownBy(() -> userService.updateUser(1L, updatedUser))
+        assertThatThrownBy(() -> userService.updateUser(1L, updatedUser).join())
+                .cause()
                 .isInstanceOf(EmailAlreadyExistsException.class)
                 .hasMessageContaining("existente@email.com");
+
+        verify(tokenRevocationService, never()).revokeUser(any());
     }
 
     @Test
-    @DisplayName("Deve deletar usuário com sucesso")
+    @DisplayName("Deve propagar violação de integridade que não seja do email")
+    void shouldPropagateOtherIntegrityViolations() {
+        // Arrange
+        when(passwordHashingExecutor.encode(anyString())).thenReturn(CompletableFuture.completedFuture("$2a$10$encodedPassword"));
+        when(userMapper.toEntity(any(User.class))).thenReturn(userEntity);
+        when(userRepository.save(userEntity)).thenThrow(new DataIntegrityViolationException("NULL not allowed for column \"NOME\""));
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.createUser(user).join())
+                .cause()
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("Deve deletar usuário pela entidade e invalidar o cache de credenciais pelo email removido")
     void shouldDeleteUserSuccessfully() {
         // Arrange
-        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
-        doNothing().when(userRepository).delete(userEntity);
+        when(userRepository.removeById(1L)).thenReturn(Optional.of("joao@email.com"));
 
         // Act
         userService.deleteUser(1L);
 
         // Assert
-        verify(userRepository).findById(1L);
-        verify(userRepository).delete(userEntity);
+        verify(userRepository).removeById(1L);
+        verify(tokenRevocationService).revokeUser(1L);
+        verify(credentialVerificationCache).invalidate("joao@email.com");
+        verify(userLookupCache).invalidate(1L, "joao@email.com");
     }
 
     @Test
     @DisplayName("Deve lançar exceção ao deletar usuário inexistente")
     void shouldThrowExceptionWhenDeletingNonExistentUser() {
         // Arrange
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+        when(userRepository.removeById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> userService.deleteUser(999L))
                 .isInstanceOf(UserNotFoundException.class);
 
-        verify(userRepository, never()).delete(any(UserEntity.class));
+        verify(tokenRevocationService, never()).revokeUser(any());
     }
 
     @Test
-    @DisplayName("Deve retornar lista de todos os usuários")
-    void shouldGetAllUsers() {
+    @DisplayName("Deve deletar usuários em lote e revogar os tokens de todos")
+    void shouldDeleteUsersInBulk() {
         // Arrange
-        UserEntity user2Entity = UserEntity.builder()
-                .id(2L)
-                .nome("Maria Santos")
-                .email("maria@email.com")
-                .login("mariasantos")
-                .senha("$2a$10$encodedPassword2")
-                .build();
+        List<Long> ids = List.of(1L, 2L, 999L);
+        when(userRepository.removeAllById(ids)).thenReturn(List.of("joao@email.com", "maria@email.com"));
 
-        User user2 = User.builder()
-                .id(2L)
-                .nome("Maria Santos")
-                .email("maria@email.com")
-                .login("mariasantos")
-                .senha("senha456")
-                .build();
+        // Act
+        int deleted = userService.deleteUsers(ids);
 
-        List<UserEntity> entities = Arrays.asList(userEntity, user2Entity);
+        // Assert
+        assertThat(deleted).isEqualTo(2);
+        verify(tokenRevocationService).revokeUsers(ids);
+        verify(credentialVerificationCache).invalidate("joao@email.com");
+        verify(credentialVerificationCache).invalidate("maria@email.com");
+        verify(userLookupCache).invalidateIds(ids);
+    }
 
-        when(userRepository.findAll()).thenReturn(entities);
-        when(userMapper.toModel(userEntity)).thenReturn(user);
-        when(userMapper.toModel(user2Entity)).thenReturn(user2);
+    @Test
+    @DisplayName("Deve retornar primeira página sem cursor quando não houver mais usuários")
+    void shouldGetFirstPageOfUsers() {
+        // Arrange
+        UserResponseDto joao = new UserResponseDto(1L, "João Silva", "joao@email.com", "joaosilva");
+        UserResponseDto maria = new UserResponseDto(2L, "Maria Santos", "maria@email.com", "mariasantos");
+
+        when(userRepository.findSummariesAfterId(0L, Limit.of(11))).thenReturn(List.of(joao, maria));
 
         // Act
-        List<User> users = userService.getAllUsers();
+        UserPageResponseDto page = userService.getUsers(null, 10);
 
         // Assert
-        assertThat(users).hasSize(2);
-        assertThat(users).extracting(User::getEmail)
-                .containsExactlyInAnyOrder("joao@email.com", "maria@email.com");
+        assertThat(page.items()).containsExactly(joao, maria);
+        assertThat(page.next()).isNull();
 
-        verify(userRepository).findAll();
-        verify(userMapper, times(2)).toModel(any(UserEntity.class));
+        verify(userRepository, never()).findAll();
+        verifyNoInteractions(userMapper);
     }
 
     @Test
-    @DisplayName("Deve retornar lista vazia quando não houver usuários")
-    void shouldReturnEmptyListWhenNoUsers() {
+    @DisplayName("Deve devolver cursor da próxima página e continuar a partir dele")
+    void shouldReturnNextCursorAndContinueFromIt() {
         // Arrange
-        when(userRepository.findAll()).thenReturn(List.of());
+        UserResponseDto first = new UserResponseDto(1L, "João Silva", "joao@email.com", "joaosilva");
+        UserResponseDto second = new UserResponseDto(2L, "Maria Santos", "maria@email.com", "mariasantos");
+        UserResponseDto third = new UserResponseDto(3L, "Pedro Costa", "pedro@email.com", "pedrocosta");
+
+        when(userRepository.findSummariesAfterId(0L, Limit.of(2))).thenReturn(List.of(first, second));
+        when(userRepository.findSummariesAfterId(1L, Limit.of(2))).thenReturn(List.of(second, third));
 
         // Act
-        List<User> users = userService.getAllUsers();
+        UserPageResponseDto firstPage = userService.getUsers(null, 1);
+        UserPageResponseDto secondPage = userService.getUsers(firstPage.next(), 1);
 
         // Assert
-        assertThat(users).isEmpty();
-        verify(userRepository).findAll();
+        assertThat(firstPage.items()).containsExactly(first);
+        assertThat(firstPage.next()).isNotNull();
+        assertThat(secondPage.items()).containsExactly(second);
+        assertThat(secondPage.next()).isNotNull().isNotEqualTo(firstPage.next());
+    }
+
+    @Test
+    @DisplayName("Deve retornar página vazia quando não houver usuários")
+    void shouldReturnEmptyPageWhenNoUsers() {
+        // Arrange
+        when(userRepository.findSummariesAfterId(0L, Limit.of(51))).thenReturn(List.of());
+
+        // Act
+        UserPageResponseDto page = userService.getUsers(null, 50);
+
+        // Assert
+        assertThat(page.items()).isEmpty();
+        assertThat(page.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção para cursor inválido")
+    void shouldThrowExceptionForInvalidCursor() {
+        // Act & Assert
+        assertThatThrownBy(() -> userService.getUsers("não-é-cursor", 10))
+                .isInstanceOf(InvalidCursorException.class);
+
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Deve paginar por offset")
+    void shouldGetUsersByOffset() {
+        // Arrange
+        UserResponseDto joao = new UserResponseDto(1L, "João Silva", "joao@email.com", "joaosilva");
+        PageRequest pageRequest = PageRequest.of(2, 1);
+        when(userRepository.findSummaries(pageRequest)).thenReturn(new SliceImpl<>(List.of(joao), pageRequest, true));
+
+        // Act
+        UserPageResponseDto page = userService.getUsersByOffset(2, 1);
+
+        // Assert
+        assertThat(page.items()).containsExactly(joao);
+        assertThat(page.next()).isNotNull();
     }
 
     @Test
     @DisplayName("Deve retornar usuário ao buscar por ID existente")
     void shouldGetUserByIdWhenExists() {
         // Arrange
-        when(userRepository.findById(1L)).thenReturn(Optional.of(userEntity));
-        when(userMapper.toModel(userEntity)).thenReturn(user);
+        UserResponseDto joao = new UserResponseDto(1L, "João Silva", "joao@email.com", "joaosilva");
+        when(userRepository.findSummaryById(1L)).thenReturn(Optional.of(joao));
 
         // Act
-        Optional<User> result = userService.getUserById(1L);
+        Optional<UserResponseDto> result = userService.getUserById(1L);
 
         // Assert
-        assertThat(result).isPresent();
-        assertThat(result.get().getId()).isEqualTo(1L);
-        assertThat(result.get().getEmail()).isEqualTo("joao@email.com");
+        assertThat(result).contains(joao);
 
-        verify(userRepository).findById(1L);
-        verify(userMapper).toModel(userEntity);
+        verify(userRepository).findSummaryById(1L);
+        verify(userRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("Deve retornar Optional vazio ao buscar por ID inexistente")
     void shouldReturnEmptyWhenUserNotFound() {
         // Arrange
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+        when(userRepository.findSummaryById(999L)).thenReturn(Optional.empty());
 
         // Act
-        Optional<User> result = userService.getUserById(999L);
+        Optional<UserResponseDto> result = userService.getUserById(999L);
 
         // Assert
         assertThat(result).isEmpty();
-        verify(userRepository).findById(999L);
-        verify(userMapper, never()).toModel(any(UserEntity.class));
+        verify(userRepository).findSummaryById(999L);
+    }
+
+    @Test
+    @DisplayName("Deve buscar vários usuários em uma consulta, na ordem pedida, listando os ausentes")
+    void shouldGetUsersByIdsInRequestedOrder() {
+        // Arrange
+        UserResponseDto joao = new UserResponseDto(1L, "João Silva", "joao@email.com", "joaosilva");
+        UserResponseDto maria = new UserResponseDto(2L, "Maria Santos", "maria@email.com", "mariasantos");
+        List<Long> ids = List.of(2L, 999L, 1L);
+        when(userRepository.findSummariesByIds(ids)).thenReturn(List.of(joao, maria));
+
+        // Act
+        UserMultiGetResponseDto result = userService.getUsersByIds(ids);
+
+        // Assert
+        assertThat(result.users()).containsExactly(maria, joao);
+        assertThat(result.missing()).containsExactly(999L);
+        verify(userRepository, never()).findSummaryById(any());
+    }
+
+    private static User batchUser(String email) {
+        return User.builder().nome("Usuário Lote").email(email).login("lote").senha("senha123").build();
+    }
+
+    private static UserEntity toEntity(User user) {
+        return UserEntity.builder().nome(user.getNome()).email(user.getEmail())
+                .login(user.getLogin()).senha(user.getSenha()).build();
+    }
+
+    private static List<UserEntity> withIds(List<UserEntity> entities) {
+        long id = 100L;
+        for (UserEntity entity : entities) {
+            entity.setId(id++);
+        }
+        return entities;
+    }
+
+    private static DataIntegrityViolationException emailConstraintViolation() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new SQLException("duplicate key value violates unique constraint \"uk_usuarios_email\""));
     }
 }